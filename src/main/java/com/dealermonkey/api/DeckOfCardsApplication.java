@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.info.License;
 import io.swagger.v3.oas.annotations.servers.Server;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 import static com.dealermonkey.api.docs.ApiDocsConstants.API_DESCRIPTION;
 import static com.dealermonkey.api.docs.ApiDocsConstants.GPL3_URL;
@@ -18,6 +19,7 @@ import static com.dealermonkey.api.docs.ApiDocsConstants.GPL3_URL;
                 @Server(url = "${server.url.local}", description = "Local")
         })
 @SpringBootApplication(scanBasePackages = {"com.dealermonkey.api"})
+@ConfigurationPropertiesScan
 public class DeckOfCardsApplication {
     public static void main(String[] args) {
         SpringApplication.run(DeckOfCardsApplication.class, args);
@@ -0,0 +1,93 @@
+package com.dealermonkey.api.codec;
+
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.CardsResponse;
+import com.dealermonkey.api.dto.response.HandsResponse;
+import com.dealermonkey.api.model.Card;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Compact wire format for internal callers, one byte per card holding its {@link Card#ordinal() ordinal}.
+ *
+ * <ul>
+ *     <li>{@link CardResponse} and {@link Card}: the single byte of the card</li>
+ *     <li>{@link CardsResponse}: the bytes of the cards in order</li>
+ *     <li>{@link HandsResponse}: each hand as its number of cards, an unsigned big-endian short, followed by
+ *     its cards</li>
+ * </ul>
+ *
+ * <p>Only card payloads have this form; other responses, and error bodies, are negotiated as JSON or CBOR.
+ */
+@UtilityClass
+public final class CardBytes {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.dealermonkey.cards";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /**
+     * Encoded single cards, indexed by {@link Card#ordinal()}; never modified once built.
+     */
+    private static final byte[][] CARDS = new byte[Card.DECK_SIZE][];
+
+    static {
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            CARDS[i] = new byte[]{(byte) i};
+        }
+    }
+
+    public static boolean canEncode(Class<?> type) {
+        return type == CardResponse.class || type == CardsResponse.class || type == HandsResponse.class
+                || type == Card.class;
+    }
+
+    public static boolean canDecode(Class<?> type) {
+        return type == Card.class;
+    }
+
+    public static byte[] encode(Object value) {
+        if (value instanceof CardResponse response) {
+            return CARDS[response.card().ordinal()];
+        }
+        if (value instanceof Card card) {
+            return CARDS[card.ordinal()];
+        }
+        if (value instanceof CardsResponse response) {
+            final List<Card> cards = response.cards();
+            final byte[] encoded = new byte[cards.size()];
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = (byte) cards.get(i).ordinal();
+            }
+            return encoded;
+        }
+        if (value instanceof HandsResponse response) {
+            int length = 0;
+            for (List<Card> hand : response.hands()) {
+                length += 2 + hand.size();
+            }
+            final byte[] encoded = new byte[length];
+            int offset = 0;
+            for (List<Card> hand : response.hands()) {
+                encoded[offset++] = (byte) (hand.size() >>> 8);
+                encoded[offset++] = (byte) hand.size();
+                for (Card card : hand) {
+                    encoded[offset++] = (byte) card.ordinal();
+                }
+            }
+            return encoded;
+        }
+        throw new IllegalArgumentException("Cannot encode " + value.getClass().getSimpleName() + " as cards");
+    }
+
+    /**
+     * Decodes a card sent as its single byte.
+     */
+    public static Card decodeCard(byte[] bytes) {
+        if (bytes.length != 1 || (bytes[0] & 0xFF) >= Card.DECK_SIZE) {
+            throw new IllegalArgumentException("Expected a single card byte from 0 to " + (Card.DECK_SIZE - 1));
+        }
+        return Card.of(bytes[0]);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dealermonkey.api.codec;
+
+import com.dealermonkey.api.model.Card;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+/**
+ * WebFlux decoder of a {@link Card} sent in the {@link CardBytes} format.
+ */
+public class CardBytesDecoder extends AbstractDataBufferDecoder<Card> {
+
+    public CardBytesDecoder() {
+        super(CardBytes.MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return CardBytes.canDecode(elementType.toClass()) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Card decode(DataBuffer buffer, ResolvableType targetType, MimeType mimeType, Map<String, Object> hints) {
+        try {
+            final byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return CardBytes.decodeCard(bytes);
+        } catch (IllegalArgumentException ex) {
+            throw new DecodingException(ex.getMessage(), ex);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
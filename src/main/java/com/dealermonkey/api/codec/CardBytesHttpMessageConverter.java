@@ -0,0 +1,46 @@
+package com.dealermonkey.api.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Servlet message converter of the {@link CardBytes} format.
+ */
+public class CardBytesHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public CardBytesHttpMessageConverter() {
+        super(CardBytes.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CardBytes.canEncode(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return CardBytes.canDecode(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            // one byte more than a card, so a longer body is rejected rather than truncated
+            return CardBytes.decodeCard(inputMessage.getBody().readNBytes(2));
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        final byte[] encoded = CardBytes.encode(value);
+        outputMessage.getHeaders().setContentLength(encoded.length);
+        outputMessage.getBody().write(encoded);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dealermonkey.api.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * CBOR encoder for WebFlux responses. {@link Jackson2CborEncoder} rejects every publisher, including the
+ * {@code Mono} of a single response, so this one encodes each value on its own.
+ */
+public class CborValueEncoder extends Jackson2CborEncoder {
+
+    public CborValueEncoder(ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+}
@@ -0,0 +1,30 @@
+package com.dealermonkey.api.config;
+
+import com.dealermonkey.api.event.OverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the per-deck event streams, bound from {@code dealer.events.*}.
+ *
+ * @param bufferSize      events buffered per subscriber before the overflow policy applies
+ * @param overflowPolicy  what a subscriber whose buffer is full gives up
+ * @param dispatchThreads threads writing events to subscribers, shared by all of them
+ */
+@ConfigurationProperties(prefix = "dealer.events")
+public record DeckEventProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("DROP_OLDEST") OverflowPolicy overflowPolicy,
+        @DefaultValue("8") int dispatchThreads
+) {
+    public static final DeckEventProperties DEFAULTS = new DeckEventProperties(256, OverflowPolicy.DROP_OLDEST, 8);
+
+    public DeckEventProperties {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("dealer.events.buffer-size must be at least 1: " + bufferSize);
+        }
+        if (dispatchThreads < 1) {
+            throw new IllegalArgumentException("dealer.events.dispatch-threads must be at least 1: " + dispatchThreads);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.dealermonkey.api.config;
+
+import com.dealermonkey.api.engine.ShuffleRandom;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings applied to every deck created by the service, bound from {@code dealer.deck.*}.
+ *
+ * @param shuffleRandom random source each deck's shuffle engine draws from
+ * @param decks         number of 52 card decks shuffled together into one shoe, at most {@link #MAX_DECKS}
+ * @param penetration   fraction of the shoe dealt before the cut card comes out and the discards are
+ *                      shuffled back in; {@code 1.0} places no cut card
+ */
+@ConfigurationProperties(prefix = "dealer.deck")
+public record DeckProperties(
+        @DefaultValue("L64X128_MIX") ShuffleRandom shuffleRandom,
+        @DefaultValue("1") int decks,
+        @DefaultValue("1.0") double penetration
+) {
+    public static final int MAX_DECKS = 8;
+    public static final DeckProperties DEFAULTS = new DeckProperties(ShuffleRandom.L64X128_MIX, 1, 1.0);
+
+    public DeckProperties {
+        if (decks < 1 || decks > MAX_DECKS) {
+            throw new IllegalArgumentException("dealer.deck.decks must be between 1 and " + MAX_DECKS + ": " + decks);
+        }
+        if (!(penetration > 0.0 && penetration <= 1.0)) {
+            throw new IllegalArgumentException("dealer.deck.penetration must be in (0, 1]: " + penetration);
+        }
+    }
+}
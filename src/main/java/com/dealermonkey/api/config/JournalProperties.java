@@ -0,0 +1,48 @@
+package com.dealermonkey.api.config;
+
+import com.dealermonkey.api.journal.JournalDurability;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the deck journal, bound from {@code dealer.journal.*}.
+ *
+ * @param enabled          whether deck mutations are journaled and recovered on startup
+ * @param directory        directory holding the journal segments and snapshots
+ * @param segmentSize      size of one memory-mapped journal segment file
+ * @param durability       whether operations wait for their records to be forced to disk ({@code GROUP}) or
+ *                         are acknowledged before that ({@code TIMED}); see {@link JournalDurability}
+ * @param syncInterval     how often appended records are forced to disk regardless; with {@code TIMED}
+ *                         durability this is the most a crash of the machine can lose
+ * @param snapshotInterval how often all decks are written to a snapshot, which bounds the journal replayed
+ *                         on startup
+ */
+@ConfigurationProperties(prefix = "dealer.journal")
+public record JournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("GROUP") JournalDurability durability,
+        @DefaultValue("10ms") Duration syncInterval,
+        @DefaultValue("5m") Duration snapshotInterval
+) {
+    public static final DataSize MIN_SEGMENT_SIZE = DataSize.ofKilobytes(64);
+    public static final DataSize MAX_SEGMENT_SIZE = DataSize.ofGigabytes(1);
+
+    public JournalProperties {
+        if (segmentSize.compareTo(MIN_SEGMENT_SIZE) < 0 || segmentSize.compareTo(MAX_SEGMENT_SIZE) > 0) {
+            throw new IllegalArgumentException("dealer.journal.segment-size must be between "
+                    + MIN_SEGMENT_SIZE + " and " + MAX_SEGMENT_SIZE + ": " + segmentSize);
+        }
+        if (syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("dealer.journal.sync-interval must be positive: " + syncInterval);
+        }
+        if (snapshotInterval.isNegative() || snapshotInterval.isZero()) {
+            throw new IllegalArgumentException("dealer.journal.snapshot-interval must be positive: " + snapshotInterval);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dealermonkey.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the odds calculator, bound from {@code dealer.odds.*}.
+ *
+ * @param maxExhaustiveDeals most deals of the unknown cards enumerated exactly; beyond that, deals are sampled
+ * @param precision          standard error of every equity a sampled calculation runs until, unless requested
+ * @param timeBudget         longest a sampled calculation runs, unless requested
+ * @param maxTimeBudget      longest time budget a request may ask for
+ * @param cacheSize          calculations kept, by their cards up to a change of suits
+ * @param parallelism        threads of the fork-join pool calculations run on; {@code 0} uses one per available
+ *                           processor
+ */
+@ConfigurationProperties(prefix = "dealer.odds")
+public record OddsProperties(
+        @DefaultValue("2000000") long maxExhaustiveDeals,
+        @DefaultValue("0.001") double precision,
+        @DefaultValue("1s") Duration timeBudget,
+        @DefaultValue("10s") Duration maxTimeBudget,
+        @DefaultValue("10000") long cacheSize,
+        @DefaultValue("0") int parallelism
+) {
+    public static final OddsProperties DEFAULTS = new OddsProperties(2_000_000, 0.001, Duration.ofSeconds(1),
+            Duration.ofSeconds(10), 10_000, 0);
+
+    public OddsProperties {
+        if (maxExhaustiveDeals < 1) {
+            throw new IllegalArgumentException("dealer.odds.max-exhaustive-deals must be at least 1: " + maxExhaustiveDeals);
+        }
+        if (!(precision > 0 && precision < 1)) {
+            throw new IllegalArgumentException("dealer.odds.precision must be between 0 and 1: " + precision);
+        }
+        if (timeBudget.isNegative() || timeBudget.isZero()) {
+            throw new IllegalArgumentException("dealer.odds.time-budget must be positive: " + timeBudget);
+        }
+        if (maxTimeBudget.compareTo(timeBudget) < 0) {
+            throw new IllegalArgumentException("dealer.odds.max-time-budget must not be below the time budget: "
+                    + maxTimeBudget);
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("dealer.odds.cache-size must not be negative: " + cacheSize);
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("dealer.odds.parallelism must not be negative: " + parallelism);
+        }
+    }
+}
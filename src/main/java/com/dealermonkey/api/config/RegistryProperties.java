@@ -0,0 +1,44 @@
+package com.dealermonkey.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the deck registry, bound from {@code dealer.registry.*}.
+ *
+ * @param initialCapacity decks the registry is sized for up front
+ * @param maximumResident decks kept on the heap; beyond that, the least valuable decks are spilled off-heap
+ * @param idleTimeout     how long a deck stays on the heap without being used before it is spilled
+ * @param spillSlabSize   size of one direct buffer holding spilled decks; larger decks get a buffer of their own
+ */
+@ConfigurationProperties(prefix = "dealer.registry")
+public record RegistryProperties(
+        @DefaultValue("262144") int initialCapacity,
+        @DefaultValue("100000") long maximumResident,
+        @DefaultValue("30m") Duration idleTimeout,
+        @DefaultValue("1MB") DataSize spillSlabSize
+) {
+    public static final DataSize MIN_SPILL_SLAB_SIZE = DataSize.ofKilobytes(4);
+    public static final DataSize MAX_SPILL_SLAB_SIZE = DataSize.ofMegabytes(256);
+    public static final RegistryProperties DEFAULTS = new RegistryProperties(262144, 100_000, Duration.ofMinutes(30),
+            DataSize.ofMegabytes(1));
+
+    public RegistryProperties {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("dealer.registry.initial-capacity must not be negative: " + initialCapacity);
+        }
+        if (maximumResident < 1) {
+            throw new IllegalArgumentException("dealer.registry.maximum-resident must be at least 1: " + maximumResident);
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("dealer.registry.idle-timeout must be positive: " + idleTimeout);
+        }
+        if (spillSlabSize.compareTo(MIN_SPILL_SLAB_SIZE) < 0 || spillSlabSize.compareTo(MAX_SPILL_SLAB_SIZE) > 0) {
+            throw new IllegalArgumentException("dealer.registry.spill-slab-size must be between "
+                    + MIN_SPILL_SLAB_SIZE + " and " + MAX_SPILL_SLAB_SIZE + ": " + spillSlabSize);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dealermonkey.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the Monte Carlo simulations, bound from {@code dealer.simulation.*}.
+ *
+ * @param parallelism threads of the fork-join pool simulations run on; {@code 0} uses one per available processor
+ * @param maxTrials   most shoes a single simulation may deal
+ * @param timeout     longest a simulation or fairness validation may run before it is cancelled
+ */
+@ConfigurationProperties(prefix = "dealer.simulation")
+public record SimulationProperties(
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("10000000") long maxTrials,
+        @DefaultValue("30s") Duration timeout
+) {
+    public static final SimulationProperties DEFAULTS = new SimulationProperties(0, 10_000_000,
+            Duration.ofSeconds(30));
+
+    public SimulationProperties {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("dealer.simulation.parallelism must not be negative: " + parallelism);
+        }
+        if (maxTrials < 1) {
+            throw new IllegalArgumentException("dealer.simulation.max-trials must be at least 1: " + maxTrials);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("dealer.simulation.timeout must be positive: " + timeout);
+        }
+    }
+}
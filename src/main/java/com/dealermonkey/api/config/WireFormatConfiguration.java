@@ -0,0 +1,55 @@
+package com.dealermonkey.api.config;
+
+import com.dealermonkey.api.codec.CardBytes;
+import com.dealermonkey.api.codec.CardBytesDecoder;
+import com.dealermonkey.api.codec.CardBytesEncoder;
+import com.dealermonkey.api.codec.CardBytesHttpMessageConverter;
+import com.dealermonkey.api.codec.CborValueEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary wire formats offered next to JSON for service-to-service calls: CBOR, through the same Jackson
+ * configuration as JSON, and the {@link CardBytes} format of one byte per card. Both are chosen by the
+ * {@code Accept} and {@code Content-Type} headers; JSON stays the default.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfiguration {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public CardBytesHttpMessageConverter cardBytesHttpMessageConverter() {
+        return new CardBytesHttpMessageConverter();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer wireFormatCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        final ObjectMapper cborMapper = cborMapper(builder);
+        return configurer -> {
+            configurer.customCodecs().register(new CborValueEncoder(cborMapper));
+            // the mapper constructor of the decoder would default to the JSON media types
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().register(new CardBytesEncoder());
+            configurer.customCodecs().register(new CardBytesDecoder());
+        };
+    }
+
+    private static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.docs.AdminRestControllerDocumentation;
+import com.dealermonkey.api.dto.request.FairnessRequest;
+import com.dealermonkey.api.dto.response.FairnessResponse;
+import com.dealermonkey.api.service.SimulationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * Operator endpoints. A fairness validation runs on the simulation pool, and the request thread is released
+ * until it completes; it is cancelled if the request times out or the client goes away.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "admin",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class AdminRestController implements AdminRestControllerDocumentation {
+
+    private final SimulationService simulationService;
+
+    public AdminRestController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping(value = "fairness", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public DeferredResult<ResponseEntity<FairnessResponse>> validateFairness(@RequestBody FairnessRequest request) {
+        return DeferredResults.ok(simulationService.validateFairness(request));
+    }
+}
@@ -1,83 +1,201 @@
 package com.dealermonkey.api.controller;
 
+import com.dealermonkey.api.codec.CardBytes;
 import com.dealermonkey.api.docs.DeckRestControllerDocumentation;
+import com.dealermonkey.api.dto.request.BatchRequest;
+import com.dealermonkey.api.dto.request.ReplayRequest;
+import com.dealermonkey.api.dto.response.BatchResponse;
 import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.CardsResponse;
+import com.dealermonkey.api.dto.response.DeckHistoryResponse;
+import com.dealermonkey.api.dto.response.DeckIdResponse;
+import com.dealermonkey.api.dto.response.DeckResponse;
+import com.dealermonkey.api.dto.response.HandsResponse;
+import com.dealermonkey.api.dto.response.ReplayResponse;
+import com.dealermonkey.api.event.DeckEvent;
+import com.dealermonkey.api.event.DeckEventDispatcher;
+import com.dealermonkey.api.event.DeckEventSink;
+import com.dealermonkey.api.event.DeckEventSubscription;
 import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckView;
+import com.dealermonkey.api.service.DeckRegistry;
+import com.dealermonkey.api.service.DeckReplayService;
 import com.dealermonkey.api.service.DeckService;
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.Max;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
 
 import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
 
 @Validated
 @CrossOrigin(origins = {"${server.url.local}"})
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(
         path = API_BASE_RESOURCE_PATH + "deck",
-        produces = MediaType.APPLICATION_JSON_VALUE)
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 public class DeckRestController implements DeckRestControllerDocumentation {
 
-    private final DeckService deckService;
+    private final DeckRegistry deckRegistry;
+    private final DeckEventDispatcher deckEventDispatcher;
+    private final DeckReplayService deckReplayService;
+
+    public DeckRestController(DeckRegistry deckRegistry, DeckEventDispatcher deckEventDispatcher,
+                              DeckReplayService deckReplayService) {
+        this.deckRegistry = deckRegistry;
+        this.deckEventDispatcher = deckEventDispatcher;
+        this.deckReplayService = deckReplayService;
+    }
+
+    @PostMapping
+    public ResponseEntity<DeckIdResponse> createDeck() {
+        final String deckId = deckRegistry.createDeck();
+        return ResponseEntity.status(HttpStatus.CREATED).body(DeckIdResponse.builder().deckId(deckId).build());
+    }
+
+    @DeleteMapping("{deckId}")
+    public ResponseEntity<Void> evictDeck(@PathVariable String deckId) {
+        deckRegistry.evictDeck(deckId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = {"", "{deckId}"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public ResponseEntity<CardsResponse> getDeck(@PathVariable(required = false) String deckId) {
+        return cards(deckRegistry.resolve(deckId).deckView());
+    }
+
+    @GetMapping(value = {"discard", "{deckId}/discard"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public ResponseEntity<CardsResponse> getDiscardPile(@PathVariable(required = false) String deckId) {
+        return cards(deckRegistry.resolve(deckId).discardView());
+    }
 
-    public DeckRestController(DeckService deckService) {
-        this.deckService = deckService;
+    @GetMapping(value = {"deal", "{deckId}/deal"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public CardResponse dealCard(@PathVariable(required = false) String deckId) {
+        return deckRegistry.resolve(deckId).dealCard();
     }
 
-    @GetMapping("deal")
-    public ResponseEntity<CardResponse> dealCard() {
-        CardResponse response = deckService.dealCard();
-        return response.card() != null ? ResponseEntity.ok(response) : ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(response);
+    @PostMapping(value = {"deal", "{deckId}/deal"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public ResponseEntity<DeckResponse> dealCards(@PathVariable(required = false) String deckId,
+                                                  @RequestParam(required = false) Integer count,
+                                                  @RequestParam(required = false) Integer players,
+                                                  @RequestParam(required = false) Integer cardsPerPlayer) {
+        final DeckService deck = deckRegistry.resolve(deckId);
+        if (count != null && players == null && cardsPerPlayer == null) {
+            return ResponseEntity.ok(CardsResponse.builder().cards(deck.dealCards(count)).build());
+        }
+        if (count == null && players != null && cardsPerPlayer != null) {
+            return ResponseEntity.ok(HandsResponse.builder().hands(deck.dealHands(players, cardsPerPlayer)).build());
+        }
+        throw new IllegalArgumentException("Specify either count, or both players and cardsPerPlayer");
     }
 
-    @PostMapping("shuffle")
-    public ResponseEntity<Void> shuffleDeck() {
-        deckService.shuffleDeck();
+    @PostMapping({"shuffle", "{deckId}/shuffle"})
+    public ResponseEntity<Void> shuffleDeck(@PathVariable(required = false) String deckId) {
+        deckRegistry.resolve(deckId).shuffleDeck();
         return ResponseEntity.noContent().build();
     }
 
-    @PostMapping(value = "discard", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<CardResponse> discardCard(@RequestBody @Valid @NotNull Card card) {
-        deckService.discardCard(card);
-        return ResponseEntity.ok(CardResponse.builder().card(card).build());
+    @PostMapping(value = {"discard", "{deckId}/discard"},
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public ResponseEntity<CardResponse> discardCard(@PathVariable(required = false) String deckId,
+                                                    @RequestBody Card card) {
+        deckRegistry.resolve(deckId).discardCard(card);
+        return ResponseEntity.ok(CardResponse.of(card));
     }
 
-    @PostMapping("cut/{index}")
-    public ResponseEntity<Void> cutDeck(@PathVariable @Min(0) @Max(51) int index) {
-        deckService.cutDeck(index);
+    @PostMapping({"cut/{index}", "{deckId}/cut/{index}"})
+    public ResponseEntity<Void> cutDeck(@PathVariable(required = false) String deckId,
+                                        @PathVariable int index) {
+        deckRegistry.resolve(deckId).cutDeck(index);
         return ResponseEntity.noContent().build();
     }
 
-    @PostMapping("order")
-    public ResponseEntity<Void> orderDeck() {
-        deckService.orderDeck();
+    @PostMapping({"order", "{deckId}/order"})
+    public ResponseEntity<Void> orderDeck(@PathVariable(required = false) String deckId) {
+        deckRegistry.resolve(deckId).orderDeck();
         return ResponseEntity.noContent().build();
     }
 
-    @PostMapping("rebuild")
-    public ResponseEntity<Void> rebuildDeck() {
-        deckService.rebuildDeck();
+    @PostMapping({"rebuild", "{deckId}/rebuild"})
+    public ResponseEntity<Void> rebuildDeck(@PathVariable(required = false) String deckId) {
+        deckRegistry.resolve(deckId).rebuildDeck();
         return ResponseEntity.noContent().build();
     }
 
-    @GetMapping("cheat")
-    public ResponseEntity<CardResponse> cheat() {
-        Card card = deckService.cheat();
-        return ResponseEntity.ok(CardResponse.builder().card(card).build());
+    @GetMapping(value = {"cheat", "{deckId}/cheat"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public ResponseEntity<CardResponse> cheat(@PathVariable(required = false) String deckId) {
+        Card card = deckRegistry.resolve(deckId).cheat();
+        return ResponseEntity.ok(CardResponse.of(card));
+    }
+
+    @PostMapping(value = {"batch", "{deckId}/batch"},
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BatchResponse> batch(@PathVariable(required = false) String deckId,
+                                               @RequestBody BatchRequest request) {
+        final List<List<Card>> results = deckRegistry.resolve(deckId).batch(request.operations());
+        return ResponseEntity.ok(BatchResponse.builder().results(results).build());
+    }
+
+    @GetMapping(value = {"events", "{deckId}/events"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable(required = false) String deckId) throws IOException {
+        final DeckService deck = deckRegistry.resolve(deckId);
+        // no timeout: the stream lives until the client disconnects or the deck is evicted
+        final SseEmitter emitter = new SseEmitter(0L);
+        // commits the response so clients see the stream open before the first event
+        emitter.send(SseEmitter.event().comment("subscribed"));
+        final DeckEventSubscription subscription = deckEventDispatcher.subscribe(deck, new DeckEventSink() {
+            @Override
+            public void send(DeckEvent event) throws IOException {
+                emitter.send(SseEmitter.event().name(event.type().toLowerCase()).data(event));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        }, Long.MAX_VALUE);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        return emitter;
     }
 
-}
\ No newline at end of file
+    @GetMapping({"history", "{deckId}/history"})
+    public ResponseEntity<DeckHistoryResponse> history(@PathVariable(required = false) String deckId) {
+        return ResponseEntity.ok(deckRegistry.resolve(deckId).history());
+    }
+
+    @PostMapping(value = "replay", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ReplayResponse> replay(@RequestBody ReplayRequest request) {
+        return ResponseEntity.ok(deckReplayService.replay(request));
+    }
+
+    /**
+     * Responds with the cards of {@code view} and its entity tag; a request whose {@code If-None-Match} carries
+     * the tag gets an empty 304 instead.
+     */
+    private static ResponseEntity<CardsResponse> cards(DeckView view) {
+        return ResponseEntity.ok().eTag(view.etag()).body(CardsResponse.builder().cards(view.cards()).build());
+    }
+}
@@ -0,0 +1,33 @@
+package com.dealermonkey.api.controller;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands long computations to Spring MVC as {@link DeferredResult deferred results} rather than as the futures
+ * themselves: MVC never cancels a returned future, so the work would go on after the request timed out or the
+ * client went away.
+ */
+@UtilityClass
+class DeferredResults {
+
+    /**
+     * Answers {@code 200 OK} with the outcome of {@code work}, or fails with its exception, and cancels
+     * {@code work} once the request ends any other way.
+     */
+    static <T> DeferredResult<ResponseEntity<T>> ok(CompletableFuture<T> work) {
+        final DeferredResult<ResponseEntity<T>> result = new DeferredResult<>();
+        result.onCompletion(() -> work.cancel(false));
+        work.whenComplete((outcome, ex) -> {
+            if (ex != null) {
+                result.setErrorResult(ex);
+            } else {
+                result.setResult(ResponseEntity.ok(outcome));
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.docs.HandRestControllerDocumentation;
+import com.dealermonkey.api.dto.request.HandRequest;
+import com.dealermonkey.api.dto.response.HandResponse;
+import com.dealermonkey.api.service.HandService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * Poker hand evaluation.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "hand",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class HandRestController implements HandRestControllerDocumentation {
+
+    private final HandService handService;
+
+    public HandRestController(HandService handService) {
+        this.handService = handService;
+    }
+
+    @PostMapping(value = "evaluate", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<HandResponse> evaluate(@RequestBody HandRequest request) {
+        return ResponseEntity.ok(handService.evaluate(request));
+    }
+}
@@ -0,0 +1,42 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.docs.OddsRestControllerDocumentation;
+import com.dealermonkey.api.dto.request.OddsRequest;
+import com.dealermonkey.api.dto.response.OddsResponse;
+import com.dealermonkey.api.service.OddsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * Showdown equity of hold'em hands. A calculation runs on the simulation pool, and the request thread is
+ * released until it completes.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "odds",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class OddsRestController implements OddsRestControllerDocumentation {
+
+    private final OddsService oddsService;
+
+    public OddsRestController(OddsService oddsService) {
+        this.oddsService = oddsService;
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public CompletableFuture<ResponseEntity<OddsResponse>> odds(@RequestBody OddsRequest request) {
+        return oddsService.odds(request).thenApply(ResponseEntity::ok);
+    }
+}
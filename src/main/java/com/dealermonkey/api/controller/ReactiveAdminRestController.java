@@ -0,0 +1,38 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.dto.request.FairnessRequest;
+import com.dealermonkey.api.dto.response.FairnessResponse;
+import com.dealermonkey.api.service.SimulationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * WebFlux variant of {@link AdminRestController}.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "admin",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class ReactiveAdminRestController {
+
+    private final SimulationService simulationService;
+
+    public ReactiveAdminRestController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping(value = "fairness", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<FairnessResponse> validateFairness(@RequestBody Mono<FairnessRequest> request) {
+        return request.flatMap(fairness -> Mono.fromFuture(simulationService.validateFairness(fairness)));
+    }
+}
@@ -0,0 +1,244 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.codec.CardBytes;
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.config.JournalProperties;
+import com.dealermonkey.api.dto.request.BatchRequest;
+import com.dealermonkey.api.dto.request.ReplayRequest;
+import com.dealermonkey.api.dto.response.BatchResponse;
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.CardsResponse;
+import com.dealermonkey.api.dto.response.DeckHistoryResponse;
+import com.dealermonkey.api.dto.response.DeckIdResponse;
+import com.dealermonkey.api.dto.response.DeckResponse;
+import com.dealermonkey.api.dto.response.HandsResponse;
+import com.dealermonkey.api.dto.response.ReplayResponse;
+import com.dealermonkey.api.event.DeckEvent;
+import com.dealermonkey.api.event.DeckEventDispatcher;
+import com.dealermonkey.api.event.DeckEventSink;
+import com.dealermonkey.api.event.DeckEventSubscription;
+import com.dealermonkey.api.journal.JournalDurability;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckView;
+import com.dealermonkey.api.service.DeckRegistry;
+import com.dealermonkey.api.service.DeckReplayService;
+import com.dealermonkey.api.service.DeckService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * WebFlux variant of {@link DeckRestController}, active when the application runs with
+ * {@code spring.main.web-application-type=reactive}. Each handler defers its work until subscription. Only deals,
+ * peeks and reads of the cards left, which are compare-and-set or plain reads of the published snapshot, run on
+ * the event loop. Everything else may wait for the deck lock, the journal, a spilled deck being rehydrated or a
+ * secure random source, so it runs on {@link Schedulers#boundedElastic()}. Deals join them there when the journal
+ * has {@link JournalDurability#GROUP group} durability, as each deal then waits for a sync. Requests are validated
+ * against the same constraints.
+ */
+@Validated
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "deck",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class ReactiveDeckRestController {
+
+    private final DeckRegistry deckRegistry;
+    private final DeckEventDispatcher deckEventDispatcher;
+    private final DeckReplayService deckReplayService;
+    private final Scheduler dealScheduler;
+
+    public ReactiveDeckRestController(DeckRegistry deckRegistry, DeckEventDispatcher deckEventDispatcher,
+                                      DeckReplayService deckReplayService, JournalProperties journalProperties) {
+        this.deckRegistry = deckRegistry;
+        this.deckEventDispatcher = deckEventDispatcher;
+        this.deckReplayService = deckReplayService;
+        this.dealScheduler = journalProperties.enabled() && journalProperties.durability() == JournalDurability.GROUP
+                ? Schedulers.boundedElastic()
+                : Schedulers.immediate();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<DeckIdResponse>> createDeck() {
+        return offloaded(() -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(DeckIdResponse.builder().deckId(deckRegistry.createDeck()).build()));
+    }
+
+    @DeleteMapping("{deckId}")
+    public Mono<ResponseEntity<Void>> evictDeck(@PathVariable String deckId) {
+        return offloaded(() -> {
+            deckRegistry.evictDeck(deckId);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @GetMapping(value = {"", "{deckId}"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public Mono<ResponseEntity<CardsResponse>> getDeck(@PathVariable(required = false) String deckId) {
+        return Mono.fromSupplier(() -> cards(deckRegistry.resolve(deckId).deckView()));
+    }
+
+    @GetMapping(value = {"discard", "{deckId}/discard"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public Mono<ResponseEntity<CardsResponse>> getDiscardPile(@PathVariable(required = false) String deckId) {
+        return offloaded(() -> cards(deckRegistry.resolve(deckId).discardView()));
+    }
+
+    @GetMapping(value = {"deal", "{deckId}/deal"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public Mono<CardResponse> dealCard(@PathVariable(required = false) String deckId) {
+        return Mono.fromSupplier(() -> deckRegistry.resolve(deckId).dealCard()).subscribeOn(dealScheduler);
+    }
+
+    @PostMapping(value = {"deal", "{deckId}/deal"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public Mono<ResponseEntity<DeckResponse>> dealCards(@PathVariable(required = false) String deckId,
+                                                        @RequestParam(required = false) @Min(1) Integer count,
+                                                        @RequestParam(required = false) @Min(1) Integer players,
+                                                        @RequestParam(required = false) @Min(1) Integer cardsPerPlayer) {
+        return Mono.<ResponseEntity<DeckResponse>>fromSupplier(() -> {
+            final DeckService deck = deckRegistry.resolve(deckId);
+            if (count != null && players == null && cardsPerPlayer == null) {
+                return ResponseEntity.ok(CardsResponse.builder().cards(deck.dealCards(count)).build());
+            }
+            if (count == null && players != null && cardsPerPlayer != null) {
+                return ResponseEntity.ok(HandsResponse.builder().hands(deck.dealHands(players, cardsPerPlayer)).build());
+            }
+            throw new IllegalArgumentException("Specify either count, or both players and cardsPerPlayer");
+        }).subscribeOn(dealScheduler);
+    }
+
+    @PostMapping({"shuffle", "{deckId}/shuffle"})
+    public Mono<ResponseEntity<Void>> shuffleDeck(@PathVariable(required = false) String deckId) {
+        return noContent(deckId, DeckService::shuffleDeck);
+    }
+
+    @PostMapping(value = {"discard", "{deckId}/discard"},
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public Mono<ResponseEntity<CardResponse>> discardCard(@PathVariable(required = false) String deckId,
+                                                          @RequestBody @Valid Mono<Card> card) {
+        return card.publishOn(Schedulers.boundedElastic()).map(discarded -> {
+            deckRegistry.resolve(deckId).discardCard(discarded);
+            return ResponseEntity.ok(CardResponse.of(discarded));
+        });
+    }
+
+    @PostMapping({"cut/{index}", "{deckId}/cut/{index}"})
+    public Mono<ResponseEntity<Void>> cutDeck(@PathVariable(required = false) String deckId,
+                                              @PathVariable @Min(0) @Max(DeckProperties.MAX_DECKS * Card.DECK_SIZE - 1)
+                                              int index) {
+        return noContent(deckId, deck -> deck.cutDeck(index));
+    }
+
+    @PostMapping({"order", "{deckId}/order"})
+    public Mono<ResponseEntity<Void>> orderDeck(@PathVariable(required = false) String deckId) {
+        return noContent(deckId, DeckService::orderDeck);
+    }
+
+    @PostMapping({"rebuild", "{deckId}/rebuild"})
+    public Mono<ResponseEntity<Void>> rebuildDeck(@PathVariable(required = false) String deckId) {
+        return noContent(deckId, DeckService::rebuildDeck);
+    }
+
+    @GetMapping(value = {"cheat", "{deckId}/cheat"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CardBytes.MEDIA_TYPE_VALUE})
+    public Mono<ResponseEntity<CardResponse>> cheat(@PathVariable(required = false) String deckId) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(CardResponse.of(deckRegistry.resolve(deckId).cheat())));
+    }
+
+    @PostMapping(value = {"batch", "{deckId}/batch"},
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<BatchResponse> batch(@PathVariable(required = false) String deckId,
+                                     @RequestBody Mono<BatchRequest> request) {
+        return request.publishOn(Schedulers.boundedElastic()).map(batch -> BatchResponse.builder()
+                .results(deckRegistry.resolve(deckId).batch(batch.operations()))
+                .build());
+    }
+
+    /**
+     * Server-Sent Events stream of the deck's changes. Delivery follows the subscriber's demand, so a slow
+     * connection leaves events in its subscription buffer, where the overflow policy bounds them.
+     */
+    @GetMapping(value = {"events", "{deckId}/events"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DeckEvent>> streamEvents(@PathVariable(required = false) String deckId) {
+        return offloaded(() -> deckRegistry.resolve(deckId)).flatMapMany(deck -> stream(deck)
+                .startWith(ServerSentEvent.<DeckEvent>builder().comment("subscribed").build()));
+    }
+
+    @GetMapping({"history", "{deckId}/history"})
+    public Mono<DeckHistoryResponse> history(@PathVariable(required = false) String deckId) {
+        return offloaded(() -> deckRegistry.resolve(deckId).history());
+    }
+
+    @PostMapping(value = "replay", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ReplayResponse> replay(@RequestBody Mono<ReplayRequest> request) {
+        return request.publishOn(Schedulers.boundedElastic()).map(deckReplayService::replay);
+    }
+
+    private Flux<ServerSentEvent<DeckEvent>> stream(DeckService deck) {
+        return Flux.create(emitter -> {
+            final DeckEventSubscription subscription = deckEventDispatcher.subscribe(deck, new DeckEventSink() {
+                @Override
+                public void send(DeckEvent event) {
+                    emitter.next(ServerSentEvent.builder(event).event(event.type().toLowerCase()).build());
+                }
+
+                @Override
+                public void complete() {
+                    emitter.complete();
+                }
+            }, 0);
+            emitter.onRequest(subscription::request);
+            emitter.onDispose(subscription::close);
+        });
+    }
+
+    /**
+     * Responds with the cards of {@code view} and its entity tag; a request whose {@code If-None-Match} carries
+     * the tag gets an empty 304 instead.
+     */
+    private static ResponseEntity<CardsResponse> cards(DeckView view) {
+        return ResponseEntity.ok().eTag(view.etag()).body(CardsResponse.builder().cards(view.cards()).build());
+    }
+
+    private Mono<ResponseEntity<Void>> noContent(String deckId, Consumer<DeckService> operation) {
+        return offloaded(() -> {
+            operation.accept(deckRegistry.resolve(deckId));
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    /**
+     * Runs {@code work}, which may block, on the bounded elastic scheduler rather than on the event loop.
+     */
+    private static <T> Mono<T> offloaded(Supplier<T> work) {
+        return Mono.fromSupplier(work).subscribeOn(Schedulers.boundedElastic());
+    }
+}
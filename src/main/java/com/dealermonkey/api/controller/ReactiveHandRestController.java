@@ -0,0 +1,38 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.dto.request.HandRequest;
+import com.dealermonkey.api.dto.response.HandResponse;
+import com.dealermonkey.api.service.HandService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * WebFlux variant of {@link HandRestController}. An evaluation takes nanoseconds, so it runs on the event loop.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "hand",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class ReactiveHandRestController {
+
+    private final HandService handService;
+
+    public ReactiveHandRestController(HandService handService) {
+        this.handService = handService;
+    }
+
+    @PostMapping(value = "evaluate", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<HandResponse> evaluate(@RequestBody Mono<HandRequest> request) {
+        return request.map(handService::evaluate);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.dto.request.OddsRequest;
+import com.dealermonkey.api.dto.response.OddsResponse;
+import com.dealermonkey.api.service.OddsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * WebFlux variant of {@link OddsRestController}. Calculations run on the simulation pool, never on the event
+ * loop.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "odds",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class ReactiveOddsRestController {
+
+    private final OddsService oddsService;
+
+    public ReactiveOddsRestController(OddsService oddsService) {
+        this.oddsService = oddsService;
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<OddsResponse> odds(@RequestBody Mono<OddsRequest> request) {
+        return request.flatMap(odds -> Mono.fromFuture(oddsService.odds(odds)));
+    }
+}
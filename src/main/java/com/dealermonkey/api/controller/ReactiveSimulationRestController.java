@@ -0,0 +1,39 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.dto.request.SimulationRequest;
+import com.dealermonkey.api.dto.response.SimulationResponse;
+import com.dealermonkey.api.service.SimulationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * WebFlux variant of {@link SimulationRestController}. Simulations run on their own fork-join pool, never on
+ * the event loop.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "simulation",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class ReactiveSimulationRestController {
+
+    private final SimulationService simulationService;
+
+    public ReactiveSimulationRestController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<SimulationResponse> simulate(@RequestBody Mono<SimulationRequest> request) {
+        return request.flatMap(simulation -> Mono.fromFuture(simulationService.simulate(simulation)));
+    }
+}
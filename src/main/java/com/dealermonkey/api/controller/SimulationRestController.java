@@ -0,0 +1,41 @@
+package com.dealermonkey.api.controller;
+
+import com.dealermonkey.api.docs.SimulationRestControllerDocumentation;
+import com.dealermonkey.api.dto.request.SimulationRequest;
+import com.dealermonkey.api.dto.response.SimulationResponse;
+import com.dealermonkey.api.service.SimulationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static com.dealermonkey.api.docs.ApiDocsConstants.API_BASE_RESOURCE_PATH;
+
+/**
+ * Monte Carlo simulations. A simulation runs on its own fork-join pool, and the request thread is released
+ * until it completes; it is cancelled if the request times out or the client goes away.
+ */
+@CrossOrigin(origins = {"${server.url.local}"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(
+        path = API_BASE_RESOURCE_PATH + "simulation",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class SimulationRestController implements SimulationRestControllerDocumentation {
+
+    private final SimulationService simulationService;
+
+    public SimulationRestController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public DeferredResult<ResponseEntity<SimulationResponse>> simulate(@RequestBody SimulationRequest request) {
+        return DeferredResults.ok(simulationService.simulate(request));
+    }
+}
@@ -0,0 +1,49 @@
+package com.dealermonkey.api.docs;
+
+import com.dealermonkey.api.dto.request.FairnessRequest;
+import com.dealermonkey.api.dto.response.FairnessResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@Tag(name = "Admin", description = "Operator endpoints for audits and validation")
+public interface AdminRestControllerDocumentation {
+
+    @PostMapping("fairness")
+    @Operation(
+            summary = "Validate shuffle fairness",
+            description = "Shuffles an ordered deck the given number of times in parallel with a shuffle algorithm "
+                    + "and random source, as live decks do, and tests the outcome: a chi-square test of the "
+                    + "position-frequency matrix, a Kolmogorov-Smirnov test of the per-position p-values, and a "
+                    + "chi-square test of adjacent card pairs. The shuffle passes when no p-value is below 0.001. "
+                    + "Ten million shuffles take in the order of seconds per core.",
+            requestBody = @RequestBody(
+                    required = true,
+                    description = "Shuffles to run, and optionally the algorithm version and random source",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FairnessRequest.class),
+                            examples = @ExampleObject(name = "Fairness Request", value = """
+                                    {
+                                      "shuffles": 10000000,
+                                      "algorithm": 1,
+                                      "random": "L64X128_MIX"
+                                    }
+                                """))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Validation completed",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = FairnessResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid number of shuffles or algorithm version"),
+                    @ApiResponse(responseCode = "503", description = "Validation cancelled after the configured timeout")
+            }
+    )
+    DeferredResult<ResponseEntity<FairnessResponse>> validateFairness(FairnessRequest request);
+}
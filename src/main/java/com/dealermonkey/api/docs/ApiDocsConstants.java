@@ -10,5 +10,7 @@ public final class ApiDocsConstants {
             "https://www.gnu.org/licenses/gpl-3.0.en.html?ref=itsfoss.com#license-text";
     public static final String API_DESCRIPTION = """
             A RESTful API for managing a standard 52 card deck. 
+            Responses are JSON by default; card payloads can also be requested as CBOR (application/cbor)
+            or as one byte per card (application/vnd.dealermonkey.cards).
             """;
 }
\ No newline at end of file
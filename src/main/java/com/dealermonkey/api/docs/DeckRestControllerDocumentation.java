@@ -1,6 +1,16 @@
 package com.dealermonkey.api.docs;
 
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.dto.request.BatchRequest;
+import com.dealermonkey.api.dto.request.ReplayRequest;
+import com.dealermonkey.api.dto.response.BatchResponse;
 import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.CardsResponse;
+import com.dealermonkey.api.dto.response.DeckHistoryResponse;
+import com.dealermonkey.api.dto.response.DeckIdResponse;
+import com.dealermonkey.api.dto.response.DeckResponse;
+import com.dealermonkey.api.dto.response.ReplayResponse;
+import com.dealermonkey.api.event.DeckEvent;
 import com.dealermonkey.api.model.Card;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,14 +20,114 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
 
 @Tag(name = "Deck", description = "Deck management APIs including dealing and discarding cards")
 public interface DeckRestControllerDocumentation {
 
-    @GetMapping("deal")
+    @PostMapping
+    @Operation(
+            summary = "Create a deck",
+            description = "Creates a new, independent 52 card deck and returns its id. "
+                    + "All deck operations are also available under /v1/deck/{deckId}/...; "
+                    + "routes without a deck id operate on the default deck.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Deck created successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = DeckIdResponse.class),
+                                    examples = @ExampleObject(name = "Deck Created", value = """
+                                    {
+                                      "data": {
+                                        "deckId": "3f2b8c1e-4d7a-4a9e-9b1c-2e6f0d5a7c11"
+                                      }
+                                    }
+                                """)))
+            }
+    )
+    ResponseEntity<DeckIdResponse> createDeck();
+
+    @DeleteMapping("{deckId}")
+    @Operation(
+            summary = "Evict a deck",
+            description = "Removes a deck created with POST /v1/deck. The default deck cannot be evicted.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Deck evicted successfully"),
+                    @ApiResponse(responseCode = "404", description = "Deck not found",
+                            content = @Content(mediaType = "application/json",
+                                    examples = @ExampleObject(name = "Deck Not Found", value = """
+                                    {
+                                      "timestamp": "2025-05-22T01:20:00.000Z",
+                                      "status": 404,
+                                      "error": "Not Found",
+                                      "message": "Deck not found: 3f2b8c1e-4d7a-4a9e-9b1c-2e6f0d5a7c11",
+                                      "path": "/v1/deck/3f2b8c1e-4d7a-4a9e-9b1c-2e6f0d5a7c11"
+                                    }
+                                """)))
+            }
+    )
+    ResponseEntity<Void> evictDeck(String deckId);
+
+    @GetMapping({"", "{deckId}"})
+    @Operation(
+            summary = "Get the cards left",
+            description = "Returns the cards left in the deck, top card first. The response carries an ETag that "
+                    + "changes with every deal or structural change; a request with a matching If-None-Match "
+                    + "header gets an empty 304 Not Modified.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cards returned successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CardsResponse.class),
+                                    examples = @ExampleObject(name = "Cards Left", value = """
+                                    {
+                                      "data": {
+                                        "cards": [
+                                          { "suit": "spades", "rank": "two" },
+                                          { "suit": "spades", "rank": "three" }
+                                        ]
+                                      }
+                                    }
+                                """))),
+                    @ApiResponse(responseCode = "304", description = "Cards unchanged since the given ETag"),
+                    @ApiResponse(responseCode = "404", description = "Deck not found")
+            }
+    )
+    ResponseEntity<CardsResponse> getDeck(String deckId);
+
+    @GetMapping({"discard", "{deckId}/discard"})
+    @Operation(
+            summary = "Get the discard pile",
+            description = "Returns the discard pile in the order the cards were discarded. The response carries an "
+                    + "ETag that changes with every discard, reshuffle or rebuild; a request with a matching "
+                    + "If-None-Match header gets an empty 304 Not Modified.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Discard pile returned successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CardsResponse.class),
+                                    examples = @ExampleObject(name = "Discard Pile", value = """
+                                    {
+                                      "data": {
+                                        "cards": [
+                                          { "suit": "hearts", "rank": "nine" }
+                                        ]
+                                      }
+                                    }
+                                """))),
+                    @ApiResponse(responseCode = "304", description = "Discard pile unchanged since the given ETag"),
+                    @ApiResponse(responseCode = "404", description = "Deck not found")
+            }
+    )
+    ResponseEntity<CardsResponse> getDiscardPile(String deckId);
+
+    @GetMapping({"deal", "{deckId}/deal"})
     @Operation(
             summary = "Deal a card",
             description = "Returns the top card from the deck if available.",
@@ -49,9 +159,56 @@ public interface DeckRestControllerDocumentation {
                                 """)))
             }
     )
-    ResponseEntity<CardResponse> dealCard();
+    CardResponse dealCard(String deckId);
 
-    @PostMapping("discard")
+    @PostMapping({"deal", "{deckId}/deal"})
+    @Operation(
+            summary = "Deal several cards or hands",
+            description = "Deals either `count` cards from the top of the deck, or `cardsPerPlayer` cards to each of "
+                    + "`players` hands round-robin. All cards are removed from the deck in one atomic step.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cards dealt successfully",
+                            content = @Content(mediaType = "application/json",
+                                    examples = {
+                                            @ExampleObject(name = "Deal Count", value = """
+                                            {
+                                              "data": {
+                                                "cards": [
+                                                  { "suit": "spades", "rank": "two" },
+                                                  { "suit": "spades", "rank": "three" }
+                                                ]
+                                              }
+                                            }
+                                        """),
+                                            @ExampleObject(name = "Deal Hands", value = """
+                                            {
+                                              "data": {
+                                                "hands": [
+                                                  [ { "suit": "spades", "rank": "two" }, { "suit": "spades", "rank": "four" } ],
+                                                  [ { "suit": "spades", "rank": "three" }, { "suit": "spades", "rank": "five" } ]
+                                                ]
+                                              }
+                                            }
+                                        """)
+                                    })),
+                    @ApiResponse(responseCode = "400", description = "Invalid combination of parameters"),
+                    @ApiResponse(responseCode = "404", description = "Not enough cards left to deal",
+                            content = @Content(mediaType = "application/json",
+                                    examples = @ExampleObject(name = "Not Enough Cards", value = """
+                                    {
+                                      "timestamp": "2025-05-22T01:20:00.000Z",
+                                      "status": 404,
+                                      "error": "Not Found",
+                                      "message": "Not enough cards left in the deck: requested 18, 4 left",
+                                      "path": "/v1/deck/deal"
+                                    }
+                                """)))
+            }
+    )
+    ResponseEntity<DeckResponse> dealCards(String deckId, @Min(1) Integer count, @Min(1) Integer players,
+                                           @Min(1) Integer cardsPerPlayer);
+
+    @PostMapping({"discard", "{deckId}/discard"})
     @Operation(
             summary = "Discard a card",
             description = "Adds a specified card to the discard pile.",
@@ -98,7 +255,8 @@ public interface DeckRestControllerDocumentation {
                                                       "timestamp": "2025-05-22T01:35:41.649Z",
                                                       "status": 400,
                                                       "error": "Bad Request",
-                                                      "message": "Cannot discard card that was not dealt: Card[suit=SPADES, rank=ACE]"
+                                                      "message": "Cannot discard card that was not dealt: Card[suit=SPADES, rank=ACE]",
+                                                      "path": "/api/v1/deck/discard"
                                                     }
                                                 """),
                                             @ExampleObject(
@@ -108,16 +266,18 @@ public interface DeckRestControllerDocumentation {
                                                       "timestamp": "2025-05-22T01:44:10.134Z",
                                                       "status": 400,
                                                       "error": "Bad Request",
-                                                      "message": "Card has already been discarded: Card[suit=SPADES, rank=TWO]"
+                                                      "message": "Card has already been discarded: Card[suit=SPADES, rank=TWO]",
+                                                      "path": "/api/v1/deck/discard"
                                                     }
                                                 """)
                                     }
                             ))
             }
     )
-    ResponseEntity<CardResponse> discardCard(@Valid @org.springframework.web.bind.annotation.RequestBody Card card);
+    ResponseEntity<CardResponse> discardCard(String deckId,
+                                             @Valid @NotNull @org.springframework.web.bind.annotation.RequestBody Card card);
 
-    @PostMapping("shuffle")
+    @PostMapping({"shuffle", "{deckId}/shuffle"})
     @Operation(
             summary = "Shuffle the deck",
             description = "Shuffles the current deck.",
@@ -136,9 +296,9 @@ public interface DeckRestControllerDocumentation {
                                             """)))
             }
     )
-    ResponseEntity<Void> shuffleDeck();
+    ResponseEntity<Void> shuffleDeck(String deckId);
 
-    @PostMapping("cut/{index}")
+    @PostMapping({"cut/{index}", "{deckId}/cut/{index}"})
     @Operation(
             summary = "Cut the deck",
             description = "Cuts the deck at the specified index.",
@@ -157,9 +317,9 @@ public interface DeckRestControllerDocumentation {
                                             """)))
             }
     )
-    ResponseEntity<Void> cutDeck(int index);
+    ResponseEntity<Void> cutDeck(String deckId, @Min(0) @Max(DeckProperties.MAX_DECKS * Card.DECK_SIZE - 1) int index);
 
-    @PostMapping("order")
+    @PostMapping({"order", "{deckId}/order"})
     @Operation(
             summary = "Order the deck",
             description = "Sorts the deck in its default order.",
@@ -178,9 +338,9 @@ public interface DeckRestControllerDocumentation {
                                             """)))
             }
     )
-    ResponseEntity<Void> orderDeck();
+    ResponseEntity<Void> orderDeck(String deckId);
 
-    @PostMapping("rebuild")
+    @PostMapping({"rebuild", "{deckId}/rebuild"})
     @Operation(
             summary = "Rebuild the deck",
             description = "Rebuilds and resets the deck to 52 cards in sorted order.",
@@ -188,9 +348,9 @@ public interface DeckRestControllerDocumentation {
                     @ApiResponse(responseCode = "204", description = "Deck rebuilt successfully")
             }
     )
-    ResponseEntity<Void> rebuildDeck();
+    ResponseEntity<Void> rebuildDeck(String deckId);
 
-    @GetMapping("cheat")
+    @GetMapping({"cheat", "{deckId}/cheat"})
     @Operation(
             summary = "Peek at the top card",
             description = "Returns the top card from the deck without removing it.",
@@ -222,6 +382,135 @@ public interface DeckRestControllerDocumentation {
                                 """)))
             }
     )
-    ResponseEntity<CardResponse> cheat();
+    ResponseEntity<CardResponse> cheat(String deckId);
+
+    @GetMapping({"events", "{deckId}/events"})
+    @Operation(
+            summary = "Stream deck events",
+            description = "Opens a Server-Sent Events stream of the deck's changes: deal, discard, shuffle, cut, "
+                    + "order, rebuild and reshuffle, named after the event type. Each subscriber has a bounded "
+                    + "buffer; a subscriber that falls behind loses the oldest events or gets them merged, "
+                    + "depending on dealer.events.overflow-policy. The stream ends with a closed event when "
+                    + "the deck is evicted.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened",
+                            content = @Content(mediaType = "text/event-stream",
+                                    schema = @Schema(implementation = DeckEvent.class),
+                                    examples = @ExampleObject(name = "Deal Event", value = """
+                                    event:deal
+                                    data:{"type":"deal","cards":[{"suit":"spades","rank":"two"}],"cardsLeft":51}
+                                """))),
+                    @ApiResponse(responseCode = "404", description = "Deck not found")
+            }
+    )
+    SseEmitter streamEvents(String deckId) throws IOException;
+
+    @PostMapping({"batch", "{deckId}/batch"})
+    @Operation(
+            summary = "Apply a batch of operations",
+            description = "Applies up to 256 operations to the deck as one atomic step and returns the cards each "
+                    + "of them dealt, in order. Operations take the same form as in GET /v1/deck/history; a shuffle "
+                    + "without a seed draws a new one. If any operation fails, none of them is applied.",
+            requestBody = @RequestBody(
+                    required = true,
+                    description = "Operations to apply, in order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchRequest.class),
+                            examples = @ExampleObject(name = "Batch Request", value = """
+                                    {
+                                      "operations": [
+                                        { "type": "shuffle" },
+                                        { "type": "deal", "count": 2 },
+                                        { "type": "discard", "card": { "suit": "hearts", "rank": "nine" } }
+                                      ]
+                                    }
+                                """))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch applied successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BatchResponse.class),
+                                    examples = @ExampleObject(name = "Batch Success", value = """
+                                    {
+                                      "data": {
+                                        "results": [
+                                          [],
+                                          [
+                                            { "suit": "hearts", "rank": "nine" },
+                                            { "suit": "clubs", "rank": "king" }
+                                          ],
+                                          []
+                                        ]
+                                      }
+                                    }
+                                """))),
+                    @ApiResponse(responseCode = "400", description = "Invalid operation; nothing was applied"),
+                    @ApiResponse(responseCode = "404", description = "Deck not found, or a deal ran out of cards; "
+                            + "nothing was applied")
+            }
+    )
+    ResponseEntity<BatchResponse> batch(String deckId, BatchRequest request);
+
+    @GetMapping({"history", "{deckId}/history"})
+    @Operation(
+            summary = "Get the deck history",
+            description = "Returns the checkpoint taken at the last shuffle and the operations applied to the deck "
+                    + "since. The checkpoint holds the cards in canonical order with the seed and shuffle algorithm "
+                    + "version they were shuffled with, and the discard pile; it is missing until the deck is first "
+                    + "shuffled. A deck that goes 1024 operations without a shuffle starts a new history from a "
+                    + "checkpoint of its cards as they lie, without a seed. The history is enough to rebuild the "
+                    + "deck with POST /v1/deck/replay.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "History returned successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = DeckHistoryResponse.class),
+                                    examples = @ExampleObject(name = "History", value = """
+                                    {
+                                      "data": {
+                                        "decks": 1,
+                                        "checkpoint": {
+                                          "cards": [
+                                            { "suit": "spades", "rank": "two" },
+                                            { "suit": "spades", "rank": "three" }
+                                          ],
+                                          "discardPile": [],
+                                          "seed": -4962768465676381896,
+                                          "algorithm": 1
+                                        },
+                                        "operations": [
+                                          { "type": "deal", "count": 2 },
+                                          { "type": "discard", "card": { "suit": "hearts", "rank": "nine" } }
+                                        ]
+                                      }
+                                    }
+                                """))),
+                    @ApiResponse(responseCode = "404", description = "Deck not found")
+            }
+    )
+    ResponseEntity<DeckHistoryResponse> history(String deckId);
+
+    @PostMapping("replay")
+    @Operation(
+            summary = "Replay a deck history",
+            description = "Restores the checkpoint of a history returned by GET /v1/deck/history on a new deck "
+                    + "with the given number of decks, or starts from a newly built one without a checkpoint, "
+                    + "applies the operations and returns the cards of every deal, the cards left and the "
+                    + "discard pile. No live deck is touched.",
+            requestBody = @RequestBody(
+                    description = "Number of decks, the checkpoint to start from and the operations to apply",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReplayRequest.class))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "History replayed successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ReplayResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid checkpoint or operation, or more "
+                            + "than 1024 operations"),
+                    @ApiResponse(responseCode = "404", description = "A deal ran out of cards")
+            }
+    )
+    ResponseEntity<ReplayResponse> replay(ReplayRequest request);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.dealermonkey.api.docs;
+
+import com.dealermonkey.api.dto.request.HandRequest;
+import com.dealermonkey.api.dto.response.HandResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+
+@Tag(name = "Hand", description = "Poker hand evaluation")
+public interface HandRestControllerDocumentation {
+
+    @PostMapping("evaluate")
+    @Operation(
+            summary = "Evaluate a poker hand",
+            description = "Finds the best five card poker hand among five to seven distinct cards, such as two hole "
+                    + "cards and the board. The strength ranks every distinct hand from 1 (seven high) to 7462 "
+                    + "(royal flush): the stronger hand has the greater strength, and hands of equal strength tie.",
+            requestBody = @RequestBody(
+                    required = true,
+                    description = "Cards to evaluate",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = HandRequest.class),
+                            examples = @ExampleObject(name = "Hand Request", value = """
+                                    {
+                                      "cards": [
+                                        { "suit": "spades", "rank": "queen" },
+                                        { "suit": "hearts", "rank": "queen" },
+                                        { "suit": "clubs", "rank": "four" },
+                                        { "suit": "diamonds", "rank": "four" },
+                                        { "suit": "hearts", "rank": "four" },
+                                        { "suit": "spades", "rank": "ace" },
+                                        { "suit": "clubs", "rank": "two" }
+                                      ]
+                                    }
+                                """))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Hand evaluated",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = HandResponse.class),
+                                    examples = @ExampleObject(name = "Hand Evaluated", value = """
+                                    {
+                                      "data": {
+                                        "category": "full_house",
+                                        "strength": 7174,
+                                        "cards": [
+                                          { "suit": "spades", "rank": "queen" },
+                                          { "suit": "hearts", "rank": "queen" },
+                                          { "suit": "clubs", "rank": "four" },
+                                          { "suit": "diamonds", "rank": "four" },
+                                          { "suit": "hearts", "rank": "four" }
+                                        ]
+                                      }
+                                    }
+                                    """))),
+                    @ApiResponse(responseCode = "400", description = "Fewer than five, more than seven or repeated cards")
+            }
+    )
+    ResponseEntity<HandResponse> evaluate(HandRequest request);
+}
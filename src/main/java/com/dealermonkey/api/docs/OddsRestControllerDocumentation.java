@@ -0,0 +1,72 @@
+package com.dealermonkey.api.docs;
+
+import com.dealermonkey.api.dto.request.OddsRequest;
+import com.dealermonkey.api.dto.response.OddsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.util.concurrent.CompletableFuture;
+
+@Tag(name = "Odds", description = "Showdown equity of Texas hold'em hands")
+public interface OddsRestControllerDocumentation {
+
+    @PostMapping
+    @Operation(
+            summary = "Compute the equity of hands",
+            description = "Returns how often each of 2 to 10 hold'em hands wins or splits the pot at showdown, "
+                    + "over the deals of every card not known from the rest of the deck. A hand may hold two, "
+                    + "one or no known hole cards, and the board up to five known cards. When there are few "
+                    + "enough deals, every one is counted; otherwise deals are sampled in parallel until every "
+                    + "equity has the requested standard error or the time budget runs out. Results are cached, "
+                    + "so the same spot, also in other suits, comes back at once.",
+            requestBody = @RequestBody(
+                    required = true,
+                    description = "Known hole cards and board",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OddsRequest.class),
+                            examples = @ExampleObject(name = "Odds Request", value = """
+                                    {
+                                      "hands": [
+                                        [ { "suit": "hearts", "rank": "ace" }, { "suit": "hearts", "rank": "king" } ],
+                                        [ { "suit": "spades", "rank": "queen" }, { "suit": "clubs", "rank": "queen" } ]
+                                      ],
+                                      "board": [
+                                        { "suit": "hearts", "rank": "two" },
+                                        { "suit": "hearts", "rank": "seven" },
+                                        { "suit": "spades", "rank": "nine" },
+                                        { "suit": "clubs", "rank": "ten" }
+                                      ],
+                                      "precision": 0.001,
+                                      "timeBudgetMillis": 1000
+                                    }
+                                """))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Equity computed",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = OddsResponse.class),
+                                    examples = @ExampleObject(name = "Equity", value = """
+                                    {
+                                      "data": {
+                                        "exhaustive": true,
+                                        "deals": 44,
+                                        "wins": [ 0.3409090909090909, 0.6590909090909091 ],
+                                        "ties": [ 0.0, 0.0 ],
+                                        "equities": [ 0.3409090909090909, 0.6590909090909091 ],
+                                        "standardError": 0.0
+                                      }
+                                    }
+                                    """))),
+                    @ApiResponse(responseCode = "400",
+                            description = "Invalid number of hands or cards, repeated cards, precision or time budget")
+            }
+    )
+    CompletableFuture<ResponseEntity<OddsResponse>> odds(OddsRequest request);
+}
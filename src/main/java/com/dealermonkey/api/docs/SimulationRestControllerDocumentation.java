@@ -0,0 +1,50 @@
+package com.dealermonkey.api.docs;
+
+import com.dealermonkey.api.dto.request.SimulationRequest;
+import com.dealermonkey.api.dto.response.SimulationResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@Tag(name = "Simulation", description = "Monte Carlo simulations of independent shoes")
+public interface SimulationRestControllerDocumentation {
+
+    @PostMapping
+    @Operation(
+            summary = "Run a simulation",
+            description = "Shuffles the given number of independent shoes in parallel, deals the given number of "
+                    + "cards from the top of each, and returns how often each card came out at each position, "
+                    + "with a chi-square statistic per position against a uniform distribution. Frequencies are "
+                    + "indexed by card ordinal, from 0 (two of spades) to 51 (ace of diamonds). A run with the "
+                    + "same seed gives the same result. No live deck is touched.",
+            requestBody = @RequestBody(
+                    required = true,
+                    description = "Shoes to simulate",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SimulationRequest.class),
+                            examples = @ExampleObject(name = "Simulation Request", value = """
+                                    {
+                                      "decks": 6,
+                                      "cards": 2,
+                                      "trials": 1000000,
+                                      "seed": 42
+                                    }
+                                """))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Simulation completed",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = SimulationResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid number of decks, cards or trials"),
+                    @ApiResponse(responseCode = "503", description = "Simulation cancelled after the configured timeout")
+            }
+    )
+    DeferredResult<ResponseEntity<SimulationResponse>> simulate(SimulationRequest request);
+}
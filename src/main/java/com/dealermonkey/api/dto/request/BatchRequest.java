@@ -0,0 +1,15 @@
+package com.dealermonkey.api.dto.request;
+
+import com.dealermonkey.api.model.DeckOperation;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Operations to apply to a live deck as one atomic step, in order.
+ */
+@Builder
+public record BatchRequest(
+        List<DeckOperation> operations
+) {
+}
@@ -0,0 +1,19 @@
+package com.dealermonkey.api.dto.request;
+
+import com.dealermonkey.api.engine.ShuffleRandom;
+import lombok.Builder;
+
+/**
+ * A fairness validation to run.
+ *
+ * @param algorithm shuffle algorithm version to validate; the current one when absent
+ * @param random    random source the seeds are drawn from; the one decks are configured with when absent
+ * @param shuffles  number of shuffles to run
+ */
+@Builder
+public record FairnessRequest(
+        Integer algorithm,
+        ShuffleRandom random,
+        long shuffles
+) {
+}
@@ -0,0 +1,15 @@
+package com.dealermonkey.api.dto.request;
+
+import com.dealermonkey.api.model.Card;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * A poker hand to evaluate: five to seven distinct cards, such as two hole cards and the board.
+ */
+@Builder
+public record HandRequest(
+        List<Card> cards
+) {
+}
@@ -0,0 +1,25 @@
+package com.dealermonkey.api.dto.request;
+
+import com.dealermonkey.api.model.Card;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * A showdown to compute the equity of: the known hole cards of each hand and the known board cards. Every card
+ * not known is dealt from the rest of the deck.
+ *
+ * @param hands            known hole cards of each hand, two, one or none
+ * @param board            known board cards, up to five
+ * @param precision        standard error every equity must reach when the deals are sampled; the configured one
+ *                         when absent
+ * @param timeBudgetMillis longest the deals may be sampled for, in milliseconds; the configured one when absent
+ */
+@Builder
+public record OddsRequest(
+        List<List<Card>> hands,
+        List<Card> board,
+        Double precision,
+        Long timeBudgetMillis
+) {
+}
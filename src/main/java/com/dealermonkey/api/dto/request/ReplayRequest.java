@@ -0,0 +1,20 @@
+package com.dealermonkey.api.dto.request;
+
+import com.dealermonkey.api.model.DeckCheckpoint;
+import com.dealermonkey.api.model.DeckOperation;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * A deck history to replay: the number of decks in the shoe, the checkpoint the history starts from, if any,
+ * and the operations applied to the deck since, in order. Without a checkpoint the history starts from a newly
+ * built deck.
+ */
+@Builder
+public record ReplayRequest(
+        int decks,
+        DeckCheckpoint checkpoint,
+        List<DeckOperation> operations
+) {
+}
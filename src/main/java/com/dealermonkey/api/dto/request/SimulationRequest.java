@@ -0,0 +1,18 @@
+package com.dealermonkey.api.dto.request;
+
+import lombok.Builder;
+
+/**
+ * A Monte Carlo simulation to run: {@code trials} shoes of {@code decks} decks, each shuffled and dealt
+ * {@code cards} cards from the top.
+ *
+ * @param seed seed of the simulation's random streams, for a reproducible run; drawn at random when absent
+ */
+@Builder
+public record SimulationRequest(
+        int decks,
+        int cards,
+        long trials,
+        Long seed
+) {
+}
@@ -0,0 +1,16 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.Card;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch: for each operation in the request, in order, the cards it dealt; empty for operations
+ * that deal nothing.
+ */
+@Builder
+public record BatchResponse(
+        List<List<Card>> results
+) implements DeckResponse {
+}
@@ -1,10 +1,31 @@
 package com.dealermonkey.api.dto.response;
 
 import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
 
 @Builder
+@JsonSerialize(using = CardResponseSerializer.class)
 public record CardResponse(
         Card card
 ) implements DeckResponse {
+
+    /**
+     * Pre-built responses for all 52 cards, indexed by {@link Card#ordinal()}, so dealing allocates nothing.
+     */
+    private static final CardResponse[] RESPONSES = new CardResponse[Card.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            RESPONSES[i] = new CardResponse(Card.of(i));
+        }
+    }
+
+    public static CardResponse of(Card card) {
+        return RESPONSES[card.ordinal()];
+    }
+
+    public static CardResponse of(int ordinal) {
+        return RESPONSES[ordinal];
+    }
 }
@@ -0,0 +1,53 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.CardSerializer;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link CardResponse} with its {@link DeckResponse} wrapper, {@code {"data":{"card":...}}}, from
+ * field names encoded once and the {@link CardSerializer}, instead of resolving the type id and the wrapper
+ * object on every deal.
+ */
+public final class CardResponseSerializer extends StdSerializer<CardResponse> {
+
+    private static final SerializedString WRAPPER =
+            encode(DeckResponse.class.getAnnotation(JsonTypeName.class).value());
+    private static final SerializedString CARD = encode("card");
+
+    public CardResponseSerializer() {
+        super(CardResponse.class);
+    }
+
+    @Override
+    public void serialize(CardResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        if (response.card() != null) {
+            gen.writeFieldName(CARD);
+            CardSerializer.INSTANCE.serialize(response.card(), gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(CardResponse response, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSer) throws IOException {
+        // the wrapper object DeckResponse declares, written directly rather than through the type serializer
+        gen.writeStartObject();
+        gen.writeFieldName(WRAPPER);
+        serialize(response, gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static SerializedString encode(String value) {
+        final SerializedString encoded = new SerializedString(value);
+        encoded.asQuotedUTF8();
+        return encoded;
+    }
+}
@@ -0,0 +1,15 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.DeckCheckpoint;
+import com.dealermonkey.api.model.DeckOperation;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record DeckHistoryResponse(
+        int decks,
+        DeckCheckpoint checkpoint,
+        List<DeckOperation> operations
+) implements DeckResponse {
+}
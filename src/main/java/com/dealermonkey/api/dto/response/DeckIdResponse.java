@@ -0,0 +1,9 @@
+package com.dealermonkey.api.dto.response;
+
+import lombok.Builder;
+
+@Builder
+public record DeckIdResponse(
+        String deckId
+) implements DeckResponse {
+}
@@ -0,0 +1,35 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.engine.ShuffleRandom;
+import lombok.Builder;
+
+/**
+ * Outcome of a fairness validation. Every test reports its statistic, degrees of freedom and p-value; the
+ * shuffle passes when no p-value falls below the significance level.
+ *
+ * @param positionFrequencies how often each card landed at each position, by position then card ordinal
+ * @param positionPValues     p-value of the chi-square test of each position
+ * @param ksStatistic         Kolmogorov–Smirnov distance of the position p-values from a uniform distribution
+ * @param neighboursKept      times a card was still followed by its successor in the ordered deck
+ */
+@Builder
+public record FairnessResponse(
+        int algorithm,
+        ShuffleRandom random,
+        long shuffles,
+        double significance,
+        boolean passed,
+        long[][] positionFrequencies,
+        double[] positionPValues,
+        double positionChiSquare,
+        int positionDegreesOfFreedom,
+        double positionPValue,
+        double ksStatistic,
+        double ksPValue,
+        double adjacencyChiSquare,
+        int adjacencyDegreesOfFreedom,
+        double adjacencyPValue,
+        long neighboursKept,
+        double expectedNeighboursKept
+) implements DeckResponse {
+}
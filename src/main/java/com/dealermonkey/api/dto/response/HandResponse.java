@@ -0,0 +1,21 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.HandCategory;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Best five card hand among the cards evaluated.
+ *
+ * @param strength strength of the hand, from 1 (seven high) to 7462 (royal flush); hands of equal strength tie
+ * @param cards    the five cards making up the hand, in the order given
+ */
+@Builder
+public record HandResponse(
+        HandCategory category,
+        int strength,
+        List<Card> cards
+) implements DeckResponse {
+}
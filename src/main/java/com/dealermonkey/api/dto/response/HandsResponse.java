@@ -0,0 +1,12 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.Card;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record HandsResponse(
+        List<List<Card>> hands
+) implements DeckResponse {
+}
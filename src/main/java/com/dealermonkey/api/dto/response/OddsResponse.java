@@ -0,0 +1,24 @@
+package com.dealermonkey.api.dto.response;
+
+import lombok.Builder;
+
+/**
+ * Equity of each hand at showdown, in the order of the request.
+ *
+ * @param exhaustive    whether every deal was counted, or the deals were sampled
+ * @param deals         deals counted
+ * @param wins          share of the deals each hand won alone
+ * @param ties          share of the deals each hand split the pot
+ * @param equities      share of the pot each hand takes on average, counting its share of split pots
+ * @param standardError largest standard error of an equity, {@code 0} when every deal was counted
+ */
+@Builder
+public record OddsResponse(
+        boolean exhaustive,
+        long deals,
+        double[] wins,
+        double[] ties,
+        double[] equities,
+        double standardError
+) implements DeckResponse {
+}
@@ -0,0 +1,14 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.Card;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ReplayResponse(
+        List<List<Card>> deals,
+        List<Card> cards,
+        List<Card> discardPile
+) implements DeckResponse {
+}
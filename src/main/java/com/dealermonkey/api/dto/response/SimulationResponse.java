@@ -0,0 +1,24 @@
+package com.dealermonkey.api.dto.response;
+
+import lombok.Builder;
+
+/**
+ * Outcome of a simulation.
+ *
+ * @param seed             seed the simulation ran with, to reproduce it
+ * @param frequencies      for each position dealt, how often each card came out there, by card ordinal
+ * @param chiSquares       for each position dealt, the chi-square statistic of its frequencies against a
+ *                         uniform distribution
+ * @param degreesOfFreedom degrees of freedom of each chi-square statistic
+ */
+@Builder
+public record SimulationResponse(
+        int decks,
+        int cards,
+        long trials,
+        long seed,
+        long[][] frequencies,
+        double[] chiSquares,
+        int degreesOfFreedom
+) implements DeckResponse {
+}
@@ -0,0 +1,109 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import lombok.experimental.UtilityClass;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Monte Carlo simulation of many independent shoes, each shuffled and dealt from the top, aggregated into how
+ * often each card came out at each position.
+ *
+ * <p>The trials are split in halves down to tasks of {@link #LEAF_TRIALS} trials on a fork-join pool. Every
+ * split hands the forked half a {@link SplittableRandom#split() split} of the current generator, so each task
+ * draws from an independent stream and the outcome for a seed is the same whatever the parallelism.
+ *
+ * <p>A task works on one shoe of card ordinals and one array of counts and never builds a {@link Card}. A
+ * trial only draws one random number per card dealt: a partial Fisher–Yates pass picks each dealt position
+ * uniformly from the cards not yet dealt, which yields a uniformly random deal from any starting order, so the
+ * shoe is never reset between trials.
+ *
+ * <p>Every task asks whether the run was cancelled before it deals, so a cancelled run stops within one leaf
+ * task per thread.
+ */
+@UtilityClass
+public class DeckSimulation {
+
+    static final int LEAF_TRIALS = 8192;
+
+    /**
+     * Deals {@code cards} cards from each of {@code trials} shoes of {@code decks} decks shuffled from the
+     * generator seeded with {@code seed}, on {@code pool}.
+     */
+    public static SimulationResult run(ForkJoinPool pool, int decks, int cards, long trials, long seed) {
+        return run(pool, decks, cards, trials, seed, () -> false);
+    }
+
+    /**
+     * Like {@link #run(ForkJoinPool, int, int, long, long)}, but throws a {@link CancellationException} once
+     * {@code cancelled} is true.
+     */
+    public static SimulationResult run(ForkJoinPool pool, int decks, int cards, long trials, long seed,
+                                       BooleanSupplier cancelled) {
+        if (decks < 1 || cards < 1 || cards > decks * Card.DECK_SIZE || trials < 1) {
+            throw new IllegalArgumentException("Cannot deal " + cards + " cards from " + decks + " decks "
+                    + trials + " times");
+        }
+        final long[] frequencies = pool.invoke(new Trials(decks, cards, trials, new SplittableRandom(seed),
+                cancelled));
+        return new SimulationResult(trials, cards, frequencies);
+    }
+
+    private static final class Trials extends RecursiveTask<long[]> {
+
+        private final int decks;
+        private final int cards;
+        private final long trials;
+        private final SplittableRandom random;
+        private final BooleanSupplier cancelled;
+
+        Trials(int decks, int cards, long trials, SplittableRandom random, BooleanSupplier cancelled) {
+            this.decks = decks;
+            this.cards = cards;
+            this.trials = trials;
+            this.random = random;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Simulation cancelled");
+            }
+            if (trials <= LEAF_TRIALS) {
+                return deal();
+            }
+            final long half = trials >>> 1;
+            final Trials forked = new Trials(decks, cards, half, random.split(), cancelled);
+            forked.fork();
+            final long[] frequencies = new Trials(decks, cards, trials - half, random, cancelled).compute();
+            final long[] other = forked.join();
+            for (int i = 0; i < frequencies.length; i++) {
+                frequencies[i] += other[i];
+            }
+            return frequencies;
+        }
+
+        private long[] deal() {
+            final byte[] shoe = new byte[decks * Card.DECK_SIZE];
+            for (int i = 0; i < shoe.length; i++) {
+                shoe[i] = (byte) (i % Card.DECK_SIZE);
+            }
+            final long[] frequencies = new long[cards * Card.DECK_SIZE];
+            for (long trial = 0; trial < trials; trial++) {
+                for (int position = 0; position < cards; position++) {
+                    final int j = position + random.nextInt(shoe.length - position);
+                    final byte card = shoe[j];
+                    shoe[j] = shoe[position];
+                    shoe[position] = card;
+                    frequencies[position * Card.DECK_SIZE + card]++;
+                }
+            }
+            return frequencies;
+        }
+    }
+}
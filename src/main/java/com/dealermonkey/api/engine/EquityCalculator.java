@@ -0,0 +1,314 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Showdown equity of Texas hold'em hands: how often each hand wins or splits the pot over the deals that
+ * complete the hole cards and the board from the cards left in the deck. A hand may hold two, one or no known
+ * hole cards, and the board any number of its five cards; every card not known is dealt.
+ *
+ * <p>{@link #enumerate Enumeration} counts every deal exactly once: the missing cards of each hand and of the
+ * board are chosen as combinations, one task per card dealt first on a fork-join pool. {@link #sample Sampling}
+ * draws deals at random instead, split in halves down to tasks of {@link #LEAF_TRIALS} deals like a
+ * {@link DeckSimulation}, each drawing the missing cards with a partial Fisher–Yates pass over the cards left.
+ * Both work on card ordinals only, with a {@link HandEvaluator} evaluation per hand and deal.
+ */
+@UtilityClass
+public class EquityCalculator {
+
+    public static final int HOLE_CARDS = 2;
+    public static final int BOARD_CARDS = 5;
+    public static final int MAX_HANDS = 10;
+    static final int LEAF_TRIALS = 8192;
+
+    private static final int SHOWDOWN_CARDS = HOLE_CARDS + BOARD_CARDS;
+
+    /**
+     * Number of deals completing {@code hands} and {@code board}, which an {@link #enumerate enumeration}
+     * counts. It is a double as it may exceed a long.
+     */
+    public static double deals(byte[][] hands, byte[] board) {
+        final Spot spot = Spot.of(hands, board);
+        double deals = 1;
+        int left = spot.rest().length;
+        for (int slot = 0; slot < spot.slots().length; ) {
+            int cards = 1;
+            while (slot + cards < spot.slots().length && !spot.firsts()[slot + cards]) {
+                cards++;
+            }
+            for (int i = 0; i < cards; i++) {
+                deals = deals * (left - i) / (i + 1);
+            }
+            left -= cards;
+            slot += cards;
+        }
+        return deals;
+    }
+
+    /**
+     * Counts the showdowns of every deal completing {@code hands} and {@code board}, on {@code pool}.
+     */
+    public static EquityResult enumerate(ForkJoinPool pool, byte[][] hands, byte[] board) {
+        final Spot spot = Spot.of(hands, board);
+        if (spot.slots().length == 0) {
+            final Showdown showdown = new Showdown(spot);
+            showdown.showdown();
+            return showdown.result();
+        }
+        return pool.invoke(new Enumeration(spot, -1));
+    }
+
+    /**
+     * Counts the showdowns of {@code trials} deals completing {@code hands} and {@code board} drawn from
+     * {@code random}, on {@code pool}.
+     */
+    public static EquityResult sample(ForkJoinPool pool, byte[][] hands, byte[] board, long trials,
+                                      SplittableRandom random) {
+        if (trials < 1) {
+            throw new IllegalArgumentException("Cannot sample " + trials + " deals");
+        }
+        return pool.invoke(new Sampling(Spot.of(hands, board), trials, random));
+    }
+
+    private static void enumerate(Spot spot, Showdown showdown, boolean[] used, int slot, int from) {
+        if (slot == spot.slots().length) {
+            showdown.showdown();
+            return;
+        }
+        final int next = slot + 1;
+        for (int i = from; i < spot.rest().length; i++) {
+            if (!used[i]) {
+                used[i] = true;
+                showdown.place(spot.slots()[slot], spot.rest()[i]);
+                enumerate(spot, showdown, used, next, spot.from(next, i));
+                used[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Cards known before the deal.
+     *
+     * @param cards  the showdown cards of each hand in turn, its hole cards then the board, with the known cards
+     *               in place
+     * @param rest   cards left in the deck
+     * @param slots  places of the cards to deal, grouped by hand and then the board: {@code hand * 7 + index}
+     *               for a hole card and {@code -1 - index} for a board card
+     * @param firsts whether each slot is the first of its hand or of the board
+     */
+    private record Spot(int hands, byte[] cards, byte[] rest, int[] slots, boolean[] firsts) {
+
+        static Spot of(byte[][] hands, byte[] board) {
+            if (hands.length < 2 || hands.length > MAX_HANDS) {
+                throw new IllegalArgumentException("Equity needs between 2 and " + MAX_HANDS + " hands");
+            }
+            if (board.length > BOARD_CARDS) {
+                throw new IllegalArgumentException("A board holds at most " + BOARD_CARDS + " cards");
+            }
+            final byte[] cards = new byte[hands.length * SHOWDOWN_CARDS];
+            final int[] slots = new int[hands.length * HOLE_CARDS + BOARD_CARDS];
+            final boolean[] firsts = new boolean[slots.length];
+            int dealt = 0;
+            long known = 0;
+            for (int hand = 0; hand < hands.length; hand++) {
+                if (hands[hand].length > HOLE_CARDS) {
+                    throw new IllegalArgumentException("A hand holds at most " + HOLE_CARDS + " hole cards");
+                }
+                for (int i = 0; i < HOLE_CARDS; i++) {
+                    if (i < hands[hand].length) {
+                        known = know(known, hands[hand][i]);
+                        cards[hand * SHOWDOWN_CARDS + i] = hands[hand][i];
+                    } else {
+                        firsts[dealt] = i == hands[hand].length;
+                        slots[dealt++] = hand * SHOWDOWN_CARDS + i;
+                    }
+                }
+            }
+            for (int i = 0; i < BOARD_CARDS; i++) {
+                if (i < board.length) {
+                    known = know(known, board[i]);
+                    for (int hand = 0; hand < hands.length; hand++) {
+                        cards[hand * SHOWDOWN_CARDS + HOLE_CARDS + i] = board[i];
+                    }
+                } else {
+                    firsts[dealt] = i == board.length;
+                    slots[dealt++] = -1 - i;
+                }
+            }
+            final byte[] rest = new byte[Card.DECK_SIZE - Long.bitCount(known)];
+            for (int card = 0, i = 0; card < Card.DECK_SIZE; card++) {
+                if ((known & 1L << card) == 0) {
+                    rest[i++] = (byte) card;
+                }
+            }
+            return new Spot(hands.length, cards, rest, Arrays.copyOf(slots, dealt), Arrays.copyOf(firsts, dealt));
+        }
+
+        private static long know(long known, byte card) {
+            if (card < 0 || card >= Card.DECK_SIZE || (known & 1L << card) != 0) {
+                throw new IllegalArgumentException("Cards must be distinct card ordinals: " + card);
+            }
+            return known | 1L << card;
+        }
+
+        /**
+         * First card of the rest to try for {@code slot} once the previous slot got the card at {@code previous}:
+         * the cards of one hand or of the board are a combination, in increasing order.
+         */
+        int from(int slot, int previous) {
+            return slot < slots.length && !firsts[slot] ? previous + 1 : 0;
+        }
+    }
+
+    /**
+     * Showdown cards of one task and the showdowns it counted.
+     */
+    private static final class Showdown {
+
+        private final int hands;
+        private final byte[] cards;
+        private final int[] strengths;
+        private long deals;
+        private final long[] wins;
+        private final long[] ties;
+        private final double[] shares;
+        private final double[] squares;
+
+        Showdown(Spot spot) {
+            this.hands = spot.hands();
+            this.cards = spot.cards().clone();
+            this.strengths = new int[hands];
+            this.wins = new long[hands];
+            this.ties = new long[hands];
+            this.shares = new double[hands];
+            this.squares = new double[hands];
+        }
+
+        void place(int slot, byte card) {
+            if (slot >= 0) {
+                cards[slot] = card;
+                return;
+            }
+            for (int i = HOLE_CARDS - 1 - slot; i < cards.length; i += SHOWDOWN_CARDS) {
+                cards[i] = card;
+            }
+        }
+
+        void showdown() {
+            int best = 0;
+            int winners = 0;
+            for (int hand = 0; hand < hands; hand++) {
+                final int strength = HandEvaluator.evaluate(cards, hand * SHOWDOWN_CARDS, SHOWDOWN_CARDS);
+                strengths[hand] = strength;
+                if (strength > best) {
+                    best = strength;
+                    winners = 1;
+                } else if (strength == best) {
+                    winners++;
+                }
+            }
+            final double share = 1.0 / winners;
+            for (int hand = 0; hand < hands; hand++) {
+                if (strengths[hand] == best) {
+                    if (winners == 1) {
+                        wins[hand]++;
+                    } else {
+                        ties[hand]++;
+                    }
+                    shares[hand] += share;
+                    squares[hand] += share * share;
+                }
+            }
+            deals++;
+        }
+
+        EquityResult result() {
+            return new EquityResult(deals, wins, ties, shares, squares);
+        }
+    }
+
+    /**
+     * Enumeration of the deals whose first card is the card of the rest at {@code first}, or of all deals
+     * forked by first card when {@code first} is negative.
+     */
+    private static final class Enumeration extends RecursiveTask<EquityResult> {
+
+        private final Spot spot;
+        private final int first;
+
+        Enumeration(Spot spot, int first) {
+            this.spot = spot;
+            this.first = first;
+        }
+
+        @Override
+        protected EquityResult compute() {
+            if (first < 0) {
+                final List<Enumeration> tasks = new ArrayList<>(spot.rest().length);
+                for (int i = 0; i < spot.rest().length; i++) {
+                    tasks.add(new Enumeration(spot, i));
+                }
+                return invokeAll(tasks).stream()
+                        .map(Enumeration::join)
+                        .reduce(EquityResult::plus)
+                        .orElseThrow();
+            }
+            final Showdown showdown = new Showdown(spot);
+            final boolean[] used = new boolean[spot.rest().length];
+            used[first] = true;
+            showdown.place(spot.slots()[0], spot.rest()[first]);
+            enumerate(spot, showdown, used, 1, spot.from(1, first));
+            return showdown.result();
+        }
+    }
+
+    private static final class Sampling extends RecursiveTask<EquityResult> {
+
+        private final Spot spot;
+        private final long trials;
+        private final SplittableRandom random;
+
+        Sampling(Spot spot, long trials, SplittableRandom random) {
+            this.spot = spot;
+            this.trials = trials;
+            this.random = random;
+        }
+
+        @Override
+        protected EquityResult compute() {
+            if (trials <= LEAF_TRIALS) {
+                return deal();
+            }
+            final long half = trials >>> 1;
+            final Sampling forked = new Sampling(spot, half, random.split());
+            forked.fork();
+            final EquityResult result = new Sampling(spot, trials - half, random).compute();
+            return result.plus(forked.join());
+        }
+
+        private EquityResult deal() {
+            final Showdown showdown = new Showdown(spot);
+            final byte[] rest = spot.rest().clone();
+            final int[] slots = spot.slots();
+            for (long trial = 0; trial < trials; trial++) {
+                for (int slot = 0; slot < slots.length; slot++) {
+                    final int j = slot + random.nextInt(rest.length - slot);
+                    final byte card = rest[j];
+                    rest[j] = rest[slot];
+                    rest[slot] = card;
+                    showdown.place(slots[slot], card);
+                }
+                showdown.showdown();
+            }
+            return showdown.result();
+        }
+    }
+}
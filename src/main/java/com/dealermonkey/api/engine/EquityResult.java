@@ -0,0 +1,70 @@
+package com.dealermonkey.api.engine;
+
+/**
+ * Showdowns counted by an {@link EquityCalculator}, for each hand.
+ *
+ * @param deals   showdowns counted
+ * @param wins    showdowns the hand won alone
+ * @param ties    showdowns the hand split with others
+ * @param shares  sum of the share of the pot the hand took at each showdown
+ * @param squares sum of the squares of those shares, for the variance of a sampled equity
+ */
+public record EquityResult(
+        long deals,
+        long[] wins,
+        long[] ties,
+        double[] shares,
+        double[] squares
+) {
+
+    public double win(int hand) {
+        return (double) wins[hand] / deals;
+    }
+
+    public double tie(int hand) {
+        return (double) ties[hand] / deals;
+    }
+
+    /**
+     * Share of the pot the hand takes on average, counting a split pot as its share.
+     */
+    public double equity(int hand) {
+        return shares[hand] / deals;
+    }
+
+    /**
+     * Standard error of the {@link #equity(int) equity} of the hand, when the deals were sampled.
+     */
+    public double standardError(int hand) {
+        final double mean = equity(hand);
+        final double variance = squares[hand] / deals - mean * mean;
+        return Math.sqrt(Math.max(0, variance) / deals);
+    }
+
+    /**
+     * Largest {@link #standardError(int) standard error} of any hand.
+     */
+    public double standardError() {
+        double standardError = 0;
+        for (int hand = 0; hand < wins.length; hand++) {
+            standardError = Math.max(standardError, standardError(hand));
+        }
+        return standardError;
+    }
+
+    /**
+     * Counts of both this and {@code other}, over the same hands.
+     */
+    public EquityResult plus(EquityResult other) {
+        final int hands = wins.length;
+        final EquityResult sum = new EquityResult(deals + other.deals, new long[hands], new long[hands],
+                new double[hands], new double[hands]);
+        for (int hand = 0; hand < hands; hand++) {
+            sum.wins[hand] = wins[hand] + other.wins[hand];
+            sum.ties[hand] = ties[hand] + other.ties[hand];
+            sum.shares[hand] = shares[hand] + other.shares[hand];
+            sum.squares[hand] = squares[hand] + other.squares[hand];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,103 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+
+/**
+ * Counts gathered by a {@link FairnessSuite} run, and the tests of a fair shuffle over them.
+ *
+ * <p>A fair shuffle puts every card at every position with probability 1/52, so each row of the position
+ * matrix is tested with a chi-square statistic of 51 degrees of freedom, and the whole matrix, whose rows and
+ * columns all add up to the number of shuffles, with one of 51² degrees of freedom. The 52 per-position
+ * p-values must themselves be uniform, which a Kolmogorov–Smirnov test checks. Each ordered pair of distinct
+ * cards follows at one of the 51 adjacent positions with probability 1/(52·51), so every pair is expected
+ * {@code shuffles / 52} times; a shuffle that fails to break up the original order keeps too many neighbours.
+ *
+ * @param positions how often each card landed at each position, indexed by {@code position * 52 + card}
+ * @param pairs     how often each card was directly followed by each other, indexed by {@code card * 52 + next}
+ */
+public record FairnessResult(
+        ShuffleAlgorithm algorithm,
+        ShuffleRandom random,
+        long shuffles,
+        long[] positions,
+        long[] pairs
+) {
+
+    public static final int POSITION_DEGREES_OF_FREEDOM = Card.DECK_SIZE - 1;
+    public static final int MATRIX_DEGREES_OF_FREEDOM = (Card.DECK_SIZE - 1) * (Card.DECK_SIZE - 1);
+    public static final int ADJACENCY_DEGREES_OF_FREEDOM = Card.DECK_SIZE * (Card.DECK_SIZE - 1) - 1;
+
+    public long frequency(int position, int card) {
+        return positions[position * Card.DECK_SIZE + card];
+    }
+
+    /**
+     * Chi-square statistic of the cards landing at {@code position}.
+     */
+    public double positionChiSquare(int position) {
+        final double expected = (double) shuffles / Card.DECK_SIZE;
+        double chiSquare = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            final double deviation = frequency(position, card) - expected;
+            chiSquare += deviation * deviation / expected;
+        }
+        return chiSquare;
+    }
+
+    /**
+     * P-values of the {@link #positionChiSquare(int) chi-square statistic} of every position.
+     */
+    public double[] positionPValues() {
+        final double[] pValues = new double[Card.DECK_SIZE];
+        for (int position = 0; position < Card.DECK_SIZE; position++) {
+            pValues[position] = Statistics.chiSquarePValue(positionChiSquare(position), POSITION_DEGREES_OF_FREEDOM);
+        }
+        return pValues;
+    }
+
+    /**
+     * Chi-square statistic of the whole position matrix.
+     */
+    public double matrixChiSquare() {
+        double chiSquare = 0;
+        for (int position = 0; position < Card.DECK_SIZE; position++) {
+            chiSquare += positionChiSquare(position);
+        }
+        return chiSquare;
+    }
+
+    /**
+     * Chi-square statistic of the pairs of distinct cards following each other.
+     */
+    public double adjacencyChiSquare() {
+        final double expected = (double) shuffles / Card.DECK_SIZE;
+        double chiSquare = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            for (int next = 0; next < Card.DECK_SIZE; next++) {
+                if (card != next) {
+                    final double deviation = pairs[card * Card.DECK_SIZE + next] - expected;
+                    chiSquare += deviation * deviation / expected;
+                }
+            }
+        }
+        return chiSquare;
+    }
+
+    /**
+     * Number of times a card was still directly followed by the card after it in the ordered deck.
+     */
+    public long neighboursKept() {
+        long kept = 0;
+        for (int card = 0; card < Card.DECK_SIZE - 1; card++) {
+            kept += pairs[card * Card.DECK_SIZE + card + 1];
+        }
+        return kept;
+    }
+
+    /**
+     * Number of {@link #neighboursKept() neighbours kept} a fair shuffle is expected to leave.
+     */
+    public double expectedNeighboursKept() {
+        return shuffles * (Card.DECK_SIZE - 1.0) / Card.DECK_SIZE;
+    }
+}
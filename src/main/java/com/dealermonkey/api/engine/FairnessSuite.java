@@ -0,0 +1,115 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Statistical validation of a {@link ShuffleAlgorithm} fed with seeds from a {@link ShuffleRandom}, exactly as
+ * {@code DeckService.shuffleDeck()} uses them: every trial shuffles a fresh, ordered 52 card deck and counts
+ * which card lands at which position and which card follows which.
+ *
+ * <p>The shuffles are split in halves down to tasks of {@link #LEAF_SHUFFLES} shuffles on a fork-join pool. Each
+ * task draws its seeds from a {@link ShuffleEngine} of its own, like a deck does, and counts into one array, so
+ * tasks share nothing until their counts are added up. Every task asks whether the run was cancelled before it
+ * shuffles.
+ */
+@UtilityClass
+public class FairnessSuite {
+
+    static final int LEAF_SHUFFLES = 8192;
+    static final int MATRIX_SIZE = Card.DECK_SIZE * Card.DECK_SIZE;
+
+    private static final byte[] ORDERED = new byte[Card.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < ORDERED.length; i++) {
+            ORDERED[i] = (byte) i;
+        }
+    }
+
+    /**
+     * Runs {@code shuffles} shuffles with {@code algorithm}, seeded from {@code random}, on {@code pool}.
+     */
+    public static FairnessResult run(ForkJoinPool pool, ShuffleAlgorithm algorithm, ShuffleRandom random,
+                                     long shuffles) {
+        return run(pool, algorithm, random, shuffles, () -> false);
+    }
+
+    /**
+     * Like {@link #run(ForkJoinPool, ShuffleAlgorithm, ShuffleRandom, long)}, but throws a
+     * {@link CancellationException} once {@code cancelled} is true.
+     */
+    public static FairnessResult run(ForkJoinPool pool, ShuffleAlgorithm algorithm, ShuffleRandom random,
+                                     long shuffles, BooleanSupplier cancelled) {
+        if (shuffles < 1) {
+            throw new IllegalArgumentException("Shuffles must be at least 1: " + shuffles);
+        }
+        final long[] counts = pool.invoke(new Shuffles(algorithm, random, shuffles, cancelled));
+        final long[] positions = new long[MATRIX_SIZE];
+        final long[] pairs = new long[MATRIX_SIZE];
+        System.arraycopy(counts, 0, positions, 0, MATRIX_SIZE);
+        System.arraycopy(counts, MATRIX_SIZE, pairs, 0, MATRIX_SIZE);
+        return new FairnessResult(algorithm, random, shuffles, positions, pairs);
+    }
+
+    private static final class Shuffles extends RecursiveTask<long[]> {
+
+        private final ShuffleAlgorithm algorithm;
+        private final ShuffleRandom random;
+        private final long shuffles;
+        private final BooleanSupplier cancelled;
+
+        Shuffles(ShuffleAlgorithm algorithm, ShuffleRandom random, long shuffles, BooleanSupplier cancelled) {
+            this.algorithm = algorithm;
+            this.random = random;
+            this.shuffles = shuffles;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Fairness validation cancelled");
+            }
+            if (shuffles <= LEAF_SHUFFLES) {
+                return shuffle();
+            }
+            final long half = shuffles >>> 1;
+            final Shuffles forked = new Shuffles(algorithm, random, half, cancelled);
+            forked.fork();
+            final long[] counts = new Shuffles(algorithm, random, shuffles - half, cancelled).compute();
+            final long[] other = forked.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+
+        /**
+         * Counts positions in the first half of the array and pairs of adjacent cards in the second.
+         */
+        private long[] shuffle() {
+            final ShuffleEngine engine = new ShuffleEngine(random);
+            final byte[] cards = new byte[Card.DECK_SIZE];
+            final long[] counts = new long[2 * MATRIX_SIZE];
+            for (long shuffle = 0; shuffle < shuffles; shuffle++) {
+                System.arraycopy(ORDERED, 0, cards, 0, cards.length);
+                algorithm.shuffle(cards, engine.nextSeed());
+                int previous = cards[0];
+                counts[previous]++;
+                for (int position = 1; position < cards.length; position++) {
+                    final int card = cards[position];
+                    counts[position * Card.DECK_SIZE + card]++;
+                    counts[MATRIX_SIZE + previous * Card.DECK_SIZE + card]++;
+                    previous = card;
+                }
+            }
+            return counts;
+        }
+    }
+}
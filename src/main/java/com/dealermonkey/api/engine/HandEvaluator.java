@@ -0,0 +1,379 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.HandCategory;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Poker hand evaluator for five to seven cards of one deck: the strength of the best five card hand among
+ * them, from {@code 1} (seven high) to {@link #HAND_CLASSES} (royal flush). A stronger hand has a greater
+ * strength and hands of equal strength split the pot.
+ *
+ * <p>An evaluation adds up one key per card and makes three table lookups, without branching on the ranks.
+ * Suits only matter for flushes, so the key of a card holds a digit of its rank and a count of its suit. The
+ * ranks are split in two halves, and the digits of each half add up to the base 5 number of cards held of
+ * each of its ranks. These two numbers make a perfect hash of the rank counts: one table turns the number of
+ * the high ranks into the first index of the hands of that size sharing them, another turns the number of the
+ * low ranks into the index among those, and the sum of both indexes the strength of the best hand without a
+ * flush. When a suit counts five cards or more, the mask of their ranks looks up the strength of the best
+ * flush or straight flush, and the stronger of both is the strength of the hand.
+ *
+ * <p>The tables take about 500 KB and are built on the first evaluation, in a fraction of a second, by
+ * scoring every five card subset of every entry.
+ */
+@UtilityClass
+public class HandEvaluator {
+
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 7;
+    /**
+     * Number of distinct five card hands, and the strength of a royal flush.
+     */
+    public static final int HAND_CLASSES = 7462;
+
+    private static final int MAX_PER_RANK = 4;
+    /**
+     * Ranks below this one make the low half, whose counts are read in base 5 like the high half's.
+     */
+    private static final int SPLIT = Card.Rank.EIGHT.ordinal() + 1;
+    private static final int LOW_CODES = power(MAX_PER_RANK + 1, SPLIT);
+    private static final int HIGH_CODES = power(MAX_PER_RANK + 1, Card.Rank.COUNT - SPLIT);
+    private static final int HIGH_SHIFT = Integer.SIZE - Integer.numberOfLeadingZeros(LOW_CODES);
+    private static final int SUIT_SHIFT = 32;
+    private static final int SUIT_BITS = 16;
+    private static final int FLUSH_MASK = (1 << Card.Rank.COUNT) - 1;
+    private static final int CATEGORY_SHIFT = 20;
+    private static final HandCategory[] CATEGORIES = HandCategory.values();
+    /**
+     * By card ordinal, the digit of its rank in the number of the low or high ranks, and a one in the 4 bit
+     * count of its suit from bit 32.
+     */
+    private static final long[] KEYS = new long[Card.DECK_SIZE];
+    /**
+     * By card ordinal, the bit of its rank in the 16 bit mask of its suit.
+     */
+    private static final long[] MASKS = new long[Card.DECK_SIZE];
+
+    static {
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            final int suit = card / Card.Rank.COUNT;
+            final int rank = card % Card.Rank.COUNT;
+            final long digit = rank < SPLIT ? power(MAX_PER_RANK + 1, rank)
+                    : (long) power(MAX_PER_RANK + 1, rank - SPLIT) << HIGH_SHIFT;
+            KEYS[card] = 1L << (SUIT_SHIFT + suit * 4) | digit;
+            MASKS[card] = 1L << (suit * SUIT_BITS + rank);
+        }
+    }
+
+    /**
+     * Strength of the best hand among the {@code count} distinct card ordinals of {@code cards} from
+     * {@code from}.
+     */
+    public static int evaluate(byte[] cards, int from, int count) {
+        if (count < MIN_CARDS || count > MAX_CARDS) {
+            throw new IllegalArgumentException("Cannot evaluate a hand of " + count + " cards");
+        }
+        long key = 0;
+        long suits = 0;
+        for (int i = from; i < from + count; i++) {
+            key += KEYS[cards[i]];
+            suits |= MASKS[cards[i]];
+        }
+        final int ranks = (int) key;
+        int strength = Tables.COUNTS[Tables.HIGHS[(count - MIN_CARDS) * HIGH_CODES + (ranks >>> HIGH_SHIFT)]
+                + Tables.LOWS[ranks & ((1 << HIGH_SHIFT) - 1)]];
+        // adding 3 to the count of a suit sets its high bit when the suit holds five cards or more
+        final int flush = ((int) (key >>> SUIT_SHIFT) + 0x3333) & 0x8888;
+        if (flush != 0) {
+            final int suit = Integer.numberOfTrailingZeros(flush) >>> 2;
+            strength = Math.max(strength, Tables.FLUSHES[(int) (suits >>> (suit * SUIT_BITS)) & FLUSH_MASK]);
+        }
+        return strength;
+    }
+
+    public static int evaluate(List<Card> cards) {
+        final byte[] ordinals = ordinals(cards);
+        return evaluate(ordinals, 0, ordinals.length);
+    }
+
+    /**
+     * The five of {@code cards} that make up their best hand, in the order given.
+     */
+    public static List<Card> bestHand(List<Card> cards) {
+        final byte[] ordinals = ordinals(cards);
+        final int strength = evaluate(ordinals, 0, ordinals.length);
+        final byte[] five = new byte[MIN_CARDS];
+        for (int subset = 0; subset < 1 << ordinals.length; subset++) {
+            if (Integer.bitCount(subset) != MIN_CARDS) {
+                continue;
+            }
+            for (int i = 0, j = 0; i < ordinals.length; i++) {
+                if ((subset & 1 << i) != 0) {
+                    five[j++] = ordinals[i];
+                }
+            }
+            if (evaluate(five, 0, MIN_CARDS) == strength) {
+                final List<Card> best = new ArrayList<>(MIN_CARDS);
+                for (byte card : five) {
+                    best.add(Card.of(card));
+                }
+                return best;
+            }
+        }
+        throw new IllegalStateException("No five of " + cards + " make up their hand");
+    }
+
+    /**
+     * Category of the hands of {@code strength}.
+     */
+    public static HandCategory category(int strength) {
+        if (strength < 1 || strength > HAND_CLASSES) {
+            throw new IllegalArgumentException("Hand strength must be between 1 and " + HAND_CLASSES);
+        }
+        return CATEGORIES[(int) (Tables.CLASSES[strength - 1] >>> CATEGORY_SHIFT)];
+    }
+
+    private static byte[] ordinals(List<Card> cards) {
+        final byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        return ordinals;
+    }
+
+    private static int power(int base, int exponent) {
+        int power = 1;
+        for (int i = 0; i < exponent; i++) {
+            power *= base;
+        }
+        return power;
+    }
+
+    /**
+     * Lookup tables, built when the holder class is first used.
+     */
+    private static final class Tables {
+
+        /**
+         * Scores of all distinct five card hands in increasing order: the category, then the ranks that break
+         * ties within it. A strength is the position of the score in this table plus one.
+         */
+        static final long[] CLASSES = classes();
+        /**
+         * By number of the low ranks, its index among the numbers of the low ranks of as many cards.
+         */
+        static final char[] LOWS = new char[LOW_CODES];
+        /**
+         * By hand size and number of the high ranks, the index in {@link #COUNTS} of the first hand of that
+         * size with those high ranks.
+         */
+        static final int[] HIGHS = new int[(MAX_CARDS - MIN_CARDS + 1) * HIGH_CODES];
+        /**
+         * Strength of the best hand without a flush, by perfect hash of the rank counts.
+         */
+        static final short[] COUNTS;
+        /**
+         * Strength of the best flush or straight flush, by mask of the ranks of the flush suit.
+         */
+        static final short[] FLUSHES = flushes();
+
+        static {
+            final int[] lows = new int[MAX_CARDS + 1];
+            for (int code = 0; code < LOW_CODES; code++) {
+                final int cards = digitSum(code);
+                if (cards <= MAX_CARDS) {
+                    LOWS[code] = (char) lows[cards]++;
+                }
+            }
+            int index = 0;
+            for (int size = MIN_CARDS; size <= MAX_CARDS; size++) {
+                for (int code = 0; code < HIGH_CODES; code++) {
+                    final int cards = digitSum(code);
+                    if (cards <= size) {
+                        HIGHS[(size - MIN_CARDS) * HIGH_CODES + code] = index;
+                        index += lows[size - cards];
+                    }
+                }
+            }
+            final short[] counts = new short[index];
+            for (int size = MIN_CARDS; size <= MAX_CARDS; size++) {
+                final int cards = size;
+                spread(new int[Card.Rank.COUNT], 0, cards, ranks -> {
+                    int low = 0;
+                    int high = 0;
+                    for (int rank = Card.Rank.COUNT - 1; rank >= 0; rank--) {
+                        if (rank < SPLIT) {
+                            low = low * (MAX_PER_RANK + 1) + ranks[rank];
+                        } else {
+                            high = high * (MAX_PER_RANK + 1) + ranks[rank];
+                        }
+                    }
+                    counts[HIGHS[(cards - MIN_CARDS) * HIGH_CODES + high] + LOWS[low]] =
+                            (short) best(ranks, cards - MIN_CARDS, 0);
+                });
+            }
+            COUNTS = counts;
+        }
+
+        private static int digitSum(int code) {
+            int sum = 0;
+            for (int rest = code; rest > 0; rest /= MAX_PER_RANK + 1) {
+                sum += rest % (MAX_PER_RANK + 1);
+            }
+            return sum;
+        }
+
+        private static long[] classes() {
+            final LongStream.Builder scores = LongStream.builder();
+            spread(new int[Card.Rank.COUNT], 0, MIN_CARDS, counts -> scores.add(score(counts)));
+            for (int mask = 0; mask <= FLUSH_MASK; mask++) {
+                if (Integer.bitCount(mask) == MIN_CARDS) {
+                    scores.add(flushScore(mask));
+                }
+            }
+            final long[] classes = scores.build().sorted().distinct().toArray();
+            if (classes.length != HAND_CLASSES) {
+                throw new IllegalStateException("Found " + classes.length + " distinct hands");
+            }
+            return classes;
+        }
+
+        private static short[] flushes() {
+            final short[] flushes = new short[FLUSH_MASK + 1];
+            for (int mask = 0; mask <= FLUSH_MASK; mask++) {
+                final int cards = Integer.bitCount(mask);
+                if (cards < MIN_CARDS || cards > MAX_CARDS) {
+                    continue;
+                }
+                int best = 0;
+                for (int subset = mask; subset != 0; subset = (subset - 1) & mask) {
+                    if (Integer.bitCount(subset) == MIN_CARDS) {
+                        best = Math.max(best, strength(flushScore(subset)));
+                    }
+                }
+                flushes[mask] = (short) best;
+            }
+            return flushes;
+        }
+
+        /**
+         * Calls {@code action} with every way to spread {@code remaining} more cards over the ranks from
+         * {@code rank}.
+         */
+        private static void spread(int[] counts, int rank, int remaining, Consumer<int[]> action) {
+            if (rank == Card.Rank.COUNT) {
+                if (remaining == 0) {
+                    action.accept(counts);
+                }
+                return;
+            }
+            for (int n = 0; n <= Math.min(MAX_PER_RANK, remaining); n++) {
+                counts[rank] = n;
+                spread(counts, rank + 1, remaining - n, action);
+            }
+            counts[rank] = 0;
+        }
+
+        /**
+         * Strength of the best hand left once {@code discards} of the cards counted by {@code counts} are
+         * discarded from the ranks from {@code rank}.
+         */
+        private static int best(int[] counts, int discards, int rank) {
+            if (discards == 0) {
+                return strength(score(counts));
+            }
+            int best = 0;
+            for (int r = rank; r < Card.Rank.COUNT; r++) {
+                if (counts[r] > 0) {
+                    counts[r]--;
+                    best = Math.max(best, best(counts, discards - 1, r));
+                    counts[r]++;
+                }
+            }
+            return best;
+        }
+
+        private static int strength(long score) {
+            return Arrays.binarySearch(CLASSES, score) + 1;
+        }
+
+        /**
+         * Score of five cards of different suits with {@code counts} cards of each rank.
+         */
+        private static long score(int[] counts) {
+            long ranks = 0;
+            int mask = 0;
+            int first = 0;
+            int second = 0;
+            for (int n = MAX_PER_RANK; n > 0; n--) {
+                for (int rank = Card.Rank.COUNT - 1; rank >= 0; rank--) {
+                    if (counts[rank] != n) {
+                        continue;
+                    }
+                    if (first == 0) {
+                        first = n;
+                    } else if (second == 0) {
+                        second = n;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        ranks = ranks << 4 | rank;
+                    }
+                    mask |= 1 << rank;
+                }
+            }
+            final HandCategory category;
+            if (first == 4) {
+                category = HandCategory.FOUR_OF_A_KIND;
+            } else if (first == 3) {
+                category = second == 2 ? HandCategory.FULL_HOUSE : HandCategory.THREE_OF_A_KIND;
+            } else if (first == 2) {
+                category = second == 2 ? HandCategory.TWO_PAIR : HandCategory.PAIR;
+            } else {
+                final int high = straight(mask);
+                return high >= 0 ? score(HandCategory.STRAIGHT, high) : score(HandCategory.HIGH_CARD, ranks);
+            }
+            return score(category, ranks);
+        }
+
+        /**
+         * Score of five cards of one suit with the ranks of {@code mask}.
+         */
+        private static long flushScore(int mask) {
+            final int high = straight(mask);
+            if (high >= 0) {
+                return score(HandCategory.STRAIGHT_FLUSH, high);
+            }
+            long ranks = 0;
+            for (int rank = Card.Rank.COUNT - 1; rank >= 0; rank--) {
+                if ((mask & 1 << rank) != 0) {
+                    ranks = ranks << 4 | rank;
+                }
+            }
+            return score(HandCategory.FLUSH, ranks);
+        }
+
+        private static long score(HandCategory category, long ranks) {
+            return (long) category.ordinal() << CATEGORY_SHIFT | ranks;
+        }
+
+        /**
+         * Highest rank of the straight formed by the five ranks of {@code mask}, or {@code -1}. The ace plays
+         * low in the five high straight.
+         */
+        private static int straight(int mask) {
+            for (int high = Card.Rank.COUNT - 1; high >= MIN_CARDS - 1; high--) {
+                if (mask == 0x1F << (high - MIN_CARDS + 1)) {
+                    return high;
+                }
+            }
+            final int wheel = 1 << Card.Rank.ACE.ordinal() | 0xF;
+            return mask == wheel ? Card.Rank.FIVE.ordinal() : -1;
+        }
+    }
+}
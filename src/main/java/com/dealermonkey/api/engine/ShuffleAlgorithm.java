@@ -0,0 +1,75 @@
+package com.dealermonkey.api.engine;
+
+/**
+ * Deterministic shuffles: each version maps a 64-bit seed to one permutation, and keeps doing so forever, so
+ * that a shuffle recorded as its seed and version can be replayed on any JVM. A version never changes once
+ * released; a different permutation needs a new version.
+ */
+public enum ShuffleAlgorithm {
+
+    /**
+     * Fisher–Yates driven by a SplitMix64 sequence started at the seed, drawing each swap position without
+     * bias with Lemire's multiply-and-reject method on the upper 32 bits of each output.
+     */
+    V1(1) {
+        @Override
+        public void shuffle(byte[] cards, long seed) {
+            long state = seed;
+            for (int i = cards.length - 1; i > 0; i--) {
+                final long bound = i + 1;
+                state += GOLDEN_GAMMA;
+                long product = (mix64(state) >>> 32) * bound;
+                if ((product & INT_MASK) < bound) {
+                    final long threshold = (INT_RANGE - bound) % bound;
+                    while ((product & INT_MASK) < threshold) {
+                        state += GOLDEN_GAMMA;
+                        product = (mix64(state) >>> 32) * bound;
+                    }
+                }
+                final int j = (int) (product >>> 32);
+                final byte swap = cards[i];
+                cards[i] = cards[j];
+                cards[j] = swap;
+            }
+        }
+    };
+
+    /**
+     * Version used for new shuffles.
+     */
+    public static final ShuffleAlgorithm CURRENT = V1;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long INT_MASK = 0xFFFF_FFFFL;
+    private static final long INT_RANGE = 1L << 32;
+
+    private final int version;
+
+    ShuffleAlgorithm(int version) {
+        this.version = version;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public static ShuffleAlgorithm of(int version) {
+        for (ShuffleAlgorithm algorithm : values()) {
+            if (algorithm.version == version) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shuffle algorithm version: " + version);
+    }
+
+    /**
+     * Shuffles {@code cards} in place into the permutation this version assigns to {@code seed}.
+     */
+    public abstract void shuffle(byte[] cards, long seed);
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
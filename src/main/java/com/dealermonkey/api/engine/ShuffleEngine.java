@@ -0,0 +1,56 @@
+package com.dealermonkey.api.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * In-place Fisher–Yates shuffle over an array of card ordinals.
+ *
+ * <p>An engine belongs to a single deck and is only used while that deck holds its write lock, so the
+ * per-deck generators it creates never need to be thread-safe.
+ *
+ * <p>Decks shuffle with a {@link ShuffleAlgorithm} from a seed the engine {@link #nextSeed() draws}, so that
+ * a shuffle can be recorded and replayed as its seed; {@link #shuffle(byte[])} draws every swap from the
+ * generator directly.
+ */
+public final class ShuffleEngine {
+
+    private final ShuffleRandom random;
+    private final RandomGenerator generator;
+
+    public ShuffleEngine(ShuffleRandom random) {
+        this.random = random;
+        this.generator = random.newGenerator();
+    }
+
+    public ShuffleRandom random() {
+        return random;
+    }
+
+    public void shuffle(byte[] cards) {
+        shuffle(cards, 0, cards.length);
+    }
+
+    /**
+     * Shuffles {@code cards[from, to)} in place.
+     */
+    public void shuffle(byte[] cards, int from, int to) {
+        shuffle(cards, from, to, generator != null ? generator : ThreadLocalRandom.current());
+    }
+
+    /**
+     * Draws a seed for {@link ShuffleAlgorithm#shuffle(byte[], long)} from this engine's random source.
+     */
+    public long nextSeed() {
+        return (generator != null ? generator : ThreadLocalRandom.current()).nextLong();
+    }
+
+    private static void shuffle(byte[] cards, int from, int to, RandomGenerator rng) {
+        for (int i = to - 1; i > from; i--) {
+            final int j = from + rng.nextInt(i - from + 1);
+            final byte swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dealermonkey.api.engine;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Source of randomness used by a {@link ShuffleEngine}.
+ */
+public enum ShuffleRandom {
+
+    /**
+     * A dedicated {@code L64X128MixRandom} per deck: fast, small state and no sharing between decks.
+     */
+    L64X128_MIX {
+        @Override
+        RandomGenerator newGenerator() {
+            return RandomGeneratorFactory.of("L64X128MixRandom").create();
+        }
+    },
+
+    /**
+     * A dedicated {@link SplittableRandom} per deck.
+     */
+    SPLITTABLE {
+        @Override
+        RandomGenerator newGenerator() {
+            return new SplittableRandom();
+        }
+    },
+
+    /**
+     * The calling thread's {@link java.util.concurrent.ThreadLocalRandom}; no per-deck state at all.
+     */
+    THREAD_LOCAL {
+        @Override
+        RandomGenerator newGenerator() {
+            return null;
+        }
+    },
+
+    /**
+     * One shared {@link SecureRandom}, for games whose regulator requires a cryptographically strong source.
+     */
+    SECURE {
+        @Override
+        RandomGenerator newGenerator() {
+            return SECURE_RANDOM;
+        }
+    };
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    /**
+     * Creates the generator for one deck, or {@code null} when the thread-local generator should be used.
+     */
+    abstract RandomGenerator newGenerator();
+}
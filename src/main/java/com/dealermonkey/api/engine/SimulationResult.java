@@ -0,0 +1,41 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+
+/**
+ * Aggregate outcome of a {@link DeckSimulation}.
+ *
+ * @param trials      shoes dealt
+ * @param cards       cards dealt from each shoe
+ * @param frequencies how often each card came out at each position, indexed by
+ *                    {@code position * Card.DECK_SIZE + card ordinal}
+ */
+public record SimulationResult(
+        long trials,
+        int cards,
+        long[] frequencies
+) {
+
+    /**
+     * Degrees of freedom of the {@link #chiSquare(int) chi-square statistic} of one position.
+     */
+    public static final int DEGREES_OF_FREEDOM = Card.DECK_SIZE - 1;
+
+    public long frequency(int position, int card) {
+        return frequencies[position * Card.DECK_SIZE + card];
+    }
+
+    /**
+     * Pearson's chi-square statistic of the cards dealt at {@code position} against the uniform distribution a
+     * fair shuffle gives every position, whatever the number of decks.
+     */
+    public double chiSquare(int position) {
+        final double expected = (double) trials / Card.DECK_SIZE;
+        double chiSquare = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            final double deviation = frequency(position, card) - expected;
+            chiSquare += deviation * deviation / expected;
+        }
+        return chiSquare;
+    }
+}
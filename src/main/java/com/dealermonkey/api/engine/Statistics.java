@@ -0,0 +1,154 @@
+package com.dealermonkey.api.engine;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+
+/**
+ * Significance tests for the fairness of shuffles: p-values of chi-square statistics through the regularized
+ * incomplete gamma function, and the one-sample Kolmogorov–Smirnov test against the uniform distribution.
+ */
+@UtilityClass
+public class Statistics {
+
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double EPSILON = 1e-15;
+    private static final double TINY = 1e-300;
+    private static final double[] LANCZOS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+            -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+            1.5056327351493116e-7
+    };
+
+    /**
+     * Probability that a chi-square variable with {@code degreesOfFreedom} degrees of freedom is at least
+     * {@code chiSquare}, that is the p-value of the statistic.
+     */
+    public static double chiSquarePValue(double chiSquare, int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            throw new IllegalArgumentException("Degrees of freedom must be at least 1: " + degreesOfFreedom);
+        }
+        return chiSquare <= 0 ? 1.0 : regularizedGammaQ(degreesOfFreedom / 2.0, chiSquare / 2.0);
+    }
+
+    /**
+     * Upper regularized incomplete gamma function {@code Q(a, x) = Γ(a, x) / Γ(a)}, from its series when
+     * {@code x < a + 1} and from its continued fraction otherwise, where each converges fast.
+     */
+    public static double regularizedGammaQ(double a, double x) {
+        if (a <= 0 || x < 0) {
+            throw new IllegalArgumentException("Incomplete gamma needs a > 0 and x >= 0: a=" + a + ", x=" + x);
+        }
+        if (x == 0) {
+            return 1.0;
+        }
+        if (x < a + 1) {
+            return 1.0 - gammaSeries(a, x);
+        }
+        return gammaContinuedFraction(a, x);
+    }
+
+    /**
+     * Natural logarithm of the gamma function for {@code x > 0}, by the Lanczos approximation.
+     */
+    public static double logGamma(double x) {
+        if (x < 0.5) {
+            // reflection formula
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        final double z = x - 1;
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) {
+            sum += LANCZOS[i] / (z + i);
+        }
+        final double t = z + LANCZOS.length - 1.5;
+        return 0.5 * Math.log(2 * Math.PI) + (z + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+
+    /**
+     * Kolmogorov–Smirnov statistic of {@code sample} against the uniform distribution on {@code [0, 1]}: the
+     * largest distance between the empirical and the uniform distribution function.
+     */
+    public static double kolmogorovSmirnov(double[] sample) {
+        if (sample.length == 0) {
+            throw new IllegalArgumentException("Sample must not be empty");
+        }
+        final double[] sorted = sample.clone();
+        Arrays.sort(sorted);
+        final int n = sorted.length;
+        double distance = 0;
+        for (int i = 0; i < n; i++) {
+            distance = Math.max(distance, Math.max((i + 1.0) / n - sorted[i], sorted[i] - (double) i / n));
+        }
+        return distance;
+    }
+
+    /**
+     * P-value of a Kolmogorov–Smirnov {@code distance} over a sample of {@code n} values, from the asymptotic
+     * Kolmogorov distribution with Stephens' correction for small samples.
+     */
+    public static double kolmogorovSmirnovPValue(double distance, int n) {
+        final double root = Math.sqrt(n);
+        final double lambda = (root + 0.12 + 0.11 / root) * distance;
+        if (lambda < 0.2) {
+            return 1.0;
+        }
+        double sum = 0;
+        double sign = 1;
+        for (int j = 1; j <= 100; j++) {
+            final double term = sign * Math.exp(-2 * j * j * lambda * lambda);
+            sum += term;
+            if (Math.abs(term) <= EPSILON * Math.abs(sum)) {
+                break;
+            }
+            sign = -sign;
+        }
+        return Math.max(0.0, Math.min(1.0, 2 * sum));
+    }
+
+    /**
+     * Lower regularized incomplete gamma function {@code P(a, x)} by its power series.
+     */
+    private static double gammaSeries(double a, double x) {
+        double term = 1.0 / a;
+        double sum = term;
+        for (int n = 1; n < MAX_ITERATIONS; n++) {
+            term *= x / (a + n);
+            sum += term;
+            if (Math.abs(term) < Math.abs(sum) * EPSILON) {
+                break;
+            }
+        }
+        return sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+    }
+
+    /**
+     * Upper regularized incomplete gamma function {@code Q(a, x)} by its continued fraction, evaluated with the
+     * modified Lentz method.
+     */
+    private static double gammaContinuedFraction(double a, double x) {
+        double b = x + 1 - a;
+        double c = 1 / TINY;
+        double d = 1 / b;
+        double h = d;
+        for (int i = 1; i < MAX_ITERATIONS; i++) {
+            final double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < TINY) {
+                d = TINY;
+            }
+            c = b + an / c;
+            if (Math.abs(c) < TINY) {
+                c = TINY;
+            }
+            d = 1 / d;
+            final double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dealermonkey.api.event;
+
+import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A change to one deck, pushed to the subscribers of its event stream.
+ *
+ * @param type      what happened
+ * @param cards     the cards dealt or discarded, in order; absent for structural changes
+ * @param cardsLeft cards left in the deck right after the change
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A change to a deck pushed on its event stream.")
+public record DeckEvent(
+        DeckEventType type,
+        List<Card> cards,
+        int cardsLeft
+) {
+
+    public static DeckEvent of(DeckEventType type, int cardsLeft) {
+        return new DeckEvent(type, null, cardsLeft);
+    }
+
+    /**
+     * Merges this pending event with the {@code next} one into a single event with the same outcome, or
+     * returns {@code null} when the two cannot be merged. Consecutive deals or discards concatenate their
+     * cards; a structural change supersedes a pending one of the same type.
+     */
+    DeckEvent coalesce(DeckEvent next) {
+        if (type != next.type || type == DeckEventType.CLOSED) {
+            return null;
+        }
+        if (!type.carriesCards()) {
+            return next;
+        }
+        final List<Card> merged = new ArrayList<>(cards.size() + next.cards.size());
+        merged.addAll(cards);
+        merged.addAll(next.cards);
+        return new DeckEvent(type, merged, next.cardsLeft);
+    }
+}
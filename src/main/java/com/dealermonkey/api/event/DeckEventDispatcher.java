@@ -0,0 +1,55 @@
+package com.dealermonkey.api.event;
+
+import com.dealermonkey.api.config.DeckEventProperties;
+import com.dealermonkey.api.service.DeckService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates {@link DeckEventSubscription subscriptions} to deck events and runs their delivery.
+ *
+ * <p>Delivery runs on a fixed pool of {@code dealer.events.dispatch-threads} daemon threads shared by all
+ * subscribers. A thread is only busy while a subscriber has buffered events to write, and it moves on to the
+ * next subscriber after a bounded batch, so the cost of the streams grows with the number of subscribers and
+ * events but never with threads. A servlet SSE write blocks while its connection is congested and holds one
+ * thread for that long; other subscribers queue for the remaining threads, and the slow subscriber's buffer
+ * fills up and sheds events under its overflow policy.
+ */
+@Slf4j
+@Service
+public class DeckEventDispatcher implements DisposableBean {
+
+    private final DeckEventProperties properties;
+    private final ExecutorService executor;
+
+    public DeckEventDispatcher(DeckEventProperties properties) {
+        this.properties = properties;
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("deck-events-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(properties.dispatchThreads(), threadFactory);
+    }
+
+    /**
+     * Subscribes {@code sink} to the events of {@code deck}.
+     *
+     * @param initialDemand events the sink accepts before it {@link DeckEventSubscription#request(long) requests}
+     *                      more; {@link Long#MAX_VALUE} for a sink that takes everything
+     */
+    public DeckEventSubscription subscribe(DeckService deck, DeckEventSink sink, long initialDemand) {
+        final DeckEventSubscription subscription = new DeckEventSubscription(deck, sink, executor,
+                properties.bufferSize(), properties.overflowPolicy(), initialDemand);
+        deck.addListener(subscription);
+        log.debug("Deck event subscription opened");
+        return subscription;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
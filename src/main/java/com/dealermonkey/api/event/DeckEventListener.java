@@ -0,0 +1,14 @@
+package com.dealermonkey.api.event;
+
+/**
+ * Receives the events of a {@link com.dealermonkey.api.service.DeckService}.
+ *
+ * <p>Listeners are called on the thread that changed the deck, deals without holding any lock, so they must
+ * return quickly and never call back into the deck. Events of concurrent deals may arrive out of order;
+ * {@link DeckEvent#cardsLeft()} orders them.
+ */
+@FunctionalInterface
+public interface DeckEventListener {
+
+    void onEvent(DeckEvent event);
+}
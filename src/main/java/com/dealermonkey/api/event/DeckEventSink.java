@@ -0,0 +1,21 @@
+package com.dealermonkey.api.event;
+
+import java.io.IOException;
+
+/**
+ * Transport end of a {@link DeckEventSubscription}, such as an SSE connection.
+ */
+public interface DeckEventSink {
+
+    /**
+     * Writes one event to the subscriber; may block while the connection is congested.
+     *
+     * @throws IOException when the subscriber is gone, which ends the subscription
+     */
+    void send(DeckEvent event) throws IOException;
+
+    /**
+     * Called once when the subscription ends, whatever the reason.
+     */
+    void complete();
+}
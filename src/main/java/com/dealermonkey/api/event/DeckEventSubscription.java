@@ -0,0 +1,147 @@
+package com.dealermonkey.api.event;
+
+import com.dealermonkey.api.service.DeckService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * One subscriber of a deck's events.
+ *
+ * <p>The deck hands events to {@link #onEvent(DeckEvent)}, which only appends them to a bounded buffer and
+ * never blocks the deck. A task on the dispatch executor drains the buffer into the {@link DeckEventSink};
+ * while the subscriber keeps up the buffer stays nearly empty, and when it falls behind the buffer fills up
+ * and the {@link OverflowPolicy} decides what to give up. Delivery stops while the subscriber has no
+ * outstanding {@link #request(long) demand} and resumes when more is requested. A drain task writes at most
+ * {@link #DRAIN_BATCH} events before it hands its thread back and reschedules itself, so subscribers with
+ * long backlogs take turns on the shared executor.
+ */
+@Slf4j
+public final class DeckEventSubscription implements DeckEventListener, AutoCloseable {
+
+    static final int DRAIN_BATCH = 64;
+
+    private final DeckService deck;
+    private final DeckEventSink sink;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    // guarded by this
+    private final ArrayDeque<DeckEvent> buffer;
+    private long demand;
+    private boolean draining;
+    private boolean closed;
+    private long dropped;
+
+    DeckEventSubscription(DeckService deck, DeckEventSink sink, Executor executor,
+                          int capacity, OverflowPolicy overflowPolicy, long initialDemand) {
+        this.deck = deck;
+        this.sink = sink;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new ArrayDeque<>(capacity);
+        this.demand = initialDemand;
+    }
+
+    @Override
+    public synchronized void onEvent(DeckEvent event) {
+        if (closed) {
+            return;
+        }
+        if (buffer.size() == capacity) {
+            overflow(event);
+        } else {
+            buffer.addLast(event);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Allows {@code n} more events to be delivered.
+     */
+    public synchronized void request(long n) {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        scheduleDrain();
+    }
+
+    /**
+     * Number of events given up so far because the buffer was full.
+     */
+    public synchronized long dropped() {
+        return dropped;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+        }
+        try {
+            deck.removeListener(this);
+        } finally {
+            sink.complete();
+        }
+        log.debug("Deck event subscription closed after dropping {} events", dropped());
+    }
+
+    private void overflow(DeckEvent event) {
+        if (overflowPolicy == OverflowPolicy.COALESCE) {
+            final DeckEvent merged = buffer.peekLast().coalesce(event);
+            if (merged != null) {
+                buffer.pollLast();
+                buffer.addLast(merged);
+                return;
+            }
+        }
+        buffer.pollFirst();
+        buffer.addLast(event);
+        dropped++;
+    }
+
+    private void scheduleDrain() {
+        if (!draining && demand > 0 && !buffer.isEmpty()) {
+            draining = true;
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int sent = 0; ; sent++) {
+            final DeckEvent event;
+            synchronized (this) {
+                if (closed || demand == 0 || buffer.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                if (sent == DRAIN_BATCH) {
+                    // still draining: let the subscribers queued behind this one have the thread
+                    executor.execute(this::drain);
+                    return;
+                }
+                event = buffer.pollFirst();
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            try {
+                sink.send(event);
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Deck event subscriber gone: {}", ex.getMessage());
+                close();
+                return;
+            }
+            if (event.type() == DeckEventType.CLOSED) {
+                close();
+                return;
+            }
+        }
+    }
+}
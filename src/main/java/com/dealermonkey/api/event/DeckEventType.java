@@ -0,0 +1,22 @@
+package com.dealermonkey.api.event;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Kind of change a {@link DeckEvent} reports.
+ */
+public enum DeckEventType {
+    DEAL, DISCARD, SHUFFLE, CUT, ORDER, REBUILD, RESHUFFLE, CLOSED;
+
+    /**
+     * Whether the event carries the cards it moved.
+     */
+    public boolean carriesCards() {
+        return this == DEAL || this == DISCARD;
+    }
+
+    @JsonValue
+    public String toLowerCase() {
+        return name().toLowerCase();
+    }
+}
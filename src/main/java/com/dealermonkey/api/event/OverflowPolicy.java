@@ -0,0 +1,18 @@
+package com.dealermonkey.api.event;
+
+/**
+ * What a {@link DeckEventSubscription} does with a new event when its buffer is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Drops the oldest buffered event to make room; the subscriber sees a gap in the stream.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Merges the new event into the newest buffered one when they are of the same type, so a slow
+     * subscriber receives fewer, larger deal events; falls back to {@link #DROP_OLDEST} otherwise.
+     */
+    COALESCE
+}
@@ -0,0 +1,26 @@
+package com.dealermonkey.api.exception;
+
+import com.dealermonkey.api.model.Card;
+import org.springframework.http.HttpStatus;
+
+/**
+ * A card was discarded while every dealt copy of it already was.
+ */
+public final class CardAlreadyDiscardedException extends DeckStateException {
+
+    private static final CardAlreadyDiscardedException[] INSTANCES = new CardAlreadyDiscardedException[Card.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            INSTANCES[i] = new CardAlreadyDiscardedException(Card.of(i));
+        }
+    }
+
+    private CardAlreadyDiscardedException(Card card) {
+        super(HttpStatus.BAD_REQUEST, "Card has already been discarded: " + card);
+    }
+
+    public static CardAlreadyDiscardedException of(Card card) {
+        return INSTANCES[card.ordinal()];
+    }
+}
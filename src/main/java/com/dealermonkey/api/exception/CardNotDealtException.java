@@ -0,0 +1,26 @@
+package com.dealermonkey.api.exception;
+
+import com.dealermonkey.api.model.Card;
+import org.springframework.http.HttpStatus;
+
+/**
+ * A card was discarded while no copy of it had been dealt.
+ */
+public final class CardNotDealtException extends DeckStateException {
+
+    private static final CardNotDealtException[] INSTANCES = new CardNotDealtException[Card.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            INSTANCES[i] = new CardNotDealtException(Card.of(i));
+        }
+    }
+
+    private CardNotDealtException(Card card) {
+        super(HttpStatus.BAD_REQUEST, "Cannot discard card that was not dealt: " + card);
+    }
+
+    public static CardNotDealtException of(Card card) {
+        return INSTANCES[card.ordinal()];
+    }
+}
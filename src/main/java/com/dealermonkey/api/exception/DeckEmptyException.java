@@ -0,0 +1,15 @@
+package com.dealermonkey.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A card was requested from a deck with no cards left.
+ */
+public final class DeckEmptyException extends DeckStateException {
+
+    public static final DeckEmptyException INSTANCE = new DeckEmptyException();
+
+    private DeckEmptyException() {
+        super(HttpStatus.NOT_FOUND, "No cards left in the deck");
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Builder;
+import org.springframework.http.HttpStatus;
 
 import java.time.Instant;
 
@@ -20,4 +21,17 @@ public record DeckException(
         String message,
         String path
 ) {
-}
\ No newline at end of file
+
+    /**
+     * Error body shared by the servlet and the reactive exception handlers.
+     */
+    public static DeckException of(HttpStatus status, String message, String path) {
+        return DeckException.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(path)
+                .build();
+    }
+}
@@ -1,9 +1,15 @@
 package com.dealermonkey.api.exception;
 
+import com.dealermonkey.api.metrics.DeckMetrics;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,18 +20,30 @@ import java.time.Instant;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class DeckExceptionHandler {
 
+    private final DeckMetrics metrics;
+
+    public DeckExceptionHandler(DeckMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Writes the preserialized body of an expected deck error instead of building a {@link DeckException}.
+     */
+    @ExceptionHandler(DeckStateException.class)
+    public ResponseEntity<byte[]> handleDeckState(DeckStateException ex, HttpServletRequest request) {
+        metrics.recordError(ex.status(), ex);
+        return ResponseEntity.status(ex.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ex.body(Instant.now(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<DeckException> handleIllegalArgument(IllegalArgumentException ex) {
-        final DeckException deckException =
-                DeckException.builder()
-                        .timestamp(Instant.now())
-                        .status(BAD_REQUEST.value())
-                        .error(BAD_REQUEST.getReasonPhrase())
-                        .message(ex.getMessage())
-                        .build();
-        return new ResponseEntity<>(deckException, BAD_REQUEST);
+        final DeckException deckException = DeckException.of(BAD_REQUEST, ex.getMessage(), null);
+        return respond(BAD_REQUEST, ex, deckException);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
@@ -33,29 +51,30 @@ public class DeckExceptionHandler {
             HttpMessageNotReadableException ex,
             HttpServletRequest request) {
         final DeckException deckException =
-                DeckException.builder()
-                        .timestamp(Instant.now())
-                        .status(BAD_REQUEST.value())
-                        .error(BAD_REQUEST.getReasonPhrase())
-                        .message(ex.getMostSpecificCause().getMessage())
-                        .path(request.getRequestURI())
-                        .build();
-        return new ResponseEntity<>(deckException, BAD_REQUEST);
+                DeckException.of(BAD_REQUEST, ex.getMostSpecificCause().getMessage(), request.getRequestURI());
+        return respond(BAD_REQUEST, ex, deckException);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<DeckException> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex,
             HttpServletRequest request) {
-        final DeckException deckException =
-                DeckException.builder()
-                        .timestamp(Instant.now())
-                        .status(BAD_REQUEST.value())
-                        .error(BAD_REQUEST.getReasonPhrase())
-                        .message(ex.getBindingResult().getAllErrors().get(0).getDefaultMessage())
-                        .path(request.getRequestURI())
-                        .build();
-        return new ResponseEntity<>(deckException, BAD_REQUEST);
+        final DeckException deckException = DeckException.of(BAD_REQUEST,
+                ex.getBindingResult().getAllErrors().get(0).getDefaultMessage(), request.getRequestURI());
+        return respond(BAD_REQUEST, ex, deckException);
+    }
+
+    /**
+     * Constraints on path variables and request parameters, checked by the {@code @Validated} controller.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<DeckException> handleConstraintViolationException(
+            ConstraintViolationException ex,
+            HttpServletRequest request) {
+        final ConstraintViolation<?> violation = ex.getConstraintViolations().iterator().next();
+        final DeckException deckException = DeckException.of(BAD_REQUEST,
+                violation.getPropertyPath() + " " + violation.getMessage(), request.getRequestURI());
+        return respond(BAD_REQUEST, ex, deckException);
     }
 
     @ExceptionHandler(ResponseStatusException.class)
@@ -63,27 +82,26 @@ public class DeckExceptionHandler {
             ResponseStatusException ex,
             HttpServletRequest request) {
         final HttpStatus status = (HttpStatus) ex.getStatusCode();
-        final DeckException deckException =
-                DeckException.builder()
-                        .timestamp(Instant.now())
-                        .status(status.value())
-                        .error(status.getReasonPhrase())
-                        .message(ex.getReason())
-                        .path(request.getRequestURI())
-                        .build();
-        return new ResponseEntity<>(deckException, status);
+        final DeckException deckException = DeckException.of(status, ex.getReason(), request.getRequestURI());
+        return respond(status, ex, deckException);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<DeckException> handleUnhandledException(Exception ex, HttpServletRequest request) {
-        final HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
-        DeckException deckException = DeckException.builder()
-                .timestamp(Instant.now())
-                .status(status.value())
-                .error(status.getReasonPhrase())
-                .message(ex.getMessage() != null ? ex.getMessage() : "Unexpected server error")
-                .path(request.getRequestURI())
-                .build();
-        return new ResponseEntity<>(deckException, status);
+        // framework errors such as an unsupported Accept or Content-Type carry their own status
+        final HttpStatus status = ex instanceof ErrorResponse errorResponse
+                ? HttpStatus.valueOf(errorResponse.getStatusCode().value())
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        final DeckException deckException = DeckException.of(status,
+                ex.getMessage() != null ? ex.getMessage() : "Unexpected server error", request.getRequestURI());
+        return respond(status, ex, deckException);
+    }
+
+    /**
+     * Error bodies are always JSON, whatever format the client negotiated for the response it expected.
+     */
+    private ResponseEntity<DeckException> respond(HttpStatus status, Exception ex, DeckException deckException) {
+        metrics.recordError(status, ex);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(deckException);
     }
-}
\ No newline at end of file
+}
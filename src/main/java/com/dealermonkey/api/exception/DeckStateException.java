@@ -0,0 +1,87 @@
+package com.dealermonkey.api.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Expected failure of a deck operation caused by the state of the deck rather than by a bad request or a bug,
+ * such as dealing from an empty deck.
+ *
+ * <p>These are thrown at high rates by clients polling empty decks, so they are preallocated, carry no stack
+ * trace, and keep their response body serialized: the exception handlers only splice the timestamp and path
+ * into it, producing the same bytes as a {@link DeckException} serialized by Jackson.
+ */
+public abstract sealed class DeckStateException extends RuntimeException
+        permits DeckEmptyException, NotEnoughCardsException, CardNotDealtException,
+        CardAlreadyDiscardedException {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final byte[] TIMESTAMP_PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PATH_PREFIX = ",\"path\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpStatus status;
+    /**
+     * Serialized fields between the timestamp and the path, starting with the closing quote of the timestamp.
+     */
+    private final byte[] fields;
+
+    protected DeckStateException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+        this.fields = serializeFields(status, message);
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * Response body of this error, as {@link DeckException#of} would serialize it at {@code timestamp}.
+     */
+    public byte[] body(Instant timestamp, String path) {
+        final byte[] time = TIMESTAMP.format(timestamp).getBytes(StandardCharsets.US_ASCII);
+        final byte[] quotedPath = path != null ? JsonStringEncoder.getInstance().quoteAsUTF8(path) : null;
+        final int length = TIMESTAMP_PREFIX.length + time.length + fields.length
+                + (quotedPath != null ? PATH_PREFIX.length + quotedPath.length + 1 : 0) + 1;
+        final byte[] body = new byte[length];
+        int offset = append(body, 0, TIMESTAMP_PREFIX);
+        offset = append(body, offset, time);
+        offset = append(body, offset, fields);
+        if (quotedPath != null) {
+            offset = append(body, offset, PATH_PREFIX);
+            offset = append(body, offset, quotedPath);
+            body[offset++] = '"';
+        }
+        body[offset] = '}';
+        return body;
+    }
+
+    private static byte[] serializeFields(HttpStatus status, String message) {
+        final byte[] json;
+        try {
+            json = MAPPER.writeValueAsBytes(new DeckException(null, status.value(), status.getReasonPhrase(), message, null));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        // {"status":...} becomes ","status":... to follow the timestamp, the closing brace is added after the path
+        final byte[] fields = new byte[json.length];
+        fields[0] = '"';
+        fields[1] = ',';
+        System.arraycopy(json, 1, fields, 2, json.length - 2);
+        return fields;
+    }
+
+    private static int append(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+}
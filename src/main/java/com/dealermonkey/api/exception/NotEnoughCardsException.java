@@ -0,0 +1,15 @@
+package com.dealermonkey.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * More cards were requested in one deal than the deck has left.
+ */
+public final class NotEnoughCardsException extends DeckStateException {
+
+    public static final NotEnoughCardsException INSTANCE = new NotEnoughCardsException();
+
+    private NotEnoughCardsException() {
+        super(HttpStatus.NOT_FOUND, "Not enough cards left in the deck");
+    }
+}
@@ -0,0 +1,108 @@
+package com.dealermonkey.api.exception;
+
+import com.dealermonkey.api.metrics.DeckMetrics;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.Instant;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * WebFlux counterpart of {@link DeckExceptionHandler}, producing the same {@link DeckException} error bodies.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDeckExceptionHandler {
+
+    private final DeckMetrics metrics;
+
+    public ReactiveDeckExceptionHandler(DeckMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Writes the preserialized body of an expected deck error instead of building a {@link DeckException}.
+     */
+    @ExceptionHandler(DeckStateException.class)
+    public ResponseEntity<byte[]> handleDeckState(DeckStateException ex, ServerHttpRequest request) {
+        metrics.recordError(ex.status(), ex);
+        return ResponseEntity.status(ex.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ex.body(Instant.now(), request.getPath().value()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<DeckException> handleIllegalArgument(IllegalArgumentException ex) {
+        final DeckException deckException = DeckException.of(BAD_REQUEST, ex.getMessage(), null);
+        return respond(BAD_REQUEST, ex, deckException);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<DeckException> handleDeserializationError(
+            ServerWebInputException ex,
+            ServerHttpRequest request) {
+        final Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        final DeckException deckException = DeckException.of(BAD_REQUEST,
+                cause != ex ? cause.getMessage() : ex.getReason(), request.getPath().value());
+        return respond(BAD_REQUEST, ex, deckException);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<DeckException> handleWebExchangeBindException(
+            WebExchangeBindException ex,
+            ServerHttpRequest request) {
+        final DeckException deckException = DeckException.of(BAD_REQUEST,
+                ex.getBindingResult().getAllErrors().get(0).getDefaultMessage(), request.getPath().value());
+        return respond(BAD_REQUEST, ex, deckException);
+    }
+
+    /**
+     * Constraints on path variables and request parameters, checked by the {@code @Validated} controller.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<DeckException> handleConstraintViolationException(
+            ConstraintViolationException ex,
+            ServerHttpRequest request) {
+        final ConstraintViolation<?> violation = ex.getConstraintViolations().iterator().next();
+        final DeckException deckException = DeckException.of(BAD_REQUEST,
+                violation.getPropertyPath() + " " + violation.getMessage(), request.getPath().value());
+        return respond(BAD_REQUEST, ex, deckException);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<DeckException> handleResponseStatusException(
+            ResponseStatusException ex,
+            ServerHttpRequest request) {
+        final HttpStatus status = (HttpStatus) ex.getStatusCode();
+        final DeckException deckException = DeckException.of(status, ex.getReason(), request.getPath().value());
+        return respond(status, ex, deckException);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<DeckException> handleUnhandledException(Exception ex, ServerHttpRequest request) {
+        final HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        final DeckException deckException = DeckException.of(status,
+                ex.getMessage() != null ? ex.getMessage() : "Unexpected server error", request.getPath().value());
+        return respond(status, ex, deckException);
+    }
+
+    /**
+     * Error bodies are always JSON, whatever format the client negotiated for the response it expected.
+     */
+    private ResponseEntity<DeckException> respond(HttpStatus status, Exception ex, DeckException deckException) {
+        metrics.recordError(status, ex);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(deckException);
+    }
+}
@@ -0,0 +1,16 @@
+package com.dealermonkey.api.journal;
+
+import com.dealermonkey.api.service.DeckService;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes the current {@link DeckService#writeImage(DataOutput) image} of a deck by id, wherever the deck lives,
+ * for the snapshots of the {@link DeckJournal}.
+ */
+@FunctionalInterface
+public interface DeckImageSource {
+
+    void writeImage(String deckId, DataOutput out) throws IOException;
+}
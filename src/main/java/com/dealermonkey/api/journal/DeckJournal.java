@@ -0,0 +1,321 @@
+package com.dealermonkey.api.journal;
+
+import com.dealermonkey.api.config.JournalProperties;
+import com.dealermonkey.api.service.DeckService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Persists decks across restarts as an append-only journal of their mutations plus periodic snapshots.
+ *
+ * <p>Each journaled deck gets a small integer handle, so its records refer to it in four bytes; the
+ * {@code CREATE} record maps the handle to the deck id. With {@link JournalDurability#GROUP group} durability,
+ * the default, every operation waits for a sync, shared with the operations arriving alongside it, that forces
+ * its record to disk. With {@link JournalDurability#TIMED timed} durability the journal is only forced every sync
+ * interval and operations do not wait for it, so a crash of the machine can lose up to one interval of them.
+ * Every snapshot interval, the state of all decks is written to a snapshot file that records the journal
+ * position it was started at; startup loads the latest snapshot and replays only the journal after that
+ * position, and journal segments that lie entirely before it are deleted.
+ *
+ * <p>After recovery the journal only keeps the id of each deck, not the deck itself, so decks can be spilled
+ * off the heap; snapshots get their images from the {@link DeckImageSource} given to {@link #recover}.
+ *
+ * <p>A snapshot is taken while decks keep changing. Records written while it runs are replayed on top of it,
+ * which is safe because every record can be applied twice; see {@link DeckService#replay(JournalRecord)}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "dealer.journal", name = "enabled", havingValue = "true")
+public class DeckJournal implements DisposableBean {
+
+    public static final int DEFAULT_DECK_HANDLE = 0;
+
+    private static final int SNAPSHOT_MAGIC = 0x444D534E;
+    private static final int SNAPSHOT_VERSION = 3;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final JournalProperties properties;
+    private final Map<Integer, String> deckIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextHandle = new AtomicInteger(DEFAULT_DECK_HANDLE + 1);
+    private final ScheduledExecutorService scheduler;
+    private JournalWriter writer;
+    private DeckImageSource images;
+
+    public DeckJournal(JournalProperties properties) {
+        this.properties = properties;
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("deck-journal-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newScheduledThreadPool(2, threadFactory);
+    }
+
+    /**
+     * Restores the journaled decks into {@code registry}, then journals them from there on. The default deck
+     * is already in the registry and is restored in place; other decks are created with {@code deckFactory}.
+     * Snapshots read the decks through {@code images}.
+     */
+    public synchronized void recover(Map<String, DeckService> registry, String defaultDeckId,
+                                     Supplier<DeckService> deckFactory, DeckImageSource images) {
+        final long started = System.nanoTime();
+        final Path directory = properties.directory();
+        final Map<Integer, JournaledDeck> decks = new HashMap<>();
+        final int[] replayed = new int[1];
+        try {
+            Files.createDirectories(directory);
+            decks.put(DEFAULT_DECK_HANDLE, new JournaledDeck(defaultDeckId, registry.get(defaultDeckId)));
+            final Path snapshot = latestSnapshot(directory);
+            final long from = snapshot != null ? loadSnapshot(snapshot, decks, registry, deckFactory) : 0;
+            writer = JournalReader.replay(directory, from, (int) properties.segmentSize().toBytes(),
+                    properties.durability(), record -> {
+                        apply(record, decks, registry, deckFactory);
+                        replayed[0]++;
+                    });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover decks from " + directory, ex);
+        }
+        this.images = images;
+        decks.forEach((handle, journaled) -> {
+            journaled.deck().attachJournal(writer, handle);
+            deckIds.put(handle, journaled.deckId());
+        });
+        log.info("Recovered {} decks from {} with {} journal records in {} ms", decks.size(), directory,
+                replayed[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        final long syncMillis = properties.syncInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::sync, syncMillis, Math.max(1, syncMillis), TimeUnit.MILLISECONDS);
+        final long snapshotMillis = properties.snapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Journals the creation of {@code deck} and every later mutation of it.
+     */
+    public void created(String deckId, DeckService deck) {
+        final int handle = nextHandle.getAndIncrement();
+        deck.attachJournal(writer, handle);
+        // registered before the record is written, so a snapshot that starts after the record includes the deck
+        deckIds.put(handle, deckId);
+        writer.appendCreate(handle, deckId);
+        writer.awaitDurable();
+    }
+
+    /**
+     * Journals the mutations of a deck rehydrated under the handle it was journaled with before it was spilled.
+     */
+    public void rehydrated(DeckService deck, int handle) {
+        deck.attachJournal(writer, handle);
+    }
+
+    public void evicted(DeckService deck) {
+        final int handle = deck.journalHandle();
+        // unregistered before the record is written, so a snapshot that starts after the record leaves it out
+        deckIds.remove(handle);
+        writer.appendEvict(handle);
+        writer.awaitDurable();
+    }
+
+    /**
+     * Writes the state of all decks to a new snapshot and drops the journal segments it makes obsolete.
+     */
+    public synchronized void snapshot() throws IOException {
+        final long started = System.nanoTime();
+        final Path directory = properties.directory();
+        final long position = writer.position();
+        final Path target = directory.resolve(snapshotFileName(position));
+        final Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(position);
+            for (Map.Entry<Integer, String> entry : deckIds.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeUTF(entry.getValue());
+                images.writeImage(entry.getValue(), out);
+                count++;
+            }
+            out.writeInt(-1);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteObsolete(directory, target, position);
+        log.info("Snapshot of {} decks at journal position {} written in {} ms", count, position,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        stopScheduler();
+        synchronized (this) {
+            if (writer == null) {
+                return;
+            }
+            // a final snapshot leaves nothing to replay on the next start
+            snapshot();
+            writer.close();
+        }
+    }
+
+    /**
+     * Number of times the journal was forced to disk so far.
+     */
+    long syncs() {
+        return writer.syncs();
+    }
+
+    /**
+     * Stops journaling without a final snapshot, leaving the files as a crash right after a sync would.
+     */
+    void halt() throws IOException {
+        stopScheduler();
+        synchronized (this) {
+            writer.close();
+        }
+    }
+
+    private void stopScheduler() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sync() {
+        try {
+            writer.sync();
+        } catch (RuntimeException ex) {
+            log.error("Failed to sync the deck journal", ex);
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to write a deck snapshot", ex);
+        }
+    }
+
+    private void apply(JournalRecord record, Map<Integer, JournaledDeck> decks, Map<String, DeckService> registry,
+                       Supplier<DeckService> deckFactory) {
+        switch (record.type()) {
+            case CREATE -> {
+                if (!decks.containsKey(record.handle())) {
+                    final DeckService deck = deckFactory.get();
+                    decks.put(record.handle(), new JournaledDeck(record.deckId(), deck));
+                    registry.put(record.deckId(), deck);
+                }
+                nextHandle.accumulateAndGet(record.handle() + 1, Math::max);
+            }
+            case EVICT -> {
+                final JournaledDeck evicted = decks.remove(record.handle());
+                if (evicted != null) {
+                    registry.remove(evicted.deckId());
+                }
+            }
+            default -> {
+                final JournaledDeck journaled = decks.get(record.handle());
+                if (journaled == null) {
+                    return;
+                }
+                try {
+                    journaled.deck().replay(record);
+                } catch (RuntimeException ex) {
+                    log.warn("Skipping journal record {} of deck {}: {}", record.type(), journaled.deckId(),
+                            ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the decks of a snapshot and returns the journal position to replay from.
+     */
+    private long loadSnapshot(Path snapshot, Map<Integer, JournaledDeck> decks, Map<String, DeckService> registry,
+                              Supplier<DeckService> deckFactory) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a deck snapshot: " + snapshot);
+            }
+            final long position = in.readLong();
+            int handle;
+            while ((handle = in.readInt()) >= 0) {
+                final String deckId = in.readUTF();
+                final DeckService deck = handle == DEFAULT_DECK_HANDLE
+                        ? decks.get(DEFAULT_DECK_HANDLE).deck()
+                        : deckFactory.get();
+                deck.readImage(in);
+                decks.put(handle, new JournaledDeck(deckId, deck));
+                registry.put(deckId, deck);
+                nextHandle.accumulateAndGet(handle + 1, Math::max);
+            }
+            return position;
+        }
+    }
+
+    private static Path latestSnapshot(Path directory) throws IOException {
+        final List<Path> snapshots = snapshots(directory);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                final String name = path.getFileName().toString();
+                return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static String snapshotFileName(long position) {
+        return String.format("%s%020d%s", SNAPSHOT_PREFIX, position, SNAPSHOT_SUFFIX);
+    }
+
+    private static void deleteObsolete(Path directory, Path latest, long position) throws IOException {
+        for (Path snapshot : snapshots(directory)) {
+            if (!snapshot.equals(latest)) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        for (Path segment : JournalReader.segments(directory)) {
+            if (JournalSegment.baseOf(segment) + Files.size(segment) <= position) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    private record JournaledDeck(String deckId, DeckService deck) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.dealermonkey.api.journal;
+
+/**
+ * When an operation on a journaled deck is acknowledged, relative to its record reaching the disk.
+ */
+public enum JournalDurability {
+
+    /**
+     * Group commit: the operation returns only once a sync has forced its record to disk. Operations that
+     * arrive while a sync runs wait for the next one together, so a single sync covers all of them. Nothing
+     * acknowledged is lost, even when the machine crashes.
+     */
+    GROUP,
+
+    /**
+     * Timed flush: the operation returns as soon as its record is in the mapped file, and the journal's sync
+     * thread forces it to disk within one sync interval. A crash of the machine loses the operations
+     * acknowledged during the last sync interval; a crash of the process alone loses nothing, as the operating
+     * system still writes the mapped pages back.
+     */
+    TIMED
+}
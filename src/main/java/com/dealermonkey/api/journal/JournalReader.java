@@ -0,0 +1,101 @@
+package com.dealermonkey.api.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the journal back on startup and opens it for appending where the readable records end.
+ */
+@Slf4j
+final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /**
+     * Passes every record from position {@code from} on to {@code consumer}, in journal order, and returns a
+     * writer that appends right after the last complete record. Reading stops at the first position that
+     * holds no complete record; whatever follows it was never durable and is discarded.
+     */
+    static JournalWriter replay(Path directory, long from, int segmentSize, JournalDurability durability,
+                                Consumer<JournalRecord> consumer) throws IOException {
+        final List<Path> segments = segments(directory);
+        long expectedBase = -1;
+        for (int i = 0; i < segments.size(); i++) {
+            final Path path = segments.get(i);
+            final long base = JournalSegment.baseOf(path);
+            final long size = Files.size(path);
+            if (base + size <= from) {
+                continue;
+            }
+            if (expectedBase >= 0 && base != expectedBase) {
+                log.warn("Journal segment {} does not follow the previous one, ignoring it and later segments", path);
+                deleteFrom(segments, i);
+                return new JournalWriter(directory, segmentSize, durability,
+                        JournalSegment.create(directory, expectedBase, segmentSize));
+            }
+            final int end = read(path, (int) Math.max(0, from - base), consumer);
+            if (end >= 0) {
+                deleteFrom(segments, i + 1);
+                return new JournalWriter(directory, segmentSize, durability, JournalSegment.reopen(path, base, end));
+            }
+            expectedBase = base + size;
+        }
+        final long next = expectedBase >= 0 ? expectedBase : from;
+        return new JournalWriter(directory, segmentSize, durability,
+                JournalSegment.create(directory, next, segmentSize));
+    }
+
+    /**
+     * Reads the records of one segment from {@code offset} on. Returns the offset after the last record when
+     * the journal ends inside this segment, or {@code -1} when reading continues in the next segment.
+     */
+    private static int read(Path path, int offset, Consumer<JournalRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final int capacity = (int) channel.size();
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, capacity);
+            while (offset < capacity) {
+                final byte code = buffer.get(offset);
+                if (code == JournalRecord.END_OF_SEGMENT) {
+                    return -1;
+                }
+                if (!JournalRecord.Type.isRecord(code)) {
+                    if (code != 0) {
+                        log.warn("Unreadable journal record in {} at offset {}, the journal ends there", path, offset);
+                    }
+                    return offset;
+                }
+                final int size = JournalRecord.size(buffer, offset, capacity);
+                if (size < 0) {
+                    return offset;
+                }
+                consumer.accept(JournalRecord.read(buffer, offset));
+                offset += size;
+            }
+            return -1;
+        }
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> JournalSegment.baseOf(path) >= 0)
+                    .sorted((a, b) -> Long.compare(JournalSegment.baseOf(a), JournalSegment.baseOf(b)))
+                    .toList();
+        }
+    }
+
+    private static void deleteFrom(List<Path> segments, int from) throws IOException {
+        for (int i = from; i < segments.size(); i++) {
+            Files.delete(segments.get(i));
+        }
+    }
+}
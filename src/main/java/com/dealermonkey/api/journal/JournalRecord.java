@@ -0,0 +1,119 @@
+package com.dealermonkey.api.journal;
+
+import com.dealermonkey.api.event.DeckEventType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One decoded journal record, as read back during recovery.
+ *
+ * <p>Every record starts with a one byte {@link Type type} and the four byte handle of its deck; the type
+ * byte is written last, so a record is only visible once it is complete. The rest depends on the type:
+ * <ul>
+ *   <li>{@code CREATE}: deck id as a length-prefixed UTF-8 string</li>
+ *   <li>{@code EVICT}: nothing</li>
+ *   <li>{@code DEAL}: generation and top index after the deal, 13 bytes in total</li>
+ *   <li>{@code DISCARD}: sequence number and card ordinal, 10 bytes in total</li>
+ *   <li>structural changes: sequence number, generation after the change, top index the change was applied
+ *       at, an argument (shuffle seed or cut index) and the shuffle algorithm version, 26 bytes in total</li>
+ * </ul>
+ *
+ * @param sequence   position of a discard or structural change among the deck's locked mutations
+ * @param generation generation of the deck after the change
+ * @param top        top index: after a deal, or of the previous generation when a structural change was made
+ * @param argument   shuffle seed, cut index or discarded card ordinal
+ * @param algorithm  {@link com.dealermonkey.api.engine.ShuffleAlgorithm} version of a shuffle, {@code 0} otherwise
+ */
+public record JournalRecord(
+        Type type,
+        int handle,
+        int sequence,
+        int generation,
+        int top,
+        long argument,
+        int algorithm,
+        String deckId
+) {
+    static final int HEADER_SIZE = 5;
+    static final int DEAL_SIZE = HEADER_SIZE + 8;
+    static final int DISCARD_SIZE = HEADER_SIZE + 5;
+    static final int STRUCTURAL_SIZE = HEADER_SIZE + 21;
+
+    /**
+     * Marks the unused end of a segment; reading continues in the next segment.
+     */
+    static final byte END_OF_SEGMENT = (byte) 0xFF;
+
+    public enum Type {
+        CREATE, EVICT, DEAL, DISCARD, SHUFFLE, CUT, ORDER, REBUILD, RESHUFFLE;
+
+        private static final Type[] BY_CODE = values();
+
+        byte code() {
+            return (byte) (ordinal() + 1);
+        }
+
+        static Type ofCode(byte code) {
+            return BY_CODE[code - 1];
+        }
+
+        static boolean isRecord(byte code) {
+            return code >= 1 && code <= BY_CODE.length;
+        }
+
+        /**
+         * Record type of a structural change reported as {@code event}.
+         */
+        public static Type of(DeckEventType event) {
+            return switch (event) {
+                case SHUFFLE -> SHUFFLE;
+                case CUT -> CUT;
+                case ORDER -> ORDER;
+                case REBUILD -> REBUILD;
+                case RESHUFFLE -> RESHUFFLE;
+                default -> throw new IllegalArgumentException("Not a structural change: " + event);
+            };
+        }
+    }
+
+    /**
+     * Decodes the record at {@code offset}, whose type byte has already been checked to be a record.
+     */
+    static JournalRecord read(ByteBuffer buffer, int offset) {
+        final Type type = Type.ofCode(buffer.get(offset));
+        final int handle = buffer.getInt(offset + 1);
+        final int body = offset + HEADER_SIZE;
+        return switch (type) {
+            case CREATE -> {
+                final byte[] id = new byte[buffer.get(body) & 0xFF];
+                buffer.get(body + 1, id);
+                yield new JournalRecord(type, handle, 0, 0, 0, 0, 0, new String(id, StandardCharsets.UTF_8));
+            }
+            case EVICT -> new JournalRecord(type, handle, 0, 0, 0, 0, 0, null);
+            case DEAL -> new JournalRecord(type, handle, 0, buffer.getInt(body), buffer.getInt(body + 4), 0, 0, null);
+            case DISCARD -> new JournalRecord(type, handle, buffer.getInt(body), 0, 0, buffer.get(body + 4), 0, null);
+            default -> new JournalRecord(type, handle, buffer.getInt(body), buffer.getInt(body + 4),
+                    buffer.getInt(body + 8), buffer.getLong(body + 12),
+                    buffer.get(body + 20) & 0xFF, null);
+        };
+    }
+
+    /**
+     * Encoded size of the record at {@code offset}, or {@code -1} when it would run past {@code limit}.
+     */
+    static int size(ByteBuffer buffer, int offset, int limit) {
+        final Type type = Type.ofCode(buffer.get(offset));
+        if (type == Type.CREATE && offset + HEADER_SIZE >= limit) {
+            return -1;
+        }
+        final int size = switch (type) {
+            case CREATE -> HEADER_SIZE + 1 + (buffer.get(offset + HEADER_SIZE) & 0xFF);
+            case EVICT -> HEADER_SIZE;
+            case DEAL -> DEAL_SIZE;
+            case DISCARD -> DISCARD_SIZE;
+            default -> STRUCTURAL_SIZE;
+        };
+        return offset + size <= limit ? size : -1;
+    }
+}
@@ -0,0 +1,225 @@
+package com.dealermonkey.api.journal;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One memory-mapped journal file, covering the journal positions {@code [base, base + capacity)}.
+ *
+ * <p>Appenders claim space with a single {@code getAndAdd} on the write offset and then fill their claim
+ * with absolute puts, so appends from different threads never wait for each other. The appender whose
+ * claim runs past the end writes an {@link JournalRecord#END_OF_SEGMENT end marker} and the journal moves
+ * on to the next segment.
+ *
+ * <p>Claims are filled out of order, so the segment also counts the claims still being filled. A
+ * {@link #force() force} only counts as covering the records up to the write offset once none were in flight;
+ * otherwise the next force covers them again.
+ */
+final class JournalSegment {
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    final long base;
+    final int capacity;
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong next;
+    // claims taken but not yet committed, or given up because they ran past the end
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // offset below which every record is complete and forced
+    private int forced;
+
+    private JournalSegment(long base, Path path, FileChannel channel, int capacity, int offset) throws IOException {
+        this.base = base;
+        this.path = path;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.next = new AtomicLong(offset);
+        this.forced = offset;
+    }
+
+    /**
+     * Creates the segment starting at {@code base}, replacing any file left there.
+     */
+    static JournalSegment create(Path directory, long base, int capacity) throws IOException {
+        final Path path = directory.resolve(fileName(base));
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel.truncate(0);
+        // the file is extended sparsely; its pages read as zeros, which marks the end of the journal
+        channel.write(ByteBuffer.allocate(1), capacity - 1);
+        return new JournalSegment(base, path, channel, capacity, 0);
+    }
+
+    /**
+     * Reopens an existing segment for appending at {@code offset}, clearing whatever follows it: a record
+     * torn by a crash, or records written behind a claim that was never completed.
+     */
+    static JournalSegment reopen(Path path, long base, int offset) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final JournalSegment segment = new JournalSegment(base, path, channel, (int) channel.size(), offset);
+        final byte[] zeros = new byte[64 * 1024];
+        for (int i = offset; i < segment.capacity; i += zeros.length) {
+            segment.buffer.put(i, zeros, 0, Math.min(zeros.length, segment.capacity - i));
+        }
+        segment.buffer.force();
+        return segment;
+    }
+
+    static String fileName(long base) {
+        return String.format("%s%020d%s", PREFIX, base, SUFFIX);
+    }
+
+    /**
+     * Start position of the segment stored in {@code path}, or {@code -1} when it is not a segment file.
+     */
+    static long baseOf(Path path) {
+        final String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Journal position the next record would be written at, or the end of the segment once it is full.
+     */
+    long position() {
+        return base + Math.min(next.get(), capacity);
+    }
+
+    boolean create(int handle, byte[] deckId) {
+        final int offset = claim(JournalRecord.HEADER_SIZE + 1 + deckId.length);
+        if (offset < 0) {
+            return false;
+        }
+        buffer.putInt(offset + 1, handle);
+        buffer.put(offset + JournalRecord.HEADER_SIZE, (byte) deckId.length);
+        buffer.put(offset + JournalRecord.HEADER_SIZE + 1, deckId);
+        commit(offset, JournalRecord.Type.CREATE);
+        return true;
+    }
+
+    boolean evict(int handle) {
+        final int offset = claim(JournalRecord.HEADER_SIZE);
+        if (offset < 0) {
+            return false;
+        }
+        buffer.putInt(offset + 1, handle);
+        commit(offset, JournalRecord.Type.EVICT);
+        return true;
+    }
+
+    boolean deal(int handle, int generation, int top) {
+        final int offset = claim(JournalRecord.DEAL_SIZE);
+        if (offset < 0) {
+            return false;
+        }
+        buffer.putInt(offset + 1, handle);
+        buffer.putInt(offset + 5, generation);
+        buffer.putInt(offset + 9, top);
+        commit(offset, JournalRecord.Type.DEAL);
+        return true;
+    }
+
+    boolean discard(int handle, int sequence, int card) {
+        final int offset = claim(JournalRecord.DISCARD_SIZE);
+        if (offset < 0) {
+            return false;
+        }
+        buffer.putInt(offset + 1, handle);
+        buffer.putInt(offset + 5, sequence);
+        buffer.put(offset + 9, (byte) card);
+        commit(offset, JournalRecord.Type.DISCARD);
+        return true;
+    }
+
+    boolean structural(JournalRecord.Type type, int handle, int sequence, int generation, int top, long argument,
+                       int algorithm) {
+        final int offset = claim(JournalRecord.STRUCTURAL_SIZE);
+        if (offset < 0) {
+            return false;
+        }
+        buffer.putInt(offset + 1, handle);
+        buffer.putInt(offset + 5, sequence);
+        buffer.putInt(offset + 9, generation);
+        buffer.putInt(offset + 13, top);
+        buffer.putLong(offset + 17, argument);
+        buffer.put(offset + 25, (byte) algorithm);
+        commit(offset, type);
+        return true;
+    }
+
+    /**
+     * Forces everything committed so far to disk. Only called under the writer's sync lock. Returns
+     * {@code true} when no claim was in flight, so that every record claimed before the call is now on disk.
+     */
+    boolean force() {
+        final int end = (int) Math.min(next.get(), capacity);
+        // a claim below end took its in-flight count before its offset, so it shows up here until it commits
+        final boolean complete = inFlight.get() == 0;
+        if (end > forced) {
+            buffer.force(forced, end - forced);
+            if (complete) {
+                forced = end;
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Whether the segment is full and every claim in it has been committed, so that nothing will write to it
+     * again.
+     */
+    boolean settled() {
+        return next.get() >= capacity && inFlight.get() == 0;
+    }
+
+    void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int claim(int length) {
+        inFlight.incrementAndGet();
+        final long offset = next.getAndAdd(length);
+        if (offset + length <= capacity) {
+            return (int) offset;
+        }
+        if (offset < capacity) {
+            buffer.put((int) offset, JournalRecord.END_OF_SEGMENT);
+        }
+        inFlight.decrementAndGet();
+        return -1;
+    }
+
+    private void commit(int offset, JournalRecord.Type type) {
+        // the body must be in place before the type byte makes the record visible to recovery
+        VarHandle.releaseFence();
+        buffer.put(offset, type.code());
+        inFlight.decrementAndGet();
+    }
+
+    static byte[] encode(String deckId) {
+        final byte[] bytes = deckId.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 255) {
+            throw new IllegalArgumentException("Deck id too long to journal: " + deckId);
+        }
+        return bytes;
+    }
+}
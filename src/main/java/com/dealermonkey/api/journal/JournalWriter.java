@@ -0,0 +1,193 @@
+package com.dealermonkey.api.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends records to the journal, a sequence of memory-mapped {@link JournalSegment segments}.
+ *
+ * <p>Appending only copies a few bytes into the mapped file and never waits for the disk. {@link #sync()}
+ * forces all records appended since the previous sync with one call, however many threads appended them.
+ * Whether anyone waits for it depends on the {@link JournalDurability durability}:
+ * <ul>
+ *     <li>{@code GROUP}: after appending, an operation calls {@link #awaitDurable()}, which returns once a sync
+ *     that started after the call has completed. The first waiter to find no sync running runs one; waiters
+ *     that arrive meanwhile queue for the next, which one of them then runs for all, so a burst of operations
+ *     pays for a single sync instead of one each.</li>
+ *     <li>{@code TIMED}: {@link #awaitDurable()} returns at once, and only the journal's sync thread syncs,
+ *     every sync interval. A crash of the machine can lose the operations of up to one sync interval; a crash
+ *     of the process alone loses nothing, as the operating system still writes the mapped pages back.</li>
+ * </ul>
+ */
+@Slf4j
+public final class JournalWriter implements Closeable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalDurability durability;
+    private final ConcurrentLinkedQueue<JournalSegment> retired = new ConcurrentLinkedQueue<>();
+    private volatile JournalSegment current;
+    // held while forcing, so that the sync thread and group commits never force at the same time
+    private final Object syncLock = new Object();
+    private final AtomicLong syncs = new AtomicLong();
+
+    // group commit: syncs run on behalf of waiters, numbered in the order they started
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition synced = commitLock.newCondition();
+    private long commitsStarted;
+    private long commitsCompleted;
+    private boolean committing;
+
+    JournalWriter(Path directory, int segmentSize, JournalDurability durability, JournalSegment current) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.durability = durability;
+        this.current = current;
+    }
+
+    public void appendDeal(int handle, int generation, int top) {
+        JournalSegment segment;
+        while (!(segment = current).deal(handle, generation, top)) {
+            roll(segment);
+        }
+    }
+
+    public void appendDiscard(int handle, int sequence, int card) {
+        JournalSegment segment;
+        while (!(segment = current).discard(handle, sequence, card)) {
+            roll(segment);
+        }
+    }
+
+    public void appendStructural(JournalRecord.Type type, int handle, int sequence, int generation, int top,
+                                 long argument, int algorithm) {
+        JournalSegment segment;
+        while (!(segment = current).structural(type, handle, sequence, generation, top, argument, algorithm)) {
+            roll(segment);
+        }
+    }
+
+    void appendCreate(int handle, String deckId) {
+        final byte[] id = JournalSegment.encode(deckId);
+        JournalSegment segment;
+        while (!(segment = current).create(handle, id)) {
+            roll(segment);
+        }
+    }
+
+    void appendEvict(int handle) {
+        JournalSegment segment;
+        while (!(segment = current).evict(handle)) {
+            roll(segment);
+        }
+    }
+
+    /**
+     * Waits until every record the calling thread appended so far is on disk, when the journal has
+     * {@link JournalDurability#GROUP group} durability; returns at once otherwise. Called after the deck lock is
+     * released, so that operations on the same deck join the same sync rather than queueing for one each.
+     */
+    public void awaitDurable() {
+        if (durability != JournalDurability.GROUP) {
+            return;
+        }
+        commitLock.lock();
+        try {
+            // a sync that is already running may have missed the caller's records; the next one cannot
+            final long needed = commitsStarted + 1;
+            while (commitsCompleted < needed) {
+                if (committing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                committing = true;
+                final long commit = ++commitsStarted;
+                boolean forced = false;
+                commitLock.unlock();
+                try {
+                    sync();
+                    forced = true;
+                } finally {
+                    commitLock.lock();
+                    committing = false;
+                    if (forced) {
+                        commitsCompleted = commit;
+                    }
+                    // on failure, one of the waiters takes over and tries again
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Number of syncs run so far.
+     */
+    long syncs() {
+        return syncs.get();
+    }
+
+    /**
+     * Journal position the next record will be written at.
+     */
+    long position() {
+        return current.position();
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk, and closes segments that filled up since. A full
+     * segment stays open, and is forced again on the next sync, while an appender that claimed space in it
+     * before the roll is still filling its record.
+     */
+    void sync() {
+        synchronized (syncLock) {
+            for (JournalSegment full : retired) {
+                if (!full.settled()) {
+                    full.force();
+                    continue;
+                }
+                try {
+                    full.close();
+                } catch (IOException ex) {
+                    log.warn("Failed to close journal segment {}", full.path, ex);
+                }
+                retired.remove(full);
+            }
+            current.force();
+            syncs.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        JournalSegment full;
+        while ((full = retired.poll()) != null) {
+            full.close();
+        }
+        current.close();
+    }
+
+    private synchronized void roll(JournalSegment full) {
+        if (current != full) {
+            return;
+        }
+        try {
+            current = JournalSegment.create(directory, full.base + full.capacity, segmentSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to create journal segment", ex);
+        }
+        retired.add(full);
+        log.debug("Journal rolled over to segment at position {}", current.base);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dealermonkey.api.metrics;
+
+import com.dealermonkey.api.service.DeckRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges of the {@link DeckRegistry}: live and spilled decks, the off-heap memory of the spill store, and the
+ * cards left in the default deck.
+ *
+ * <p>The cards left are not published for every deck, since one time series per table would grow without bound
+ * with the number of decks.
+ */
+@Component
+public class DeckRegistryMetrics implements MeterBinder {
+
+    private final DeckRegistry registry;
+
+    public DeckRegistryMetrics(DeckRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meters) {
+        Gauge.builder("deck.registry.decks", registry, DeckRegistry::size)
+                .description("Decks in the registry, on the heap or spilled, including the default deck")
+                .register(meters);
+        Gauge.builder("deck.registry.spilled", registry, DeckRegistry::spilledSize)
+                .description("Decks spilled off-heap")
+                .register(meters);
+        Gauge.builder("deck.spill.reserved", registry, DeckRegistry::spillReservedBytes)
+                .description("Off-heap memory reserved by the spill store")
+                .baseUnit("bytes")
+                .register(meters);
+        Gauge.builder("deck.spill.used", registry, DeckRegistry::spillUsedBytes)
+                .description("Off-heap memory taken by spilled deck images")
+                .baseUnit("bytes")
+                .register(meters);
+        Gauge.builder("deck.cards.left", registry, decks -> decks.getDefaultDeck().size())
+                .description("Cards left to deal")
+                .tag("deck", DeckRegistry.DEFAULT_DECK_ID)
+                .register(meters);
+    }
+}
@@ -1,15 +1,48 @@
 package com.dealermonkey.api.model;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Locale;
+
 @Schema(description = "Represents a single playing card with suit and rank.")
+@JsonSerialize(using = CardSerializer.class)
 public record Card(
-        @Schema(description = "The suit of the card", example = "spades") Suit suit,
-        @Schema(description = "The rank of the card", example = "ace") Rank rank
+        @NotNull @Schema(description = "The suit of the card", example = "spades") Suit suit,
+        @NotNull @Schema(description = "The rank of the card", example = "ace") Rank rank
 ) {
-    @NotNull
+    public static final int DECK_SIZE = 52;
+
+    /**
+     * Flyweight table of all 52 cards indexed by {@link #ordinal()}.
+     */
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                CARDS[suit.ordinal() * Rank.COUNT + rank.ordinal()] = new Card(suit, rank);
+            }
+        }
+    }
+
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[suit.ordinal() * Rank.COUNT + rank.ordinal()];
+    }
+
+    public static Card of(int ordinal) {
+        return CARDS[ordinal];
+    }
+
+    /**
+     * Position of this card in the default deck order, {@code 0} (two of spades) to {@code 51} (ace of diamonds).
+     */
+    public int ordinal() {
+        return suit.ordinal() * Rank.COUNT + rank.ordinal();
+    }
+
     @Schema(
             description = "The suit of the card",
             example = "spades",
@@ -18,13 +51,14 @@ public record Card(
     public enum Suit {
         SPADES, HEARTS, CLUBS, DIAMONDS;
 
+        private final String lowerCase = name().toLowerCase(Locale.ROOT);
+
         @JsonValue
         public String toLowerCase() {
-            return name().toLowerCase();
+            return lowerCase;
         }
     }
 
-    @NotNull
     @Schema(
             description = "The rank of the card",
             example = "ace",
@@ -37,9 +71,13 @@ public record Card(
         TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, TEN,
         JACK, QUEEN, KING, ACE;
 
+        public static final int COUNT = 13;
+
+        private final String lowerCase = name().toLowerCase(Locale.ROOT);
+
         @JsonValue
         public String toLowerCase() {
-            return name().toLowerCase();
+            return lowerCase;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.dealermonkey.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * State a deck history starts from, taken at the last shuffle or reshuffle. A shuffle permutes the cards left
+ * from their canonical order, so the cards in that order, the seed and the algorithm version give back the deck
+ * it produced. A deck that goes too long without a shuffle starts a new history from a checkpoint without a
+ * seed, whose cards are listed in the order they lie. Every card of the shoe that is neither left nor in the
+ * discard pile is in play.
+ *
+ * @param cards       cards left in the deck: in canonical order when {@code seed} is given, otherwise top first
+ * @param discardPile discard pile, first discarded first
+ * @param seed        seed the cards were shuffled with
+ * @param algorithm   {@link com.dealermonkey.api.engine.ShuffleAlgorithm} version of the shuffle
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "State a deck history starts from.")
+public record DeckCheckpoint(
+        List<Card> cards,
+        List<Card> discardPile,
+        @Schema(description = "Seed of the shuffle", example = "-4962768465676381896") Long seed,
+        @Schema(description = "Shuffle algorithm version", example = "1") Integer algorithm
+) {
+}
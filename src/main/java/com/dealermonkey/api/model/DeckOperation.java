@@ -0,0 +1,51 @@
+package com.dealermonkey.api.model;
+
+import com.dealermonkey.api.event.DeckEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+/**
+ * One step in the history of a deck. Together with the number of decks in the shoe and the
+ * {@link DeckCheckpoint checkpoint} they start from, the steps determine the deck completely: shuffles carry
+ * their seed and algorithm version instead of the order they produced.
+ *
+ * @param type      deal, discard, shuffle, cut, order, rebuild or reshuffle (cut card reached)
+ * @param count     cards dealt, for a deal
+ * @param card      card discarded, for a discard
+ * @param seed      seed of a shuffle or reshuffle
+ * @param algorithm {@link com.dealermonkey.api.engine.ShuffleAlgorithm} version of a shuffle or reshuffle
+ * @param index     cut position, for a cut
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "One step in the history of a deck.")
+public record DeckOperation(
+        @Schema(description = "The kind of step", example = "shuffle") DeckEventType type,
+        @Schema(description = "Cards dealt", example = "2") Integer count,
+        Card card,
+        @Schema(description = "Seed of a shuffle", example = "-4962768465676381896") Long seed,
+        @Schema(description = "Shuffle algorithm version", example = "1") Integer algorithm,
+        @Schema(description = "Cut position", example = "26") Integer index
+) {
+
+    public static DeckOperation deal(int count) {
+        return DeckOperation.builder().type(DeckEventType.DEAL).count(count).build();
+    }
+
+    public static DeckOperation discard(Card card) {
+        return DeckOperation.builder().type(DeckEventType.DISCARD).card(card).build();
+    }
+
+    public static DeckOperation shuffle(DeckEventType type, long seed, int algorithm) {
+        return DeckOperation.builder().type(type).seed(seed).algorithm(algorithm).build();
+    }
+
+    public static DeckOperation cut(int index) {
+        return DeckOperation.builder().type(DeckEventType.CUT).index(index).build();
+    }
+
+    public static DeckOperation of(DeckEventType type) {
+        return DeckOperation.builder().type(type).build();
+    }
+}
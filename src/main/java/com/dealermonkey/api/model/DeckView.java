@@ -0,0 +1,15 @@
+package com.dealermonkey.api.model;
+
+import java.util.List;
+
+/**
+ * Immutable view of the cards in a deck or its discard pile, shared by every reader until the cards change.
+ *
+ * @param etag  entity tag of this version of the cards, quoted for an {@code ETag} header
+ * @param cards the cards, in order; unmodifiable
+ */
+public record DeckView(
+        String etag,
+        List<Card> cards
+) {
+}
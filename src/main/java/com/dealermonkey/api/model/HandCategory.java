@@ -0,0 +1,28 @@
+package com.dealermonkey.api.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Locale;
+
+/**
+ * Category of a poker hand, from the weakest to the strongest.
+ */
+@Schema(
+        description = "The category of a poker hand",
+        example = "full_house",
+        allowableValues = {
+                "high_card", "pair", "two_pair", "three_of_a_kind", "straight", "flush", "full_house",
+                "four_of_a_kind", "straight_flush"
+        }
+)
+public enum HandCategory {
+    HIGH_CARD, PAIR, TWO_PAIR, THREE_OF_A_KIND, STRAIGHT, FLUSH, FULL_HOUSE, FOUR_OF_A_KIND, STRAIGHT_FLUSH;
+
+    private final String lowerCase = name().toLowerCase(Locale.ROOT);
+
+    @JsonValue
+    public String toLowerCase() {
+        return lowerCase;
+    }
+}
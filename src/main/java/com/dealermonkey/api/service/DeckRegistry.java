@@ -0,0 +1,231 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.RegistryProperties;
+import com.dealermonkey.api.event.DeckEventListener;
+import com.dealermonkey.api.journal.DeckJournal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Registry of independent, per-table {@link DeckService} instances keyed by deck id.
+ *
+ * <p>Decks are created from the prototype-scoped {@link DeckService} bean and held in a Caffeine cache, so
+ * lookups never take a global lock. A single {@link #DEFAULT_DECK_ID default deck} always exists outside the
+ * cache and backs the routes that do not carry a deck id.
+ *
+ * <p>The cache bounds the decks kept on the heap by count and idle time. A deck it evicts is not lost but
+ * {@link DeckService#retire retired} into an image in the off-heap {@link DeckSpillStore}, and rehydrated into
+ * a new instance on its next lookup; callers still holding the retired instance are forwarded to the new one.
+ * Eviction runs on the thread whose access triggered it, or on the cache's scheduler for idle decks.
+ *
+ * <p>When the {@link DeckJournal} is enabled, the registry starts out with the decks it recovers and reports
+ * every deck it creates or evicts to it.
+ */
+@Slf4j
+@Service
+public class DeckRegistry {
+
+    public static final String DEFAULT_DECK_ID = "default";
+
+    private final ObjectFactory<DeckService> deckFactory;
+    private final Cache<String, DeckService> decks;
+    private final DeckSpillStore spilled;
+    private final DeckService defaultDeck;
+    private final DeckJournal journal;
+    private final Function<String, DeckService> rehydrate = this::rehydrate;
+
+    public DeckRegistry(ObjectFactory<DeckService> deckFactory, int initialCapacity) {
+        this(deckFactory, initialCapacity, null);
+    }
+
+    public DeckRegistry(ObjectFactory<DeckService> deckFactory, int initialCapacity,
+                        ObjectProvider<DeckJournal> journal) {
+        this(deckFactory, new RegistryProperties(initialCapacity, RegistryProperties.DEFAULTS.maximumResident(),
+                RegistryProperties.DEFAULTS.idleTimeout(), RegistryProperties.DEFAULTS.spillSlabSize()), journal);
+    }
+
+    @Autowired
+    public DeckRegistry(ObjectFactory<DeckService> deckFactory, RegistryProperties properties,
+                        ObjectProvider<DeckJournal> journal) {
+        this.deckFactory = deckFactory;
+        this.spilled = new DeckSpillStore((int) properties.spillSlabSize().toBytes());
+        this.decks = Caffeine.newBuilder()
+                .initialCapacity(properties.initialCapacity())
+                .maximumSize(properties.maximumResident())
+                .expireAfterAccess(properties.idleTimeout())
+                .executor(Runnable::run)
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener(this::spill)
+                .build();
+        this.defaultDeck = deckFactory.getObject();
+        this.journal = journal != null ? journal.getIfAvailable() : null;
+        if (this.journal != null) {
+            // recovered into a plain map first, so no deck is spilled before it is journaled again
+            final Map<String, DeckService> recovered = new HashMap<>();
+            recovered.put(DEFAULT_DECK_ID, defaultDeck);
+            this.journal.recover(recovered, DEFAULT_DECK_ID, deckFactory::getObject, this::writeImage);
+            recovered.remove(DEFAULT_DECK_ID);
+            decks.putAll(recovered);
+        }
+    }
+
+    public String createDeck() {
+        final String deckId = UUID.randomUUID().toString();
+        final DeckService deck = deckFactory.getObject();
+        if (journal != null) {
+            journal.created(deckId, deck);
+        }
+        decks.put(deckId, deck);
+        log.debug("Deck created: {}", deckId);
+        return deckId;
+    }
+
+    public DeckService getDeck(String deckId) {
+        if (DEFAULT_DECK_ID.equals(deckId)) {
+            return defaultDeck;
+        }
+        final DeckService deck = decks.get(deckId, rehydrate);
+        if (deck == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Deck not found: " + deckId);
+        }
+        return deck;
+    }
+
+    /**
+     * Resolves the deck addressed by a request, falling back to the default deck when no id is given.
+     */
+    public DeckService resolve(String deckId) {
+        return deckId == null ? defaultDeck : getDeck(deckId);
+    }
+
+    public DeckService getDefaultDeck() {
+        return defaultDeck;
+    }
+
+    public void evictDeck(String deckId) {
+        if (DEFAULT_DECK_ID.equals(deckId)) {
+            throw new IllegalArgumentException("The default deck cannot be evicted");
+        }
+        DeckService deck;
+        // rehydrated first, so listeners get their closed event; retried if the deck is spilled meanwhile
+        do {
+            deck = getDeck(deckId);
+        } while (!decks.asMap().remove(deckId, deck));
+        deck.closeEvents();
+        if (journal != null) {
+            journal.evicted(deck);
+        }
+        log.debug("Deck evicted: {}", deckId);
+    }
+
+    /**
+     * Number of decks, on the heap or spilled, including the default deck.
+     */
+    public int size() {
+        return 1 + decks.asMap().size() + spilled.size();
+    }
+
+    public int spilledSize() {
+        return spilled.size();
+    }
+
+    /**
+     * Off-heap bytes held by the spill store's slabs.
+     */
+    public long spillReservedBytes() {
+        return spilled.reservedBytes();
+    }
+
+    /**
+     * Off-heap bytes taken by the images of spilled decks.
+     */
+    public long spillUsedBytes() {
+        return spilled.usedBytes();
+    }
+
+    /**
+     * Runs pending evictions now rather than on the next access.
+     */
+    void cleanUp() {
+        decks.cleanUp();
+    }
+
+    /**
+     * Moves the decks evicted by the cache into the spill store.
+     */
+    private void spill(String deckId, DeckService deck, RemovalCause cause) {
+        if (deck == null) {
+            return;
+        }
+        final byte[] image = deck.retire(() -> getDeck(deckId));
+        final DeckEventListener[] listeners = deck.listeners();
+        spilled.put(deckId, deck.journalHandle(), image, listeners.length == 0 ? null : listeners);
+        log.debug("Deck spilled ({}): {}", cause, deckId);
+    }
+
+    private DeckService rehydrate(String deckId) {
+        final DeckSpillStore.SpilledDeck spilledDeck = spilled.take(deckId);
+        if (spilledDeck == null) {
+            return null;
+        }
+        final DeckService deck = deckFactory.getObject();
+        try {
+            deck.readImage(new DataInputStream(new ByteArrayInputStream(spilledDeck.image())));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to rehydrate deck " + deckId, ex);
+        }
+        if (journal != null) {
+            journal.rehydrated(deck, spilledDeck.handle());
+        }
+        if (spilledDeck.listeners() != null) {
+            for (DeckEventListener listener : spilledDeck.listeners()) {
+                deck.addListener(listener);
+            }
+        }
+        log.debug("Deck rehydrated: {}", deckId);
+        return deck;
+    }
+
+    /**
+     * Writes the image of a deck for a journal snapshot without touching its place in the cache.
+     */
+    private void writeImage(String deckId, DataOutput out) throws IOException {
+        while (true) {
+            final DeckService deck = DEFAULT_DECK_ID.equals(deckId)
+                    ? defaultDeck
+                    : decks.policy().getIfPresentQuietly(deckId);
+            if (deck != null && deck.writeImage(out)) {
+                return;
+            }
+            if (spilled.copyTo(deckId, out)) {
+                return;
+            }
+            // in between: being rehydrated, which this waits for, or evicted, which the journal replays
+            try {
+                getDeck(deckId);
+            } catch (ResponseStatusException ex) {
+                deckFactory.getObject().writeImage(out);
+                return;
+            }
+        }
+    }
+}
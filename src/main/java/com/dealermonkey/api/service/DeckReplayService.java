@@ -0,0 +1,55 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.dto.request.ReplayRequest;
+import com.dealermonkey.api.dto.response.ReplayResponse;
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds a deck from its {@link DeckService#history() history} on a private deck, for audits: the history
+ * starts from the checkpoint of the last shuffle, which records the cards and a 64-bit seed rather than the order
+ * they were shuffled into, and replaying it gives back every card dealt since and the final state of the deck.
+ */
+@Slf4j
+@Service
+public class DeckReplayService {
+
+    public ReplayResponse replay(ReplayRequest request) {
+        if (request.decks() < 1 || request.decks() > DeckProperties.MAX_DECKS) {
+            throw new IllegalArgumentException("Decks must be between 1 and " + DeckProperties.MAX_DECKS);
+        }
+        if (request.operations() == null) {
+            throw new IllegalArgumentException("Operations are required");
+        }
+        // no deck produces a longer history, and the replay runs on the request thread
+        if (request.operations().size() > DeckService.MAX_HISTORY_SIZE) {
+            throw new IllegalArgumentException("A history holds at most " + DeckService.MAX_HISTORY_SIZE
+                    + " operations");
+        }
+        final DeckService deck = new DeckService(
+                new DeckProperties(DeckProperties.DEFAULTS.shuffleRandom(), request.decks(), 1.0));
+        if (request.checkpoint() != null) {
+            deck.restore(request.checkpoint());
+        }
+        final List<List<Card>> deals = new ArrayList<>();
+        for (DeckOperation operation : request.operations()) {
+            final List<Card> dealt = deck.apply(operation);
+            if (operation.type() == DeckEventType.DEAL) {
+                deals.add(dealt);
+            }
+        }
+        log.debug("Replayed {} operations", request.operations().size());
+        return ReplayResponse.builder()
+                .deals(deals)
+                .cards(deck.getDeck())
+                .discardPile(deck.getDiscardPile())
+                .build();
+    }
+}
@@ -1,122 +1,1463 @@
 package com.dealermonkey.api.service;
 
+import com.dealermonkey.api.config.DeckProperties;
 import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.DeckHistoryResponse;
+import com.dealermonkey.api.engine.ShuffleAlgorithm;
+import com.dealermonkey.api.engine.ShuffleEngine;
+import com.dealermonkey.api.event.DeckEvent;
+import com.dealermonkey.api.event.DeckEventListener;
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.exception.CardAlreadyDiscardedException;
+import com.dealermonkey.api.exception.CardNotDealtException;
+import com.dealermonkey.api.exception.DeckEmptyException;
+import com.dealermonkey.api.exception.NotEnoughCardsException;
+import com.dealermonkey.api.journal.JournalRecord;
+import com.dealermonkey.api.journal.JournalWriter;
+import com.dealermonkey.api.metrics.DeckMetrics;
+import com.dealermonkey.api.metrics.DeckMetrics.Operation;
 import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckCheckpoint;
+import com.dealermonkey.api.model.DeckOperation;
+import com.dealermonkey.api.model.DeckView;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
-
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
+/**
+ * A deck of cards, or a shoe of several decks shuffled together.
+ *
+ * <p>Cards are stored as their {@link Card#ordinal() ordinals} in a {@code byte[]} and only turned back into
+ * {@link Card} flyweights at the API boundary. Dealt and discarded cards are tracked as a count per card,
+ * so a shoe can hold several copies of the same card and a discard is validated in constant time. The
+ * discard pile keeps its order in a second {@code byte[]}.
+ *
+ * <p>A shoe can carry a cut card: once the cards left drop to the reserve behind it, the discard pile is
+ * shuffled back into the shoe together with the remaining cards. Cards still in play stay dealt.
+ *
+ * <p>Concurrency model: the order of the cards is an immutable {@link Snapshot} and the position of the
+ * top card is packed together with the snapshot generation into one {@link AtomicLong}. Dealing and
+ * peeking never block: a deal is a single compare-and-set that advances the top index of the current
+ * generation. Structural operations (shuffle, cut, order, rebuild) and discards serialize on a
+ * {@link ReentrantLock} and publish a new snapshot by moving the state to the next generation, which
+ * makes any in-flight deal against the old snapshot retry. A {@link #batch(List) batch} of operations is
+ * staged on a private copy of the deck and published the same way, all at once.
+ *
+ * <p>A snapshot is a ring buffer: its first card sits at an offset into the array. Because snapshots are
+ * never mutated, a cut of an undealt snapshot only moves that offset over the shared array, and a rebuild
+ * shares the precomputed canonical deck; only shuffle, order and cuts after a deal copy the cards.
+ *
+ * <p>Every change is reported to the registered {@link DeckEventListener listeners}. The listeners are a
+ * copy-on-write array, so a deck without listeners pays a single volatile read per deal and builds no event.
+ * Readers of all the cards left or of the discard pile share a {@link DeckView} cached until those cards change.
+ *
+ * <p>Operations are timed with the shared {@link DeckMetrics}, which also separates the time spent waiting for
+ * the lock from the time it is held.
+ *
+ * <p>Shuffles draw a seed and permute the cards left, put back in canonical order first, with a versioned
+ * {@link ShuffleAlgorithm}. The deck keeps its {@link #history() history} as a {@link DeckCheckpoint checkpoint}
+ * taken at the last shuffle, which holds the cards and the seed rather than the order they were shuffled into,
+ * followed by the {@link DeckOperation operations} since; together they rebuild the deck. A deck that reaches
+ * {@link #MAX_HISTORY_SIZE} operations without a shuffle starts a new history from a checkpoint of the cards as
+ * they lie, so the history stays bounded on the heap, in spill images and in journal snapshots. A deck attached to a
+ * {@link JournalWriter journal} also appends every mutation to it and, once the lock is released, waits for the
+ * record to be {@link JournalWriter#awaitDurable() durable}; {@link #replay(JournalRecord)} rebuilds the deck
+ * from a {@link #writeImage(DataOutput) snapshot image} and the records written after it.
+ *
+ * <p>An idle deck can be {@link #retire(Supplier) retired} by the {@link DeckRegistry} to move it off the heap.
+ * Its state moves into an image, and callers still holding the instance are forwarded to the successor the
+ * registry rehydrates from that image.
+ */
 @Slf4j
 @Service
 @Scope("prototype")
 public class DeckService {
 
-    private final LinkedList<Card> deck = new LinkedList<>();
-    private final List<Card> discardPile = new ArrayList<>();
-    private final Set<Card> dealtCards = new HashSet<>();
+    /**
+     * Most operations a single {@link #batch(List) batch} may hold, which bounds how long it keeps the lock.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * Most operations a {@link #history() history} holds before the deck starts a new one from a checkpoint.
+     */
+    public static final int MAX_HISTORY_SIZE = 1024;
+
+    private static final int GENERATION_SHIFT = 32;
+    private static final long TOP_MASK = 0xFFFF_FFFFL;
+    private static final byte[] EMPTY = new byte[0];
+    private static final DeckEventListener[] NO_LISTENERS = new DeckEventListener[0];
+    // generation -1 with top 0, paired with the RETIRED snapshot so that lock-free readers see a consistent state
+    private static final long RETIRED_STATE = -1L << GENERATION_SHIFT;
+    private static final Snapshot RETIRED = new Snapshot(-1, EMPTY, 0);
+    private static final byte[][] CANONICAL_ORDERS = new byte[DeckProperties.MAX_DECKS + 1][];
+    // prefix of every entity tag, so that tags handed out before a restart never match the decks after it
+    private static final String ETAG_EPOCH = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    static {
+        for (int decks = 1; decks <= DeckProperties.MAX_DECKS; decks++) {
+            final byte[] order = new byte[decks * Card.DECK_SIZE];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = (byte) (i % Card.DECK_SIZE);
+            }
+            CANONICAL_ORDERS[decks] = order;
+        }
+    }
+
+    private final ShuffleEngine shuffleEngine;
+    private final DeckMetrics metrics;
+    private final byte[] canonicalOrder;
+    private final int cutCardReserve;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong state = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(0, EMPTY, 0);
+    private volatile DeckEventListener[] listeners = NO_LISTENERS;
+    // view of the cards left, valid while the state is unchanged, and of the discard pile, dropped when it changes
+    private volatile VersionedView deckView;
+    private volatile DeckView discardView;
+
+    // guarded by lock; counts fit in a byte because a shoe holds at most MAX_DECKS copies of a card
+    private final byte[] dealtCounts = new byte[Card.DECK_SIZE];
+    private final byte[] discardedCounts = new byte[Card.DECK_SIZE];
+    private int foldedTop;
+    private byte[] discardPile;
+    private int discardPileSize;
+    // number of discards and structural changes made so far, which orders them in the journal
+    private int sequence;
+    // state the history starts from, null for a newly built deck, and the operations since; deals are added
+    // lazily, up to the top index historyTop
+    private Checkpoint checkpoint;
+    private final List<DeckOperation> history = new ArrayList<>();
+    private int historyTop;
+
+    // set before the deck is shared
+    private JournalWriter journal;
+    private int journalHandle;
+    // journal records of a batch staged on a private copy of a journaled deck, appended once the batch commits
+    private List<JournalRecord> staged;
+
+    // set once the deck is retired; every operation is forwarded to the deck it returns
+    private volatile Supplier<DeckService> successor;
 
     public DeckService() {
+        this(DeckProperties.DEFAULTS);
+    }
+
+    public DeckService(DeckProperties properties) {
+        this(properties, DeckMetrics.NOOP);
+    }
+
+    @Autowired
+    public DeckService(DeckProperties properties, DeckMetrics metrics) {
+        this.metrics = metrics;
+        this.shuffleEngine = new ShuffleEngine(properties.shuffleRandom());
+        this.canonicalOrder = CANONICAL_ORDERS[properties.decks()];
+        this.cutCardReserve = (int) Math.floor(canonicalOrder.length * (1.0 - properties.penetration()));
+        this.discardPile = new byte[canonicalOrder.length];
         rebuildDeck();
     }
 
-    public synchronized CardResponse dealCard() {
-        checkDeckNotEmpty();
-        final Card card = deck.removeFirst();
-        dealtCards.add(card);
-        log.debug("Dealt card: {}", card);
+    /**
+     * Private copy of {@code parent}, with {@code top} cards dealt from its current snapshot, to stage a batch on.
+     * Must be called under the lock of {@code parent}.
+     */
+    private DeckService(DeckService parent, long current, int top) {
+        this.metrics = DeckMetrics.NOOP;
+        this.shuffleEngine = parent.shuffleEngine;
+        this.canonicalOrder = parent.canonicalOrder;
+        this.cutCardReserve = parent.cutCardReserve;
+        parent.foldDealt(parent.snapshot, top);
+        this.snapshot = parent.snapshot;
+        this.state.set(current);
+        System.arraycopy(parent.dealtCounts, 0, dealtCounts, 0, Card.DECK_SIZE);
+        System.arraycopy(parent.discardedCounts, 0, discardedCounts, 0, Card.DECK_SIZE);
+        this.foldedTop = top;
+        this.discardPile = Arrays.copyOf(parent.discardPile, parent.discardPile.length);
+        this.discardPileSize = parent.discardPileSize;
+        this.sequence = parent.sequence;
+        this.checkpoint = parent.checkpoint;
+        this.history.addAll(parent.history);
+        this.historyTop = parent.historyTop;
+        this.staged = parent.journal != null ? new ArrayList<>() : null;
+    }
+
+    public CardResponse dealCard() {
+        final long started = metrics.start();
+        while (true) {
+            final long current = state.get();
+            final Snapshot deck = snapshot;
+            if (deck.generation() != generation(current)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (deck == RETIRED) {
+                return successor.get().dealCard();
+            }
+            final int top = top(current);
+            checkDeckNotEmpty(deck, top);
+            if (state.compareAndSet(current, current + 1)) {
+                final CardResponse response = CardResponse.of(deck.card(top));
+                if (journal != null) {
+                    journal.appendDeal(journalHandle, generation(current), top + 1);
+                    journal.awaitDurable();
+                } else if (staged != null) {
+                    staged.add(new JournalRecord(JournalRecord.Type.DEAL, 0, 0, generation(current), top + 1, 0, 0, null));
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Dealt card: {}", response.card());
+                }
+                if (listeners.length != 0) {
+                    emit(new DeckEvent(DeckEventType.DEAL, List.of(response.card()), deck.size() - top - 1));
+                }
+                checkCutCard(deck.size() - top, 1);
+                metrics.recordOperation(Operation.DEAL, started);
+                return response;
+            }
+        }
+    }
 
-        return CardResponse.builder().card(card).build();
+    /**
+     * Deals {@code count} cards from the top of the deck in one atomic step.
+     */
+    public List<Card> dealCards(int count) {
+        final byte[] dealt = take(count);
+        if (log.isDebugEnabled()) {
+            log.debug("Dealt {} cards", count);
+        }
+        return toCards(dealt, 0, dealt.length);
     }
 
+    /**
+     * Deals {@code cardsPerPlayer} cards to each of {@code players} hands in one atomic step, one card at a
+     * time round-robin like a dealer at the table.
+     */
+    public List<List<Card>> dealHands(int players, int cardsPerPlayer) {
+        if (players < 1 || cardsPerPlayer < 1) {
+            throw new IllegalArgumentException("Players and cards per player must be at least 1");
+        }
+        final byte[] dealt = take(Math.multiplyExact(players, cardsPerPlayer));
+        final List<List<Card>> hands = new ArrayList<>(players);
+        for (int player = 0; player < players; player++) {
+            final List<Card> hand = new ArrayList<>(cardsPerPlayer);
+            for (int round = 0; round < cardsPerPlayer; round++) {
+                hand.add(Card.of(dealt[round * players + player]));
+            }
+            hands.add(hand);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Dealt {} hands of {} cards", players, cardsPerPlayer);
+        }
+        return hands;
+    }
 
-    public synchronized void discardCard(Card card) {
-        if (discardPile.contains(card)) {
-            throw new IllegalArgumentException("Card has already been discarded: " + card);
+    public void discardCard(Card card) {
+        checkCard(card);
+        final int ordinal = card.ordinal();
+        final long started = metrics.start();
+        final long acquired = lock(Operation.DISCARD, started);
+        try {
+            if (snapshot == RETIRED) {
+                successor.get().discardCard(card);
+                return;
+            }
+            final int top = Math.min(top(state.get()), snapshot.size());
+            foldDealt(snapshot, top);
+            if (dealtCounts[ordinal] == discardedCounts[ordinal]) {
+                if (discardedCounts[ordinal] > 0) {
+                    throw CardAlreadyDiscardedException.of(card);
+                }
+                throw CardNotDealtException.of(card);
+            }
+            discardedCounts[ordinal]++;
+            if (discardPileSize == discardPile.length) {
+                discardPile = Arrays.copyOf(discardPile, discardPileSize * 2);
+            }
+            discardPile[discardPileSize++] = (byte) ordinal;
+            discardView = null;
+            sequence++;
+            addHistory(DeckOperation.discard(card), top);
+            checkHistorySize(top);
+            if (journal != null) {
+                journal.appendDiscard(journalHandle, sequence, ordinal);
+            } else if (staged != null) {
+                staged.add(new JournalRecord(JournalRecord.Type.DISCARD, 0, sequence, 0, 0, ordinal, 0, null));
+            }
+            if (listeners.length != 0) {
+                emit(new DeckEvent(DeckEventType.DISCARD, List.of(card), size()));
+            }
+        } finally {
+            unlock(Operation.DISCARD, acquired);
         }
-        if (!dealtCards.contains(card)) {
-            throw new IllegalArgumentException("Cannot discard card that was not dealt: " + card);
+        if (journal != null) {
+            journal.awaitDurable();
         }
-        dealtCards.remove(card);
-        discardPile.add(card);
+        metrics.recordOperation(Operation.DISCARD, started);
         log.debug("Card discarded: {}", card);
     }
 
-    public synchronized void shuffleDeck() {
-        checkDeckNotEmpty();
-        Collections.shuffle(deck);
+    public void shuffleDeck() {
+        final long started = metrics.start();
+        shuffleDeck(shuffleEngine.nextSeed(), ShuffleAlgorithm.CURRENT);
+        metrics.recordOperation(Operation.SHUFFLE, started);
+    }
+
+    private void shuffleDeck(long seed, ShuffleAlgorithm algorithm) {
+        final boolean published = publish(DeckOperation.shuffle(DeckEventType.SHUFFLE, seed, algorithm.version()),
+                (deck, top, generation) -> {
+                    final byte[] remaining = deck.copy(top, deck.size());
+                    checkDeckNotEmpty(remaining);
+                    // from canonical order, so that the cards and the seed are enough to repeat the shuffle
+                    Arrays.sort(remaining);
+                    algorithm.shuffle(remaining, seed);
+                    return new Snapshot(generation, remaining, 0);
+                });
+        if (!published) {
+            successor.get().shuffleDeck(seed, algorithm);
+            return;
+        }
         log.debug("Deck shuffled");
     }
 
-    public synchronized void cutDeck(int index) {
-        checkDeckNotEmpty();
-        List<Card> bottomSplit = List.copyOf(deck.subList(index, deck.size()));
-        List<Card> topSplit = List.copyOf(deck.subList(0, index));
-        deck.clear();
-        deck.addAll(bottomSplit);
-        deck.addAll(topSplit);
+    public void cutDeck(int index) {
+        final long started = metrics.start();
+        final boolean published = publish(DeckOperation.cut(index), (deck, top, generation) -> {
+            final int left = deck.size() - top;
+            if (left == 0) {
+                throw DeckEmptyException.INSTANCE;
+            }
+            if (index < 0) {
+                throw new IllegalArgumentException("Cannot cut the deck at negative index " + index);
+            }
+            if (index > left) {
+                throw new IllegalArgumentException("Cannot cut the deck at index " + index + ", only "
+                        + left + " cards left");
+            }
+            if (top == 0) {
+                return new Snapshot(generation, deck.cards(), deck.physical(index));
+            }
+            final byte[] cut = new byte[left];
+            deck.copyTo(top + index, deck.size(), cut, 0);
+            deck.copyTo(top, top + index, cut, left - index);
+            return new Snapshot(generation, cut, 0);
+        });
+        if (!published) {
+            successor.get().cutDeck(index);
+            return;
+        }
+        metrics.recordOperation(Operation.CUT, started);
         log.debug("Deck cut at index: {}", index);
     }
 
-    public synchronized void orderDeck() {
-        checkDeckNotEmpty();
-        deck.sort(defaultComparator());
+    public void orderDeck() {
+        final long started = metrics.start();
+        final boolean published = publish(DeckOperation.of(DeckEventType.ORDER), (deck, top, generation) -> {
+            final byte[] remaining = deck.copy(top, deck.size());
+            checkDeckNotEmpty(remaining);
+            Arrays.sort(remaining);
+            return new Snapshot(generation, remaining, 0);
+        });
+        if (!published) {
+            successor.get().orderDeck();
+            return;
+        }
+        metrics.recordOperation(Operation.ORDER, started);
         log.debug("Deck ordered in default sequence");
     }
 
-    public synchronized void rebuildDeck() {
-        deck.clear();
-        discardPile.clear();
-        Arrays.stream(Card.Suit.values())
-                .flatMap(suit -> Arrays.stream(Card.Rank.values())
-                        .map(rank -> new Card(suit, rank)))
-                .forEach(deck::add);
-        orderDeck();
-        log.debug("Deck rebuilt and ordered with all 52 cards");
+    public void rebuildDeck() {
+        final long started = metrics.start();
+        final long acquired = lock(Operation.REBUILD, started);
+        try {
+            if (!publish(DeckOperation.of(DeckEventType.REBUILD),
+                    (deck, top, generation) -> new Snapshot(generation, canonicalOrder, 0))) {
+                successor.get().rebuildDeck();
+                return;
+            }
+            Arrays.fill(dealtCounts, (byte) 0);
+            Arrays.fill(discardedCounts, (byte) 0);
+            discardPileSize = 0;
+            discardView = null;
+            startHistory(null, 0);
+        } finally {
+            unlock(Operation.REBUILD, acquired);
+        }
+        metrics.recordOperation(Operation.REBUILD, started);
+        log.debug("Deck rebuilt and ordered with all {} cards", canonicalOrder.length);
+    }
+
+    public Card cheat() {
+        final long started = metrics.start();
+        while (true) {
+            final long current = state.get();
+            final Snapshot deck = snapshot;
+            if (deck == RETIRED) {
+                return successor.get().cheat();
+            }
+            if (deck.generation() == generation(current)) {
+                final int top = top(current);
+                checkDeckNotEmpty(deck, top);
+                final Card peek = Card.of(deck.card(top));
+                if (log.isDebugEnabled()) {
+                    log.debug("Cheat peek at card: {}", peek);
+                }
+                metrics.recordOperation(Operation.CHEAT, started);
+                return peek;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public List<Card> getDeck() {
+        while (true) {
+            final long current = state.get();
+            final Snapshot deck = snapshot;
+            if (deck == RETIRED) {
+                return successor.get().getDeck();
+            }
+            if (deck.generation() == generation(current)) {
+                final byte[] remaining = deck.copy(Math.min(top(current), deck.size()), deck.size());
+                return toCards(remaining, 0, remaining.length);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns the cards left in the deck as a view that is built once per version of the deck and then shared,
+     * without taking the lock, by every reader until the next deal or structural change.
+     */
+    public DeckView deckView() {
+        while (true) {
+            final long current = state.get();
+            final Snapshot deck = snapshot;
+            if (deck == RETIRED) {
+                return successor.get().deckView();
+            }
+            if (deck.generation() == generation(current)) {
+                final VersionedView cached = deckView;
+                if (cached != null && cached.version() == current) {
+                    return cached.view();
+                }
+                final byte[] remaining = deck.copy(Math.min(top(current), deck.size()), deck.size());
+                final DeckView view = new DeckView(etag(current),
+                        List.copyOf(toCards(remaining, 0, remaining.length)));
+                deckView = new VersionedView(current, view);
+                return view;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns the discard pile as a view that is built once per change of the pile and then shared, without
+     * taking the lock, by every reader until the next discard, reshuffle or rebuild.
+     */
+    public DeckView discardView() {
+        if (snapshot == RETIRED) {
+            return successor.get().discardView();
+        }
+        final DeckView cached = discardView;
+        if (cached != null) {
+            return cached;
+        }
+        lock.lock();
+        try {
+            if (snapshot == RETIRED) {
+                return successor.get().discardView();
+            }
+            if (discardView == null) {
+                discardView = new DeckView(etag(sequence), List.copyOf(toCards(discardPile, 0, discardPileSize)));
+            }
+            return discardView;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of cards left in the deck.
+     */
+    public int size() {
+        while (true) {
+            final long current = state.get();
+            final Snapshot deck = snapshot;
+            if (deck == RETIRED) {
+                return successor.get().size();
+            }
+            if (deck.generation() == generation(current)) {
+                return Math.max(0, deck.size() - top(current));
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public List<Card> getDiscardPile() {
+        lock.lock();
+        try {
+            if (snapshot == RETIRED) {
+                return successor.get().getDiscardPile();
+            }
+            return toCards(discardPile, 0, discardPileSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the cards left in the deck. Meant for tests; the change is neither journaled nor kept in the
+     * history.
+     */
+    public void setDeck(List<Card> cards) {
+        final byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        if (!publish(null, (deck, top, generation) -> new Snapshot(generation, ordinals, 0))) {
+            successor.get().setDeck(cards);
+        }
     }
 
-    public synchronized Card cheat() {
-        if (deck.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No cards left in the deck");
+    /**
+     * Returns the checkpoint taken at the last shuffle, if any, and the operations since, at most
+     * {@link #MAX_HISTORY_SIZE} of them. {@link #restore(DeckCheckpoint) Restoring} the checkpoint on a new deck
+     * of the same number of {@link #decks() decks} and applying the operations in order reproduces this one.
+     */
+    public DeckHistoryResponse history() {
+        lock.lock();
+        try {
+            if (snapshot == RETIRED) {
+                return successor.get().history();
+            }
+            final List<DeckOperation> operations = new ArrayList<>(history.size() + 1);
+            operations.addAll(history);
+            final int top = Math.min(top(state.get()), snapshot.size());
+            if (top > historyTop) {
+                operations.add(DeckOperation.deal(top - historyTop));
+            }
+            return DeckHistoryResponse.builder()
+                    .decks(decks())
+                    .checkpoint(checkpoint != null ? checkpoint.toModel() : null)
+                    .operations(operations)
+                    .build();
+        } finally {
+            lock.unlock();
         }
-        Card peek = deck.peekFirst();
-        log.debug("Cheat peek at card: {}", peek);
-        return peek;
     }
 
-    public synchronized List<Card> getDeck() {
-        return new ArrayList<>(deck);
+    /**
+     * Replaces the state of the deck with {@code checkpoint} and starts a new history from it, to replay a
+     * history on. The change is not journaled.
+     */
+    public void restore(DeckCheckpoint checkpoint) {
+        if (checkpoint.cards() == null || checkpoint.discardPile() == null) {
+            throw new IllegalArgumentException("A checkpoint needs its cards and its discard pile");
+        }
+        final byte[] cards = ordinals(checkpoint.cards());
+        final byte[] pile = ordinals(checkpoint.discardPile());
+        final int[] left = new int[Card.DECK_SIZE];
+        final int[] discarded = new int[Card.DECK_SIZE];
+        for (byte card : cards) {
+            left[card]++;
+        }
+        for (byte card : pile) {
+            discarded[card]++;
+        }
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            if (left[ordinal] + discarded[ordinal] > decks()) {
+                throw new IllegalArgumentException("A checkpoint cannot hold more than " + decks() + " of "
+                        + Card.of(ordinal));
+            }
+        }
+        final byte[] order;
+        if (checkpoint.seed() != null) {
+            if (checkpoint.algorithm() == null) {
+                throw new IllegalArgumentException("A shuffled checkpoint needs its algorithm");
+            }
+            final ShuffleAlgorithm algorithm = ShuffleAlgorithm.of(checkpoint.algorithm());
+            Arrays.sort(cards);
+            order = cards.clone();
+            algorithm.shuffle(order, checkpoint.seed());
+        } else {
+            order = cards;
+        }
+        lock.lock();
+        try {
+            if (!publish(null, (deck, top, generation) -> new Snapshot(generation, order, 0))) {
+                successor.get().restore(checkpoint);
+                return;
+            }
+            for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+                dealtCounts[ordinal] = (byte) (decks() - left[ordinal]);
+                discardedCounts[ordinal] = (byte) discarded[ordinal];
+            }
+            discardPile = Arrays.copyOf(pile, canonicalOrder.length);
+            discardPileSize = pile.length;
+            discardView = null;
+            startHistory(new Checkpoint(cards, pile, checkpoint.seed(),
+                    checkpoint.seed() != null ? checkpoint.algorithm() : 0), 0);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized List<Card> getDiscardPile() {
-        return new ArrayList<>(discardPile);
+    public int decks() {
+        return canonicalOrder.length / Card.DECK_SIZE;
     }
 
-    private synchronized Comparator<Card> defaultComparator() {
-        return Comparator
-                .comparing((Card c) -> c.suit().ordinal())
-                .thenComparing(c -> c.rank().ordinal());
+    /**
+     * Applies one {@link #history() history} operation and returns the cards it dealt, if any. Shuffles use
+     * the recorded seed and algorithm, and reaching the cut card does not reshuffle the shoe by itself, as the
+     * reshuffle is an operation of its own.
+     */
+    public List<Card> apply(DeckOperation operation) {
+        validate(operation);
+        switch (operation.type()) {
+            case DEAL -> {
+                return toCards(deal(require(operation.count(), "count")), 0, operation.count());
+            }
+            case DISCARD -> discardCard(require(operation.card(), "card"));
+            case SHUFFLE -> shuffleDeck(require(operation.seed(), "seed"),
+                    ShuffleAlgorithm.of(require(operation.algorithm(), "algorithm")));
+            case RESHUFFLE -> reshuffleShoe(require(operation.seed(), "seed"),
+                    ShuffleAlgorithm.of(require(operation.algorithm(), "algorithm")));
+            case CUT -> cutDeck(require(operation.index(), "index"));
+            case ORDER -> orderDeck();
+            case REBUILD -> rebuildDeck();
+            default -> throw new IllegalArgumentException("Not a deck operation: " + operation.type());
+        }
+        return List.of();
     }
 
-    public synchronized void setDeck(List<Card> cards) {
-        this.deck.clear();
-        this.deck.addAll(cards);
+    /**
+     * Runs {@code operations} as one atomic step and returns what each of them dealt, in order; steps that deal
+     * nothing return an empty list. Either every operation is applied or, when one fails, none is.
+     *
+     * <p>Deals, discards, cuts, order and rebuild take the same arguments as in the {@link #history() history}.
+     * A shuffle draws a new seed unless one is given, and deals reshuffle the shoe at the cut card like any
+     * other deal. The batch takes the lock once and stages the operations on a private copy of the deck, which
+     * it then publishes with a single compare-and-set, so no concurrent deal ever sees it half applied. The
+     * journal records and events of the batch are only written once it is published.
+     */
+    public List<List<Card>> batch(List<DeckOperation> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must hold between 1 and " + MAX_BATCH_SIZE + " operations");
+        }
+        // the same checks as the single-operation endpoints, before anything is staged
+        operations.forEach(DeckService::validate);
+        final long started = metrics.start();
+        final long acquired = lock(Operation.BATCH, started);
+        boolean journaled = false;
+        try {
+            while (true) {
+                final long current = state.get();
+                final Snapshot deck = snapshot;
+                if (deck == RETIRED) {
+                    return successor.get().batch(operations);
+                }
+                final DeckService copy = new DeckService(this, current, Math.min(top(current), deck.size()));
+                final List<DeckEvent> events = new ArrayList<>();
+                if (listeners.length != 0) {
+                    copy.listeners = new DeckEventListener[]{events::add};
+                }
+                final List<List<Card>> results = new ArrayList<>(operations.size());
+                for (DeckOperation operation : operations) {
+                    results.add(copy.step(operation));
+                }
+                if (commit(current, copy)) {
+                    if (journal != null) {
+                        for (JournalRecord record : copy.staged) {
+                            append(record);
+                        }
+                        journaled = true;
+                    }
+                    events.forEach(this::emit);
+                    metrics.recordOperation(Operation.BATCH, started);
+                    log.debug("Applied a batch of {} operations", operations.size());
+                    return results;
+                }
+                // a deal won the race against the batch; stage it again from the new top
+            }
+        } finally {
+            unlock(Operation.BATCH, acquired);
+            if (journaled) {
+                journal.awaitDurable();
+            }
+        }
     }
 
-    private void checkDeckNotEmpty() {
-        if (deck == null || deck.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No cards left in the deck");
+    public void addListener(DeckEventListener listener) {
+        lock.lock();
+        try {
+            if (snapshot == RETIRED) {
+                successor.get().addListener(listener);
+                return;
+            }
+            final DeckEventListener[] current = listeners;
+            final DeckEventListener[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = listener;
+            listeners = next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeListener(DeckEventListener listener) {
+        lock.lock();
+        try {
+            if (snapshot == RETIRED) {
+                try {
+                    successor.get().removeListener(listener);
+                } catch (ResponseStatusException ex) {
+                    // the successor was evicted as well, and its listeners dropped with it
+                }
+                return;
+            }
+            final DeckEventListener[] current = listeners;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    final DeckEventListener[] next = new DeckEventListener[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, next.length - i);
+                    listeners = next;
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journals every later mutation of this deck to {@code journal} under {@code handle}. Must be called before
+     * the deck is shared between threads.
+     */
+    public void attachJournal(JournalWriter journal, int handle) {
+        this.journal = journal;
+        this.journalHandle = handle;
+    }
+
+    public int journalHandle() {
+        return journalHandle;
+    }
+
+    /**
+     * Applies a journaled mutation during recovery. Records already reflected in the deck, because they were
+     * written while its snapshot image was taken, are skipped: deals only ever move the top index forward and
+     * discards and structural changes carry the deck's sequence number.
+     */
+    public void replay(JournalRecord record) {
+        lock.lock();
+        try {
+            switch (record.type()) {
+                case DEAL -> advance(record.generation(), record.top());
+                case DISCARD -> {
+                    if (record.sequence() > sequence) {
+                        discardCard(Card.of((int) record.argument()));
+                        sequence = record.sequence();
+                    }
+                }
+                case SHUFFLE, CUT, ORDER, REBUILD, RESHUFFLE -> {
+                    if (record.sequence() <= sequence) {
+                        return;
+                    }
+                    advance(record.generation() - 1, record.top());
+                    switch (record.type()) {
+                        case SHUFFLE -> shuffleDeck(record.argument(), ShuffleAlgorithm.of(record.algorithm()));
+                        case CUT -> cutDeck((int) record.argument());
+                        case ORDER -> orderDeck();
+                        case REBUILD -> rebuildDeck();
+                        default -> reshuffleShoe(record.argument(), ShuffleAlgorithm.of(record.algorithm()));
+                    }
+                    sequence = record.sequence();
+                }
+                default -> throw new IllegalArgumentException("Not a deck mutation: " + record.type());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the complete state of the deck, consistent as of one instant, for {@link #readImage(DataInput)}.
+     * Returns {@code false}, writing nothing, when the deck has been retired; its image was then taken by
+     * {@link #retire(Supplier)}.
+     */
+    public boolean writeImage(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            final Snapshot deck = snapshot;
+            if (deck == RETIRED) {
+                return false;
+            }
+            writeImage(out, deck, Math.min(top(state.get()), deck.size()));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restores the state written by {@link #writeImage(DataOutput)}, replacing the current one.
+     */
+    public void readImage(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            sequence = in.readInt();
+            final int generation = in.readInt();
+            final int top = in.readInt();
+            final byte[] cards = new byte[in.readUnsignedShort()];
+            in.readFully(cards);
+            snapshot = new Snapshot(generation, cards, 0);
+            state.set((long) generation << GENERATION_SHIFT | top);
+            in.readFully(dealtCounts);
+            foldedTop = top;
+            discardPileSize = in.readUnsignedShort();
+            if (discardPile.length < discardPileSize) {
+                discardPile = new byte[discardPileSize];
+            }
+            in.readFully(discardPile, 0, discardPileSize);
+            Arrays.fill(discardedCounts, (byte) 0);
+            for (int i = 0; i < discardPileSize; i++) {
+                discardedCounts[discardPile[i]]++;
+            }
+            deckView = null;
+            discardView = null;
+            historyTop = in.readInt();
+            history.clear();
+            for (int i = in.readInt(); i > 0; i--) {
+                final DeckEventType type = DeckEventType.values()[in.readUnsignedByte()];
+                history.add(switch (type) {
+                    case DEAL -> DeckOperation.deal(in.readInt());
+                    case DISCARD -> DeckOperation.discard(Card.of(in.readUnsignedByte()));
+                    case SHUFFLE, RESHUFFLE -> DeckOperation.shuffle(type, in.readLong(), in.readUnsignedByte());
+                    case CUT -> DeckOperation.cut(in.readInt());
+                    default -> DeckOperation.of(type);
+                });
+            }
+            checkpoint = null;
+            if (in.readBoolean()) {
+                final byte[] checkpointCards = new byte[in.readUnsignedShort()];
+                in.readFully(checkpointCards);
+                final byte[] checkpointPile = new byte[in.readUnsignedShort()];
+                in.readFully(checkpointPile);
+                checkpoint = in.readBoolean()
+                        ? new Checkpoint(checkpointCards, checkpointPile, in.readLong(), in.readUnsignedByte())
+                        : new Checkpoint(checkpointCards, checkpointPile, null, 0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retires the deck and returns its image. The deck stops changing at once: deals in flight either finish
+     * before the image is taken or fail and retry, and every later call on this instance is forwarded to
+     * {@code successor}, which is expected to have been rehydrated from the image.
+     */
+    byte[] retire(Supplier<DeckService> successor) {
+        lock.lock();
+        try {
+            this.successor = successor;
+            while (true) {
+                final long current = state.get();
+                final Snapshot previous = snapshot;
+                final int top = Math.min(top(current), previous.size());
+                snapshot = RETIRED;
+                if (state.compareAndSet(current, RETIRED_STATE)) {
+                    final ByteArrayOutputStream image = new ByteArrayOutputStream(256);
+                    writeImage(new DataOutputStream(image), previous, top);
+                    return image.toByteArray();
+                }
+                snapshot = previous;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    DeckEventListener[] listeners() {
+        return listeners;
+    }
+
+    /**
+     * Sends a final {@link DeckEventType#CLOSED} event and drops all listeners, for a deck taken out of service.
+     */
+    public void closeEvents() {
+        lock.lock();
+        try {
+            emit(DeckEvent.of(DeckEventType.CLOSED, size()));
+            listeners = NO_LISTENERS;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes {@code count} cards from the top of the current snapshot with a single compare-and-set.
+     */
+    private byte[] take(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Number of cards to deal must be at least 1");
+        }
+        final long started = metrics.start();
+        while (true) {
+            final long current = state.get();
+            final Snapshot deck = snapshot;
+            if (deck.generation() != generation(current)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (deck == RETIRED) {
+                return successor.get().take(count);
+            }
+            final int top = top(current);
+            checkDeckNotEmpty(deck, top);
+            final int left = deck.size() - top;
+            if (count > left) {
+                throw NotEnoughCardsException.INSTANCE;
+            }
+            if (state.compareAndSet(current, current + count)) {
+                final byte[] dealt = deck.copy(top, top + count);
+                if (journal != null) {
+                    journal.appendDeal(journalHandle, generation(current), top + count);
+                    journal.awaitDurable();
+                } else if (staged != null) {
+                    staged.add(new JournalRecord(JournalRecord.Type.DEAL, 0, 0, generation(current), top + count, 0, 0,
+                            null));
+                }
+                if (listeners.length != 0) {
+                    emit(new DeckEvent(DeckEventType.DEAL, toCards(dealt, 0, count), left - count));
+                }
+                checkCutCard(left, count);
+                metrics.recordOperation(Operation.DEAL, started);
+                return dealt;
+            }
+        }
+    }
+
+    /**
+     * Deals {@code count} cards under the lock, without looking for the cut card.
+     */
+    private byte[] deal(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Number of cards to deal must be at least 1");
+        }
+        lock.lock();
+        boolean journaled = false;
+        try {
+            if (snapshot == RETIRED) {
+                return successor.get().deal(count);
+            }
+            while (true) {
+                final long current = state.get();
+                final Snapshot deck = snapshot;
+                final int top = top(current);
+                checkDeckNotEmpty(deck, top);
+                final int left = deck.size() - top;
+                if (count > left) {
+                    throw NotEnoughCardsException.INSTANCE;
+                }
+                if (state.compareAndSet(current, current + count)) {
+                    final byte[] dealt = deck.copy(top, top + count);
+                    if (journal != null) {
+                        journal.appendDeal(journalHandle, generation(current), top + count);
+                        journaled = true;
+                    }
+                    if (listeners.length != 0) {
+                        emit(new DeckEvent(DeckEventType.DEAL, toCards(dealt, 0, count), left - count));
+                    }
+                    return dealt;
+                }
+            }
+        } finally {
+            lock.unlock();
+            if (journaled) {
+                journal.awaitDurable();
+            }
+        }
+    }
+
+    /**
+     * Applies one operation of a {@link #batch(List) batch} and returns the cards it dealt.
+     */
+    private List<Card> step(DeckOperation operation) {
+        switch (operation.type()) {
+            case DEAL -> {
+                return dealCards(require(operation.count(), "count"));
+            }
+            case DISCARD -> discardCard(require(operation.card(), "card"));
+            case SHUFFLE -> {
+                if (operation.seed() == null) {
+                    shuffleDeck();
+                } else {
+                    shuffleDeck(operation.seed(), operation.algorithm() != null
+                            ? ShuffleAlgorithm.of(operation.algorithm())
+                            : ShuffleAlgorithm.CURRENT);
+                }
+            }
+            case CUT -> cutDeck(require(operation.index(), "index"));
+            case ORDER -> orderDeck();
+            case REBUILD -> rebuildDeck();
+            default -> throw new IllegalArgumentException("Not a batch operation: " + operation.type());
+        }
+        return List.of();
+    }
+
+    /**
+     * Publishes the state of {@code copy}, staged from the state {@code current}, in a single compare-and-set.
+     * Returns {@code false}, changing nothing, when a deal moved the state on in the meantime.
+     */
+    private boolean commit(long current, DeckService copy) {
+        final Snapshot previous = snapshot;
+        // the copy shares the snapshot of a generation it did not restructure, so readers never see a mismatch
+        snapshot = copy.snapshot;
+        if (!state.compareAndSet(current, copy.state.get())) {
+            snapshot = previous;
+            return false;
+        }
+        System.arraycopy(copy.dealtCounts, 0, dealtCounts, 0, Card.DECK_SIZE);
+        System.arraycopy(copy.discardedCounts, 0, discardedCounts, 0, Card.DECK_SIZE);
+        foldedTop = copy.foldedTop;
+        discardPile = copy.discardPile;
+        discardPileSize = copy.discardPileSize;
+        discardView = null;
+        sequence = copy.sequence;
+        checkpoint = copy.checkpoint;
+        history.clear();
+        history.addAll(copy.history);
+        historyTop = copy.historyTop;
+        return true;
+    }
+
+    private void append(JournalRecord record) {
+        switch (record.type()) {
+            case DEAL -> journal.appendDeal(journalHandle, record.generation(), record.top());
+            case DISCARD -> journal.appendDiscard(journalHandle, record.sequence(), (int) record.argument());
+            default -> journal.appendStructural(record.type(), journalHandle, record.sequence(), record.generation(),
+                    record.top(), record.argument(), record.algorithm());
+        }
+    }
+
+    /**
+     * Reshuffles the shoe when a deal of {@code count} cards, starting with {@code left} cards in the shoe,
+     * brought out the cut card.
+     */
+    private void checkCutCard(int left, int count) {
+        if (cutCardReserve > 0 && left > cutCardReserve && left - count <= cutCardReserve) {
+            reshuffleShoe();
+        }
+    }
+
+    /**
+     * Shuffles the discard pile back into the shoe together with the cards left; cards in play stay dealt.
+     */
+    private void reshuffleShoe() {
+        reshuffleShoe(shuffleEngine.nextSeed(), ShuffleAlgorithm.CURRENT);
+    }
+
+    private void reshuffleShoe(long seed, ShuffleAlgorithm algorithm) {
+        final long started = metrics.start();
+        final long acquired = lock(Operation.RESHUFFLE, started);
+        try {
+            final boolean published = publish(DeckOperation.shuffle(DeckEventType.RESHUFFLE, seed, algorithm.version()),
+                    (deck, top, generation) -> {
+                        final int left = deck.size() - top;
+                        final byte[] cards = new byte[left + discardPileSize];
+                        deck.copyTo(top, deck.size(), cards, 0);
+                        System.arraycopy(discardPile, 0, cards, left, discardPileSize);
+                        Arrays.sort(cards);
+                        algorithm.shuffle(cards, seed);
+                        return new Snapshot(generation, cards, 0);
+                    });
+            if (!published) {
+                successor.get().reshuffleShoe(seed, algorithm);
+                return;
+            }
+            for (int i = 0; i < Card.DECK_SIZE; i++) {
+                dealtCounts[i] -= discardedCounts[i];
+            }
+            Arrays.fill(discardedCounts, (byte) 0);
+            discardPileSize = 0;
+            discardView = null;
+        } finally {
+            unlock(Operation.RESHUFFLE, acquired);
+        }
+        metrics.recordOperation(Operation.RESHUFFLE, started);
+        log.debug("Cut card reached, shoe reshuffled");
+    }
+
+    /**
+     * Publishes the snapshot produced by {@code restructure} as the next generation. Cards already dealt
+     * from the current snapshot are folded into {@link #dealtCounts} once the new generation is live, and
+     * the change is added to the history, journaled and reported to listeners as {@code operation}, unless
+     * that is {@code null}. Returns {@code false}, changing nothing, when the deck has been retired.
+     */
+    private boolean publish(DeckOperation operation, Restructure restructure) {
+        // lock times are recorded once, by the outermost locked operation
+        final Operation timed = operation != null && !lock.isHeldByCurrentThread()
+                ? Operation.of(operation.type())
+                : null;
+        final long acquired;
+        if (timed != null) {
+            acquired = lock(timed, metrics.start());
+        } else {
+            lock.lock();
+            acquired = 0L;
+        }
+        boolean journaled = false;
+        try {
+            while (true) {
+                final long current = state.get();
+                final Snapshot previous = snapshot;
+                if (previous == RETIRED) {
+                    return false;
+                }
+                final int top = Math.min(top(current), previous.size());
+                final int generation = generation(current) + 1;
+                snapshot = restructure.apply(previous, top, generation);
+                if (state.compareAndSet(current, (long) generation << GENERATION_SHIFT)) {
+                    foldDealt(previous, top);
+                    foldedTop = 0;
+                    sequence++;
+                    if (operation == null) {
+                        return true;
+                    }
+                    if (operation.type() == DeckEventType.SHUFFLE || operation.type() == DeckEventType.RESHUFFLE) {
+                        // a reshuffle takes the discard pile back into the cards
+                        startHistory(new Checkpoint(canonical(snapshot),
+                                operation.type() == DeckEventType.RESHUFFLE
+                                        ? EMPTY
+                                        : Arrays.copyOf(discardPile, discardPileSize),
+                                operation.seed(), operation.algorithm()), 0);
+                    } else {
+                        addHistory(operation, top);
+                        historyTop = 0;
+                        checkHistorySize(0);
+                    }
+                    if (journal != null) {
+                        journal.appendStructural(JournalRecord.Type.of(operation.type()), journalHandle, sequence,
+                                generation, top, argument(operation), algorithm(operation));
+                        journaled = true;
+                    } else if (staged != null) {
+                        staged.add(new JournalRecord(JournalRecord.Type.of(operation.type()), 0, sequence, generation,
+                                top, argument(operation), algorithm(operation), null));
+                    }
+                    if (listeners.length != 0) {
+                        emit(DeckEvent.of(operation.type(), snapshot.size()));
+                    }
+                    return true;
+                }
+                // a deal won the race against this publish; restore and retry from the new top
+                snapshot = previous;
+            }
+        } finally {
+            if (timed != null) {
+                unlock(timed, acquired);
+            } else {
+                lock.unlock();
+            }
+            if (journaled) {
+                journal.awaitDurable();
+            }
+        }
+    }
+
+    /**
+     * Takes the lock for an operation, recording how long it waited; returns when the lock was acquired.
+     */
+    private long lock(Operation operation, long requested) {
+        lock.lock();
+        return metrics.recordLockWait(operation, requested);
+    }
+
+    private void unlock(Operation operation, long acquired) {
+        final long released = metrics.start();
+        lock.unlock();
+        metrics.recordLockHold(operation, acquired, released);
+    }
+
+    /**
+     * Counts the cards dealt from {@code deck} since the last fold. Every dealt card is folded exactly once,
+     * so keeping the counts current costs constant amortized time per card.
+     */
+    private void foldDealt(Snapshot deck, int top) {
+        for (int i = foldedTop; i < top; i++) {
+            dealtCounts[deck.card(i)]++;
+        }
+        foldedTop = top;
+    }
+
+    /**
+     * Moves the top index of {@code generation} forward to {@code top}, if the deck is still at that generation.
+     */
+    private void advance(int generation, int top) {
+        final long current = state.get();
+        if (generation(current) == generation && top(current) < top) {
+            state.set((long) generation << GENERATION_SHIFT | top);
+        }
+    }
+
+    private void writeImage(DataOutput out, Snapshot deck, int top) throws IOException {
+        foldDealt(deck, top);
+        out.writeInt(sequence);
+        out.writeInt(deck.generation());
+        out.writeInt(top);
+        out.writeShort(deck.size());
+        out.write(deck.copy(0, deck.size()));
+        out.write(dealtCounts);
+        out.writeShort(discardPileSize);
+        out.write(discardPile, 0, discardPileSize);
+        out.writeInt(historyTop);
+        out.writeInt(history.size());
+        for (DeckOperation operation : history) {
+            out.writeByte(operation.type().ordinal());
+            switch (operation.type()) {
+                case DEAL -> out.writeInt(operation.count());
+                case DISCARD -> out.writeByte(operation.card().ordinal());
+                case SHUFFLE, RESHUFFLE -> {
+                    out.writeLong(operation.seed());
+                    out.writeByte(operation.algorithm());
+                }
+                case CUT -> out.writeInt(operation.index());
+                default -> {
+                }
+            }
+        }
+        out.writeBoolean(checkpoint != null);
+        if (checkpoint != null) {
+            out.writeShort(checkpoint.cards().length);
+            out.write(checkpoint.cards());
+            out.writeShort(checkpoint.discardPile().length);
+            out.write(checkpoint.discardPile());
+            out.writeBoolean(checkpoint.seed() != null);
+            if (checkpoint.seed() != null) {
+                out.writeLong(checkpoint.seed());
+                out.writeByte(checkpoint.algorithm());
+            }
+        }
+    }
+
+    /**
+     * Adds {@code operation}, made when {@code top} cards of the current generation were dealt, to the history,
+     * preceded by the deals since the previous entry.
+     */
+    private void addHistory(DeckOperation operation, int top) {
+        if (top > historyTop) {
+            history.add(DeckOperation.deal(top - historyTop));
+            historyTop = top;
+        }
+        history.add(operation);
+    }
+
+    /**
+     * Starts a new history from the cards as they lie once the history is full, so that it stays bounded however
+     * long the deck goes without a shuffle. {@code top} cards of the current snapshot are dealt.
+     */
+    private void checkHistorySize(int top) {
+        if (history.size() >= MAX_HISTORY_SIZE - 1) {
+            startHistory(new Checkpoint(snapshot.copy(top, snapshot.size()),
+                    Arrays.copyOf(discardPile, discardPileSize), null, 0), top);
+        }
+    }
+
+    private void startHistory(Checkpoint checkpoint, int top) {
+        this.checkpoint = checkpoint;
+        history.clear();
+        historyTop = top;
+    }
+
+    private static byte[] canonical(Snapshot deck) {
+        final byte[] cards = deck.copy(0, deck.size());
+        Arrays.sort(cards);
+        return cards;
+    }
+
+    private static byte[] ordinals(List<Card> cards) {
+        final byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            checkCard(cards.get(i));
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        return ordinals;
+    }
+
+    /**
+     * Checks the arguments of {@code operation} the way the controller checks those of the matching endpoint,
+     * as operations in a batch or a replayed history reach the deck without going through it.
+     */
+    private static void validate(DeckOperation operation) {
+        if (operation == null || operation.type() == null) {
+            throw new IllegalArgumentException("Operation type is required");
+        }
+        switch (operation.type()) {
+            case DEAL -> {
+                if (require(operation.count(), "count") < 1) {
+                    throw new IllegalArgumentException("Number of cards to deal must be at least 1");
+                }
+            }
+            case DISCARD -> checkCard(require(operation.card(), "card"));
+            case CUT -> {
+                if (require(operation.index(), "index") < 0) {
+                    throw new IllegalArgumentException("Cannot cut the deck at negative index " + operation.index());
+                }
+            }
+            case SHUFFLE, RESHUFFLE -> {
+                if (operation.algorithm() != null) {
+                    ShuffleAlgorithm.of(operation.algorithm());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static void checkCard(Card card) {
+        if (card == null || card.suit() == null || card.rank() == null) {
+            throw new IllegalArgumentException("A card needs both a suit and a rank: " + card);
+        }
+    }
+
+    private static <T> T require(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Operation " + name + " is required");
+        }
+        return value;
+    }
+
+    private static long argument(DeckOperation operation) {
+        if (operation.seed() != null) {
+            return operation.seed();
+        }
+        return operation.index() != null ? operation.index() : 0;
+    }
+
+    private static int algorithm(DeckOperation operation) {
+        return operation.algorithm() != null ? operation.algorithm() : 0;
+    }
+
+    private void emit(DeckEvent event) {
+        for (DeckEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException ex) {
+                log.warn("Deck event listener failed", ex);
+            }
+        }
+    }
+
+    private static String etag(long version) {
+        return '"' + ETAG_EPOCH + '-' + Long.toHexString(version) + '"';
+    }
+
+    private static List<Card> toCards(byte[] ordinals, int from, int to) {
+        final List<Card> cards = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            cards.add(Card.of(ordinals[i]));
+        }
+        return cards;
+    }
+
+    private static int generation(long state) {
+        return (int) (state >>> GENERATION_SHIFT);
+    }
+
+    private static int top(long state) {
+        return (int) (state & TOP_MASK);
+    }
+
+    private static void checkDeckNotEmpty(Snapshot deck, int top) {
+        if (top >= deck.size()) {
+            throw DeckEmptyException.INSTANCE;
+        }
+    }
+
+    private static void checkDeckNotEmpty(byte[] remaining) {
+        if (remaining.length == 0) {
+            throw DeckEmptyException.INSTANCE;
+        }
+    }
+
+    /**
+     * Computes the snapshot of the next generation from the current one and the number of cards dealt from it.
+     */
+    @FunctionalInterface
+    private interface Restructure {
+        Snapshot apply(Snapshot deck, int top, int generation);
+    }
+
+    private record VersionedView(long version, DeckView view) {
+    }
+
+    /**
+     * State a history starts from: the cards left, in canonical order when shuffled with {@code seed} and
+     * otherwise as they lie, and the discard pile. The arrays must never be written to.
+     */
+    private record Checkpoint(byte[] cards, byte[] discardPile, Long seed, int algorithm) {
+
+        DeckCheckpoint toModel() {
+            return DeckCheckpoint.builder()
+                    .cards(toCards(cards, 0, cards.length))
+                    .discardPile(toCards(discardPile, 0, discardPile.length))
+                    .seed(seed)
+                    .algorithm(seed != null ? algorithm : null)
+                    .build();
+        }
+    }
+
+    /**
+     * Immutable card order of one generation, as card ordinals in a ring buffer whose first card is at
+     * {@code offset}. The array may be shared between snapshots and must never be written to.
+     */
+    private record Snapshot(int generation, byte[] cards, int offset) {
+
+        int size() {
+            return cards.length;
+        }
+
+        int physical(int index) {
+            final int position = offset + index;
+            return position >= cards.length ? position - cards.length : position;
+        }
+
+        byte card(int index) {
+            return cards[physical(index)];
+        }
+
+        byte[] copy(int from, int to) {
+            final byte[] copy = new byte[to - from];
+            copyTo(from, to, copy, 0);
+            return copy;
+        }
+
+        /**
+         * Copies the cards at logical positions {@code [from, to)} into {@code dest}, unwrapping the ring.
+         */
+        void copyTo(int from, int to, byte[] dest, int destPos) {
+            if (from >= to) {
+                return;
+            }
+            final int start = physical(from);
+            final int firstRun = Math.min(to - from, cards.length - start);
+            System.arraycopy(cards, start, dest, destPos, firstRun);
+            System.arraycopy(cards, 0, dest, destPos + firstRun, to - from - firstRun);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.event.DeckEventListener;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Off-heap store of the images of spilled decks, see {@link DeckService#retire}.
+ *
+ * <p>Images live in slots carved out of direct buffer slabs. Slot sizes are powers of two from 128 bytes up to
+ * the slab size, each slab serves a single slot size, and a freed slot is reused by the next image of its size;
+ * an image larger than a slab gets a direct buffer of its own, released when the deck is rehydrated. Slabs are
+ * kept once allocated. On the heap, a spilled deck costs only its index entry.
+ *
+ * <p>Spilling and rehydrating are rare next to deck operations, so the store is guarded by its monitor.
+ */
+final class DeckSpillStore {
+
+    private static final int MIN_SLOT_SHIFT = 7;
+    private static final int ADDRESS_SHIFT = 32;
+
+    private final int slabSize;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private final long[][] freeSlots;
+    private final int[] freeSlotCounts;
+    private final int[] carveBuffers;
+    private final int[] carveOffsets;
+    private int[] freeBuffers = new int[8];
+    private int freeBufferCount;
+    private long reservedBytes;
+    private long usedBytes;
+    private byte[] scratch = new byte[1 << 10];
+
+    DeckSpillStore(int slabSize) {
+        this.slabSize = slabSize;
+        final int classes = sizeClass(slabSize) + 1;
+        this.freeSlots = new long[classes][];
+        this.freeSlotCounts = new int[classes];
+        this.carveBuffers = new int[classes];
+        this.carveOffsets = new int[classes];
+        Arrays.fill(carveBuffers, -1);
+        for (int i = 0; i < classes; i++) {
+            freeSlots[i] = new long[16];
+        }
+    }
+
+    synchronized void put(String deckId, int handle, byte[] image, DeckEventListener[] listeners) {
+        final long address = allocate(image.length);
+        buffers.get(buffer(address)).put(offset(address), image);
+        usedBytes += image.length;
+        final Entry previous = entries.put(deckId, new Entry(handle, address, image.length, listeners));
+        if (previous != null) {
+            free(previous);
+        }
+    }
+
+    /**
+     * Removes the deck and returns its image, or {@code null} when it is not spilled.
+     */
+    synchronized SpilledDeck take(String deckId) {
+        final Entry entry = entries.remove(deckId);
+        if (entry == null) {
+            return null;
+        }
+        final byte[] image = new byte[entry.length()];
+        buffers.get(buffer(entry.address())).get(offset(entry.address()), image);
+        free(entry);
+        return new SpilledDeck(entry.handle(), image, entry.listeners());
+    }
+
+    /**
+     * Writes the image of the deck to {@code out}, or returns {@code false} when it is not spilled.
+     */
+    synchronized boolean copyTo(String deckId, DataOutput out) throws IOException {
+        final Entry entry = entries.get(deckId);
+        if (entry == null) {
+            return false;
+        }
+        if (scratch.length < entry.length()) {
+            scratch = new byte[entry.length()];
+        }
+        buffers.get(buffer(entry.address())).get(offset(entry.address()), scratch, 0, entry.length());
+        out.write(scratch, 0, entry.length());
+        return true;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bytes of direct memory held by the store.
+     */
+    synchronized long reservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * Bytes of spilled images, at most {@link #reservedBytes()}.
+     */
+    synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private long allocate(int length) {
+        final int sizeClass = sizeClass(length);
+        final int slotSize = 1 << (sizeClass + MIN_SLOT_SHIFT);
+        if (slotSize > slabSize) {
+            return address(addBuffer(length), 0);
+        }
+        if (freeSlotCounts[sizeClass] > 0) {
+            return freeSlots[sizeClass][--freeSlotCounts[sizeClass]];
+        }
+        if (carveBuffers[sizeClass] < 0 || carveOffsets[sizeClass] + slotSize > slabSize) {
+            carveBuffers[sizeClass] = addBuffer(slabSize);
+            carveOffsets[sizeClass] = 0;
+        }
+        final long address = address(carveBuffers[sizeClass], carveOffsets[sizeClass]);
+        carveOffsets[sizeClass] += slotSize;
+        return address;
+    }
+
+    private void free(Entry entry) {
+        usedBytes -= entry.length();
+        final int sizeClass = sizeClass(entry.length());
+        if (1 << (sizeClass + MIN_SLOT_SHIFT) > slabSize) {
+            final int buffer = buffer(entry.address());
+            reservedBytes -= buffers.get(buffer).capacity();
+            buffers.set(buffer, null);
+            if (freeBufferCount == freeBuffers.length) {
+                freeBuffers = Arrays.copyOf(freeBuffers, freeBufferCount * 2);
+            }
+            freeBuffers[freeBufferCount++] = buffer;
+            return;
+        }
+        if (freeSlotCounts[sizeClass] == freeSlots[sizeClass].length) {
+            freeSlots[sizeClass] = Arrays.copyOf(freeSlots[sizeClass], freeSlotCounts[sizeClass] * 2);
+        }
+        freeSlots[sizeClass][freeSlotCounts[sizeClass]++] = entry.address();
+    }
+
+    private int addBuffer(int capacity) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
+        reservedBytes += capacity;
+        if (freeBufferCount > 0) {
+            final int index = freeBuffers[--freeBufferCount];
+            buffers.set(index, buffer);
+            return index;
+        }
+        buffers.add(buffer);
+        return buffers.size() - 1;
+    }
+
+    private static int sizeClass(int length) {
+        return Math.max(0, Integer.SIZE - Integer.numberOfLeadingZeros(length - 1) - MIN_SLOT_SHIFT);
+    }
+
+    private static long address(int buffer, int offset) {
+        return (long) buffer << ADDRESS_SHIFT | offset;
+    }
+
+    private static int buffer(long address) {
+        return (int) (address >>> ADDRESS_SHIFT);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * A spilled deck as handed back for rehydration: its journal handle, image and event listeners.
+     */
+    record SpilledDeck(int handle, byte[] image, DeckEventListener[] listeners) {
+    }
+
+    private record Entry(int handle, long address, int length, DeckEventListener[] listeners) {
+    }
+}
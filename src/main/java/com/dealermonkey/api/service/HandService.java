@@ -0,0 +1,41 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.dto.request.HandRequest;
+import com.dealermonkey.api.dto.response.HandResponse;
+import com.dealermonkey.api.engine.HandEvaluator;
+import com.dealermonkey.api.model.Card;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Evaluates poker hands with the {@link HandEvaluator}, so that clients do not have to rank the cards they are
+ * dealt themselves.
+ */
+@Service
+public class HandService {
+
+    /**
+     * Validates {@code request} and evaluates the best five card hand among its cards.
+     */
+    public HandResponse evaluate(HandRequest request) {
+        final List<Card> cards = request.cards();
+        if (cards == null || cards.size() < HandEvaluator.MIN_CARDS || cards.size() > HandEvaluator.MAX_CARDS) {
+            throw new IllegalArgumentException("A hand must hold between " + HandEvaluator.MIN_CARDS + " and "
+                    + HandEvaluator.MAX_CARDS + " cards");
+        }
+        if (cards.stream().anyMatch(card -> card == null || card.suit() == null || card.rank() == null)) {
+            throw new IllegalArgumentException("Every card of a hand needs both a suit and a rank");
+        }
+        if (new HashSet<>(cards).size() != cards.size()) {
+            throw new IllegalArgumentException("A hand must hold distinct cards");
+        }
+        final int strength = HandEvaluator.evaluate(cards);
+        return HandResponse.builder()
+                .category(HandEvaluator.category(strength))
+                .strength(strength)
+                .cards(HandEvaluator.bestHand(cards))
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.OddsProperties;
+import com.dealermonkey.api.dto.request.OddsRequest;
+import com.dealermonkey.api.dto.response.OddsResponse;
+import com.dealermonkey.api.engine.EquityCalculator;
+import com.dealermonkey.api.engine.EquityResult;
+import com.dealermonkey.api.model.Card;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes the showdown equity of hold'em hands with the {@link EquityCalculator}, on a fork-join pool of its
+ * own so that a long simulation never holds up odds requests. Every deal is counted when there are at most
+ * {@link OddsProperties#maxExhaustiveDeals()} of them; otherwise deals are sampled, in rounds sized from the
+ * precision reached and the rate so far, until every equity has the requested standard error or the time
+ * budget runs out.
+ *
+ * <p>Renaming the suits changes no equity, so results are cached by the cards with the suits renamed in the
+ * way that writes them first, and the same spot in other suits comes back from the cache. A sampled result is
+ * only reused for a precision it reached.
+ */
+@Slf4j
+@Service
+public class OddsService implements DisposableBean {
+
+    /**
+     * Deals sampled in the first round, which also measures the rate of sampling.
+     */
+    static final long FIRST_ROUND = 1 << 16;
+    private static final int[][] SUIT_RENAMINGS = renamings();
+
+    private final OddsProperties properties;
+    private final ForkJoinPool pool;
+    private final Cache<String, OddsResponse> cache;
+
+    public OddsService(OddsProperties properties) {
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.parallelism() > 0
+                ? properties.parallelism()
+                : Runtime.getRuntime().availableProcessors());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .build();
+    }
+
+    /**
+     * Validates {@code request} and completes with the equity of its hands, from the cache or computed on the
+     * pool.
+     */
+    public CompletableFuture<OddsResponse> odds(OddsRequest request) {
+        final List<List<Card>> hands = request.hands();
+        if (hands == null || hands.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Hands must be given");
+        }
+        final byte[][] holes = new byte[hands.size()][];
+        for (int hand = 0; hand < holes.length; hand++) {
+            holes[hand] = ordinals(hands.get(hand));
+        }
+        final byte[] board = ordinals(request.board() != null ? request.board() : List.of());
+        final double precision = request.precision() != null ? request.precision() : properties.precision();
+        if (!(precision > 0 && precision < 1)) {
+            throw new IllegalArgumentException("Precision must be between 0 and 1");
+        }
+        final Duration budget = request.timeBudgetMillis() != null
+                ? Duration.ofMillis(request.timeBudgetMillis())
+                : properties.timeBudget();
+        if (budget.isNegative() || budget.isZero() || budget.compareTo(properties.maxTimeBudget()) > 0) {
+            throw new IllegalArgumentException("Time budget must be between 1 and "
+                    + properties.maxTimeBudget().toMillis() + " ms");
+        }
+        // validates the cards
+        final double deals = EquityCalculator.deals(holes, board);
+        final String key = key(holes, board);
+        final OddsResponse cached = cache.getIfPresent(key);
+        if (cached != null && (cached.exhaustive() || cached.standardError() <= precision)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            final long started = System.nanoTime();
+            final OddsResponse response = deals <= properties.maxExhaustiveDeals()
+                    ? toResponse(true, EquityCalculator.enumerate(pool, holes, board))
+                    : toResponse(false, sample(holes, board, precision, started + budget.toNanos()));
+            log.debug("Counted {} deals of {} hands in {} ms", response.deals(), holes.length,
+                    (System.nanoTime() - started) / 1_000_000);
+            cache.put(key, response);
+            return response;
+        }, pool);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private EquityResult sample(byte[][] hands, byte[] board, double precision, long deadline) {
+        final long started = System.nanoTime();
+        final SplittableRandom random = new SplittableRandom();
+        EquityResult result = EquityCalculator.sample(pool, hands, board, FIRST_ROUND, random.split());
+        while (result.standardError() > precision) {
+            final long now = System.nanoTime();
+            if (now >= deadline) {
+                break;
+            }
+            // the standard error falls with the square root of the deals; no more deals than the time left allows
+            final double ratio = result.standardError() / precision;
+            final double needed = result.deals() * (ratio * ratio - 1);
+            final double affordable = (double) result.deals() / (now - started) * (deadline - now);
+            final long trials = (long) Math.max(FIRST_ROUND, Math.min(needed, affordable));
+            result = result.plus(EquityCalculator.sample(pool, hands, board, trials, random.split()));
+        }
+        return result;
+    }
+
+    /**
+     * Cache key of a spot: its cards written under every renaming of the suits, hands in order with their hole
+     * cards sorted and the board sorted, and the least of these.
+     */
+    static String key(byte[][] hands, byte[] board) {
+        String key = null;
+        for (int[] suits : SUIT_RENAMINGS) {
+            final StringBuilder renamed = new StringBuilder();
+            for (byte[] hand : hands) {
+                renamed.append(renamed(hand, suits)).append('|');
+            }
+            final String candidate = renamed.append(renamed(board, suits)).toString();
+            if (key == null || candidate.compareTo(key) < 0) {
+                key = candidate;
+            }
+        }
+        return key;
+    }
+
+    private static String renamed(byte[] cards, int[] suits) {
+        final char[] renamed = new char[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            final int suit = cards[i] / Card.Rank.COUNT;
+            renamed[i] = (char) (cards[i] + (suits[suit] - suit) * Card.Rank.COUNT);
+        }
+        Arrays.sort(renamed);
+        return new String(renamed);
+    }
+
+    private static int[][] renamings() {
+        final List<int[]> renamings = new ArrayList<>();
+        rename(new int[] {0, 1, 2, 3}, 0, renamings);
+        return renamings.toArray(int[][]::new);
+    }
+
+    /**
+     * Adds every renaming of the suits that keeps the first {@code fixed} of {@code suits}.
+     */
+    private static void rename(int[] suits, int fixed, List<int[]> renamings) {
+        if (fixed == suits.length) {
+            renamings.add(suits.clone());
+            return;
+        }
+        for (int i = fixed; i < suits.length; i++) {
+            swap(suits, fixed, i);
+            rename(suits, fixed + 1, renamings);
+            swap(suits, fixed, i);
+        }
+    }
+
+    private static void swap(int[] suits, int i, int j) {
+        final int suit = suits[i];
+        suits[i] = suits[j];
+        suits[j] = suit;
+    }
+
+    private static byte[] ordinals(List<Card> cards) {
+        if (cards.stream().anyMatch(card -> card == null || card.suit() == null || card.rank() == null)) {
+            throw new IllegalArgumentException("Every card needs both a suit and a rank");
+        }
+        final byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        return ordinals;
+    }
+
+    private static OddsResponse toResponse(boolean exhaustive, EquityResult result) {
+        final int hands = result.wins().length;
+        final double[] wins = new double[hands];
+        final double[] ties = new double[hands];
+        final double[] equities = new double[hands];
+        for (int hand = 0; hand < hands; hand++) {
+            wins[hand] = result.win(hand);
+            ties[hand] = result.tie(hand);
+            equities[hand] = result.equity(hand);
+        }
+        return OddsResponse.builder()
+                .exhaustive(exhaustive)
+                .deals(result.deals())
+                .wins(wins)
+                .ties(ties)
+                .equities(equities)
+                .standardError(exhaustive ? 0 : result.standardError())
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.config.SimulationProperties;
+import com.dealermonkey.api.dto.request.FairnessRequest;
+import com.dealermonkey.api.dto.request.SimulationRequest;
+import com.dealermonkey.api.dto.response.FairnessResponse;
+import com.dealermonkey.api.dto.response.SimulationResponse;
+import com.dealermonkey.api.engine.DeckSimulation;
+import com.dealermonkey.api.engine.FairnessResult;
+import com.dealermonkey.api.engine.FairnessSuite;
+import com.dealermonkey.api.engine.ShuffleAlgorithm;
+import com.dealermonkey.api.engine.ShuffleRandom;
+import com.dealermonkey.api.engine.SimulationResult;
+import com.dealermonkey.api.engine.Statistics;
+import com.dealermonkey.api.model.Card;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Runs {@link DeckSimulation Monte Carlo simulations} of independent shoes for payout checks, and
+ * {@link FairnessSuite fairness validations} of the shuffle, on a fork-join pool of its own so that they never
+ * compete with request threads for the common pool. No live deck is touched.
+ *
+ * <p>The work stops as soon as its future is done: when the caller cancels it, or when it fails with
+ * {@code 503 Service Unavailable} after {@link SimulationProperties#timeout()}.
+ */
+@Slf4j
+@Service
+public class SimulationService implements DisposableBean {
+
+    /**
+     * P-value below which a fairness test fails.
+     */
+    public static final double SIGNIFICANCE = 0.001;
+
+    private final SimulationProperties properties;
+    private final ShuffleRandom deckRandom;
+    private final ForkJoinPool pool;
+
+    public SimulationService(SimulationProperties properties, DeckProperties deckProperties) {
+        this.properties = properties;
+        this.deckRandom = deckProperties.shuffleRandom();
+        this.pool = new ForkJoinPool(properties.parallelism() > 0
+                ? properties.parallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Validates {@code request} and starts the simulation on the pool, completing with its outcome.
+     */
+    public CompletableFuture<SimulationResponse> simulate(SimulationRequest request) {
+        if (request.decks() < 1 || request.decks() > DeckProperties.MAX_DECKS) {
+            throw new IllegalArgumentException("Decks must be between 1 and " + DeckProperties.MAX_DECKS);
+        }
+        if (request.cards() < 1 || request.cards() > request.decks() * Card.DECK_SIZE) {
+            throw new IllegalArgumentException("Cards must be between 1 and " + request.decks() * Card.DECK_SIZE);
+        }
+        if (request.trials() < 1 || request.trials() > properties.maxTrials()) {
+            throw new IllegalArgumentException("Trials must be between 1 and " + properties.maxTrials());
+        }
+        final long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+        return start("Simulation", cancelled -> {
+            final long started = System.nanoTime();
+            final SimulationResult result = DeckSimulation.run(pool, request.decks(), request.cards(),
+                    request.trials(), seed, cancelled);
+            log.debug("Simulated {} shoes in {} ms", request.trials(), (System.nanoTime() - started) / 1_000_000);
+            return toResponse(request.decks(), seed, result);
+        });
+    }
+
+    /**
+     * Validates {@code request} and starts the fairness suite on the pool, completing with its report.
+     */
+    public CompletableFuture<FairnessResponse> validateFairness(FairnessRequest request) {
+        if (request.shuffles() < 1 || request.shuffles() > properties.maxTrials()) {
+            throw new IllegalArgumentException("Shuffles must be between 1 and " + properties.maxTrials());
+        }
+        final ShuffleAlgorithm algorithm = request.algorithm() != null
+                ? ShuffleAlgorithm.of(request.algorithm())
+                : ShuffleAlgorithm.CURRENT;
+        final ShuffleRandom random = request.random() != null ? request.random() : deckRandom;
+        return start("Fairness validation", cancelled -> {
+            final long started = System.nanoTime();
+            final FairnessResult result = FairnessSuite.run(pool, algorithm, random, request.shuffles(), cancelled);
+            log.info("Validated {} shuffles of {} with {} in {} ms", request.shuffles(), algorithm, random,
+                    (System.nanoTime() - started) / 1_000_000);
+            return toResponse(result);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs {@code work} on the pool, telling it whether the returned future is done already, and fails the
+     * future once the timeout passes.
+     */
+    private <T> CompletableFuture<T> start(String name, Function<BooleanSupplier, T> work) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        pool.execute(() -> {
+            try {
+                future.complete(work.apply(future::isDone));
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        final long timeout = properties.timeout().toMillis();
+        CompletableFuture.delayedExecutor(timeout, TimeUnit.MILLISECONDS).execute(() -> {
+            if (future.completeExceptionally(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    name + " did not finish within " + timeout + " ms"))) {
+                log.warn("{} cancelled after {} ms", name, timeout);
+            }
+        });
+        return future;
+    }
+
+    private static FairnessResponse toResponse(FairnessResult result) {
+        final long[][] frequencies = new long[Card.DECK_SIZE][];
+        for (int position = 0; position < Card.DECK_SIZE; position++) {
+            frequencies[position] = Arrays.copyOfRange(result.positions(),
+                    position * Card.DECK_SIZE, (position + 1) * Card.DECK_SIZE);
+        }
+        final double[] positionPValues = result.positionPValues();
+        final double ksStatistic = Statistics.kolmogorovSmirnov(positionPValues);
+        final double ksPValue = Statistics.kolmogorovSmirnovPValue(ksStatistic, positionPValues.length);
+        final double positionChiSquare = result.matrixChiSquare();
+        final double positionPValue = Statistics.chiSquarePValue(positionChiSquare,
+                FairnessResult.MATRIX_DEGREES_OF_FREEDOM);
+        final double adjacencyChiSquare = result.adjacencyChiSquare();
+        final double adjacencyPValue = Statistics.chiSquarePValue(adjacencyChiSquare,
+                FairnessResult.ADJACENCY_DEGREES_OF_FREEDOM);
+        return FairnessResponse.builder()
+                .algorithm(result.algorithm().version())
+                .random(result.random())
+                .shuffles(result.shuffles())
+                .significance(SIGNIFICANCE)
+                .passed(positionPValue >= SIGNIFICANCE && ksPValue >= SIGNIFICANCE && adjacencyPValue >= SIGNIFICANCE)
+                .positionFrequencies(frequencies)
+                .positionPValues(positionPValues)
+                .positionChiSquare(positionChiSquare)
+                .positionDegreesOfFreedom(FairnessResult.MATRIX_DEGREES_OF_FREEDOM)
+                .positionPValue(positionPValue)
+                .ksStatistic(ksStatistic)
+                .ksPValue(ksPValue)
+                .adjacencyChiSquare(adjacencyChiSquare)
+                .adjacencyDegreesOfFreedom(FairnessResult.ADJACENCY_DEGREES_OF_FREEDOM)
+                .adjacencyPValue(adjacencyPValue)
+                .neighboursKept(result.neighboursKept())
+                .expectedNeighboursKept(result.expectedNeighboursKept())
+                .build();
+    }
+
+    private static SimulationResponse toResponse(int decks, long seed, SimulationResult result) {
+        final long[][] frequencies = new long[result.cards()][];
+        final double[] chiSquares = new double[result.cards()];
+        for (int position = 0; position < result.cards(); position++) {
+            frequencies[position] = Arrays.copyOfRange(result.frequencies(),
+                    position * Card.DECK_SIZE, (position + 1) * Card.DECK_SIZE);
+            chiSquares[position] = result.chiSquare(position);
+        }
+        return SimulationResponse.builder()
+                .decks(decks)
+                .cards(result.cards())
+                .trials(result.trials())
+                .seed(seed)
+                .frequencies(frequencies)
+                .chiSquares(chiSquares)
+                .degreesOfFreedom(SimulationResult.DEGREES_OF_FREEDOM)
+                .build();
+    }
+}
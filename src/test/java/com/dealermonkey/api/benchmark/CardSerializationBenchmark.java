@@ -0,0 +1,97 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.CardsResponse;
+import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing a deal response and a full deck with the precomputed card serializers, against Jackson's
+ * default reflective serialization of the same values. The setup fails unless both write identical bytes.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation per response as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardSerializationBenchmark {
+
+    private ObjectWriter precomputed;
+    private ObjectWriter reflective;
+    private CardResponse dealt;
+    private CardsResponse deck;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        precomputed = new ObjectMapper().writer();
+        reflective = new ObjectMapper()
+                .addMixIn(Card.class, DefaultSerialization.class)
+                .addMixIn(CardResponse.class, DefaultSerialization.class)
+                .writer();
+        dealt = CardResponse.of(Card.of(Card.Suit.HEARTS, Card.Rank.QUEEN));
+        final List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            cards.add(Card.of(i));
+        }
+        deck = new CardsResponse(cards);
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            checkIdentical(CardResponse.of(i));
+        }
+        checkIdentical(deck);
+    }
+
+    @Benchmark
+    public byte[] dealResponsePrecomputed() throws JsonProcessingException {
+        return precomputed.writeValueAsBytes(dealt);
+    }
+
+    @Benchmark
+    public byte[] dealResponseReflective() throws JsonProcessingException {
+        return reflective.writeValueAsBytes(dealt);
+    }
+
+    @Benchmark
+    public byte[] deckPrecomputed() throws JsonProcessingException {
+        return precomputed.writeValueAsBytes(deck);
+    }
+
+    @Benchmark
+    public byte[] deckReflective() throws JsonProcessingException {
+        return reflective.writeValueAsBytes(deck);
+    }
+
+    private void checkIdentical(Object value) throws JsonProcessingException {
+        final byte[] expected = reflective.writeValueAsBytes(value);
+        final byte[] actual = precomputed.writeValueAsBytes(value);
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Precomputed serialization differs for " + value + ": "
+                    + new String(actual) + " instead of " + new String(expected));
+        }
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface DefaultSerialization {
+    }
+}
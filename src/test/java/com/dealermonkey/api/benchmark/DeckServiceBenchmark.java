@@ -0,0 +1,87 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.service.DeckService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of each {@link DeckService} operation.
+ *
+ * <p>Run with {@code mvn -Pbenchmark -DskipTests test -Djmh.includes=DeckServiceBenchmark}; the gc profiler
+ * is enabled by default so every result also reports the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckServiceBenchmark {
+
+    private DeckService deck;
+
+    @Setup
+    public void setUp() {
+        deck = new DeckService();
+        deck.shuffleDeck();
+    }
+
+    @Benchmark
+    public CardResponse dealCard() {
+        if (deck.size() == 0) {
+            deck.rebuildDeck();
+        }
+        return deck.dealCard();
+    }
+
+    @Benchmark
+    public void shuffleDeck() {
+        deck.shuffleDeck();
+    }
+
+    @Benchmark
+    public void cutDeck() {
+        deck.cutDeck(26);
+    }
+
+    @Benchmark
+    public void orderDeck() {
+        deck.orderDeck();
+    }
+
+    @Benchmark
+    public void rebuildDeck() {
+        deck.rebuildDeck();
+    }
+
+    /**
+     * A card can only be discarded once after it was dealt, so this measures a deal followed by a discard.
+     */
+    @Benchmark
+    public Card dealAndDiscardCard() {
+        if (deck.size() == 0) {
+            deck.rebuildDeck();
+        }
+        final Card card = deck.dealCard().card();
+        deck.discardCard(card);
+        return card;
+    }
+
+    @Benchmark
+    public List<Card> getDeck() {
+        return deck.getDeck();
+    }
+}
@@ -0,0 +1,107 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.exception.DeckEmptyException;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.service.DeckService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DeckService} operations racing each other on one shared deck, one JMH thread group per scenario.
+ *
+ * <p>When the deck runs out a dealer rebuilds it; losing that race to another dealer surfaces as an empty-deck
+ * exception, which is counted as a (cheap) completed operation.
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckServiceContentionBenchmark {
+
+    private DeckService deck;
+
+    @Setup
+    public void setUp() {
+        deck = new DeckService();
+    }
+
+    @Benchmark
+    @Group("dealVsShuffle")
+    @GroupThreads(3)
+    public CardResponse dealWhileShuffling() {
+        return deal();
+    }
+
+    @Benchmark
+    @Group("dealVsShuffle")
+    @GroupThreads(1)
+    public void shuffleWhileDealing() {
+        try {
+            deck.shuffleDeck();
+        } catch (DeckEmptyException empty) {
+            deck.rebuildDeck();
+        }
+    }
+
+    @Benchmark
+    @Group("peekVsDeal")
+    @GroupThreads(3)
+    public Card peekWhileDealing() {
+        try {
+            return deck.cheat();
+        } catch (DeckEmptyException empty) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("peekVsDeal")
+    @GroupThreads(1)
+    public CardResponse dealWhilePeeking() {
+        return deal();
+    }
+
+    @Benchmark
+    @Group("readVsDiscard")
+    @GroupThreads(3)
+    public List<Card> getDeckWhileDiscarding() {
+        return deck.getDeck();
+    }
+
+    @Benchmark
+    @Group("readVsDiscard")
+    @GroupThreads(1)
+    public void discardWhileReading() {
+        final CardResponse dealt = deal();
+        if (dealt != null) {
+            deck.discardCard(dealt.card());
+        }
+    }
+
+    private CardResponse deal() {
+        if (deck.size() == 0) {
+            deck.rebuildDeck();
+        }
+        try {
+            return deck.dealCard();
+        } catch (DeckEmptyException empty) {
+            return null;
+        }
+    }
+}
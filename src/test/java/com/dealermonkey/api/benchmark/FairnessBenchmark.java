@@ -0,0 +1,69 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.engine.FairnessResult;
+import com.dealermonkey.api.engine.FairnessSuite;
+import com.dealermonkey.api.engine.ShuffleAlgorithm;
+import com.dealermonkey.api.engine.ShuffleRandom;
+import com.dealermonkey.api.engine.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fairness validation as a benchmark goal: times each shuffle of the {@link FairnessSuite} for each
+ * {@link ShuffleRandom} on a pool of all cores, and prints the p-values of the last run, so that
+ * {@code mvn -Pbenchmark -DskipTests test -Djmh.includes=FairnessBenchmark} both measures and validates the
+ * current shuffle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FairnessBenchmark {
+
+    private static final int SHUFFLES = 1 << 20;
+
+    @Param({"L64X128_MIX", "SPLITTABLE", "THREAD_LOCAL", "SECURE"})
+    private ShuffleRandom random;
+
+    private ForkJoinPool pool;
+    private FairnessResult last;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        final double[] pValues = last.positionPValues();
+        System.out.printf("%n%s over %,d shuffles: position p=%.4f, KS p=%.4f, adjacency p=%.4f%n", random,
+                last.shuffles(),
+                Statistics.chiSquarePValue(last.matrixChiSquare(), FairnessResult.MATRIX_DEGREES_OF_FREEDOM),
+                Statistics.kolmogorovSmirnovPValue(Statistics.kolmogorovSmirnov(pValues), pValues.length),
+                Statistics.chiSquarePValue(last.adjacencyChiSquare(), FairnessResult.ADJACENCY_DEGREES_OF_FREEDOM));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHUFFLES)
+    public FairnessResult fairnessSuite() {
+        last = FairnessSuite.run(pool, ShuffleAlgorithm.CURRENT, random, SHUFFLES);
+        return last;
+    }
+}
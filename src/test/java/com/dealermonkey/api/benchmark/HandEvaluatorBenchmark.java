@@ -0,0 +1,69 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.engine.HandEvaluator;
+import com.dealermonkey.api.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link HandEvaluator} evaluation of random hands of each size, on a single thread. The hands
+ * are dealt up front so that only the evaluation is measured, and are too many for the branch predictor to
+ * learn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandEvaluatorBenchmark {
+
+    private static final int HANDS = 1 << 16;
+
+    @Param({"5", "6", "7"})
+    private int cards;
+
+    private byte[] hands;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42);
+        final byte[] deck = new byte[Card.DECK_SIZE];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = (byte) i;
+        }
+        hands = new byte[HANDS * cards];
+        for (int hand = 0; hand < HANDS; hand++) {
+            for (int i = 0; i < cards; i++) {
+                final int j = i + random.nextInt(deck.length - i);
+                final byte card = deck[j];
+                deck[j] = deck[i];
+                deck[i] = card;
+                hands[hand * cards + i] = card;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int evaluate() {
+        int strengths = 0;
+        for (int hand = 0; hand < HANDS; hand++) {
+            strengths += HandEvaluator.evaluate(hands, hand * cards, cards);
+        }
+        return strengths;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.engine.ShuffleAlgorithm;
+import com.dealermonkey.api.engine.ShuffleEngine;
+import com.dealermonkey.api.engine.ShuffleRandom;
+import com.dealermonkey.api.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-shuffle cost of a 52 card deck for each {@link ShuffleRandom}, against the original
+ * {@code Collections.shuffle} over a {@link LinkedList}, and of the seeded shuffle decks use, which draws one
+ * seed from the random source and permutes with {@link ShuffleAlgorithm#CURRENT}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleBenchmark {
+
+    @Param({"L64X128_MIX", "SPLITTABLE", "THREAD_LOCAL", "SECURE"})
+    private ShuffleRandom random;
+
+    private ShuffleEngine engine;
+    private byte[] cards;
+    private List<Card> linkedDeck;
+
+    @Setup
+    public void setUp() {
+        engine = new ShuffleEngine(random);
+        cards = new byte[Card.DECK_SIZE];
+        linkedDeck = new LinkedList<>();
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            cards[i] = (byte) i;
+            linkedDeck.add(Card.of(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] fisherYates() {
+        engine.shuffle(cards);
+        return cards;
+    }
+
+    @Benchmark
+    public byte[] seededFisherYates() {
+        ShuffleAlgorithm.CURRENT.shuffle(cards, engine.nextSeed());
+        return cards;
+    }
+
+    @Benchmark
+    public List<Card> collectionsShuffleLinkedList() {
+        Collections.shuffle(linkedDeck);
+        return linkedDeck;
+    }
+}
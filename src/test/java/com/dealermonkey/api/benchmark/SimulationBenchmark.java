@@ -0,0 +1,75 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.engine.DeckSimulation;
+import com.dealermonkey.api.engine.SimulationResult;
+import com.dealermonkey.api.service.DeckService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per simulated shoe of dealing a five card hand: {@link DeckSimulation} on a fork-join pool of each
+ * parallelism, against looping over {@link DeckService#shuffleDeck()} and {@link DeckService#dealCards(int)}.
+ * Throughput should scale with the parallelism up to the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    private static final int TRIALS = 1 << 20;
+    private static final int LOOP_TRIALS = 1 << 12;
+    private static final int CARDS = 5;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private DeckService deck;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        deck = new DeckService();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIALS)
+    public SimulationResult simulation() {
+        return DeckSimulation.run(pool, 1, CARDS, TRIALS, seed++);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOP_TRIALS)
+    public int deckServiceLoop() {
+        int dealt = 0;
+        for (int trial = 0; trial < LOOP_TRIALS; trial++) {
+            deck.rebuildDeck();
+            deck.shuffleDeck();
+            dealt += deck.dealCards(CARDS).size();
+        }
+        return dealt;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dealermonkey.api.benchmark;
+
+import com.dealermonkey.api.codec.CardBytes;
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.dto.response.CardsResponse;
+import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding cost of a deal response and of a full 52 card deck in each negotiable wire format: JSON, CBOR and
+ * the {@link CardBytes} format. The payload sizes are printed at the start of each benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private ObjectWriter json;
+    private ObjectWriter cbor;
+    private CardResponse dealt;
+    private CardsResponse deck;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        json = new ObjectMapper().writer();
+        cbor = new ObjectMapper(new CBORFactory()).writer();
+        dealt = CardResponse.of(Card.of(Card.Suit.HEARTS, Card.Rank.QUEEN));
+        final List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            cards.add(Card.of(i));
+        }
+        deck = new CardsResponse(cards);
+        System.out.printf("%nPayload bytes, deal / deck: json %d / %d, cbor %d / %d, cards %d / %d%n",
+                json.writeValueAsBytes(dealt).length, json.writeValueAsBytes(deck).length,
+                cbor.writeValueAsBytes(dealt).length, cbor.writeValueAsBytes(deck).length,
+                CardBytes.encode(dealt).length, CardBytes.encode(deck).length);
+    }
+
+    @Benchmark
+    public byte[] dealJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(dealt);
+    }
+
+    @Benchmark
+    public byte[] dealCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(dealt);
+    }
+
+    @Benchmark
+    public byte[] dealCards() {
+        return CardBytes.encode(dealt);
+    }
+
+    @Benchmark
+    public byte[] deckJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(deck);
+    }
+
+    @Benchmark
+    public byte[] deckCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(deck);
+    }
+
+    @Benchmark
+    public byte[] deckCards() {
+        return CardBytes.encode(deck);
+    }
+}
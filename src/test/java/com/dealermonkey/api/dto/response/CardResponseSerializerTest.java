@@ -0,0 +1,64 @@
+package com.dealermonkey.api.dto.response;
+
+import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the precomputed card serializers write exactly the bytes of Jackson's default serialization.
+ */
+public class CardResponseSerializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectMapper reflective = reflectiveMapper();
+
+    @Test
+    public void testCardResponsesMatchDefaultSerialization() throws Exception {
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            assertSameBytes(CardResponse.of(i));
+            assertSameBytes(Card.of(i));
+        }
+        assertEquals("{\"data\":{\"card\":{\"suit\":\"diamonds\",\"rank\":\"ace\"}}}",
+                mapper.writeValueAsString(CardResponse.of(Card.DECK_SIZE - 1)));
+    }
+
+    @Test
+    public void testResponsesContainingCardsMatchDefaultSerialization() throws Exception {
+        final List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            cards.add(Card.of(i));
+        }
+        assertSameBytes(new CardsResponse(cards));
+        assertSameBytes(new HandsResponse(List.of(cards.subList(0, 5), cards.subList(5, 10))));
+        assertSameBytes(new CardResponse(null));
+        assertSameBytes(new Card(null, Card.Rank.ACE));
+    }
+
+    private void assertSameBytes(Object value) throws Exception {
+        final byte[] expected = reflective.writeValueAsBytes(value);
+        final byte[] actual = mapper.writeValueAsBytes(value);
+        assertArrayEquals(expected, actual, () -> new String(actual, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Mapper that ignores the custom serializers and falls back to Jackson's default serialization.
+     */
+    private static ObjectMapper reflectiveMapper() {
+        return new ObjectMapper()
+                .addMixIn(Card.class, DefaultSerialization.class)
+                .addMixIn(CardResponse.class, DefaultSerialization.class);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface DefaultSerialization {
+    }
+}
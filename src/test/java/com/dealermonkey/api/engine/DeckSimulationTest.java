@@ -0,0 +1,80 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link DeckSimulation}.
+ */
+public class DeckSimulationTest {
+
+    private static final long TRIALS = 20 * DeckSimulation.LEAF_TRIALS + 123;
+
+    @Test
+    public void testEveryPositionCountsEveryTrial() {
+        final SimulationResult result = DeckSimulation.run(ForkJoinPool.commonPool(), 2, 5, TRIALS, 7L);
+
+        assertEquals(5 * Card.DECK_SIZE, result.frequencies().length);
+        for (int position = 0; position < result.cards(); position++) {
+            long total = 0;
+            for (int card = 0; card < Card.DECK_SIZE; card++) {
+                total += result.frequency(position, card);
+            }
+            assertEquals(TRIALS, total, "Position " + position + " should count one card per trial");
+        }
+    }
+
+    @Test
+    public void testResultDependsOnTheSeedOnlyNotOnParallelism() {
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            final SimulationResult sequential = DeckSimulation.run(single, 1, 3, TRIALS, 42L);
+            final SimulationResult parallel = DeckSimulation.run(quad, 1, 3, TRIALS, 42L);
+            final SimulationResult reseeded = DeckSimulation.run(quad, 1, 3, TRIALS, 43L);
+
+            assertArrayEquals(sequential.frequencies(), parallel.frequencies());
+            assertTrue(reseeded.frequency(0, 0) != sequential.frequency(0, 0)
+                    || reseeded.frequency(0, 1) != sequential.frequency(0, 1));
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    @Test
+    public void testDealsAreUniformAtEveryPosition() {
+        final SimulationResult result = DeckSimulation.run(ForkJoinPool.commonPool(), 1, Card.DECK_SIZE, TRIALS, 1L);
+
+        for (int position = 0; position < Card.DECK_SIZE; position++) {
+            // the 99.99th percentile of chi-square with 51 degrees of freedom is about 101
+            assertTrue(result.chiSquare(position) < 101,
+                    "Position " + position + " chi-square " + result.chiSquare(position));
+        }
+        assertEquals(51, SimulationResult.DEGREES_OF_FREEDOM);
+    }
+
+    @Test
+    public void testDealingMoreCardsThanTheShoeHoldsIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DeckSimulation.run(ForkJoinPool.commonPool(), 1, Card.DECK_SIZE + 1, 10, 1L));
+    }
+
+    @Test
+    public void testCancelledRunStopsBeforeDealingEveryTrial() {
+        final AtomicInteger tasks = new AtomicInteger();
+
+        assertThrows(CancellationException.class, () -> DeckSimulation.run(ForkJoinPool.commonPool(), 8,
+                8 * Card.DECK_SIZE, 1_000_000_000L, 1L, () -> tasks.incrementAndGet() > 100));
+        assertTrue(tasks.get() < 1_000, "Tasks started after the cancellation: " + tasks.get());
+    }
+}
@@ -0,0 +1,110 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link EquityCalculator}.
+ */
+public class EquityCalculatorTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+
+    @AfterAll
+    public static void tearDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void testEveryRiverIsCounted() {
+        // nine hearts, three aces and three kings beat the queens
+        final byte[][] hands = {cards("AH KH"), cards("QS QC")};
+        final byte[] board = cards("2H 7H 9S TC");
+
+        final EquityResult result = EquityCalculator.enumerate(POOL, hands, board);
+
+        assertEquals(44, EquityCalculator.deals(hands, board));
+        assertEquals(44, result.deals());
+        assertEquals(15, result.wins()[0]);
+        assertEquals(29, result.wins()[1]);
+        assertEquals(0, result.ties()[0]);
+        assertEquals(15.0 / 44, result.equity(0), 1e-12);
+    }
+
+    @Test
+    public void testHandsAlikeButForSuitsSplitEvenly() {
+        final byte[][] hands = {cards("AS KS"), cards("AH KH")};
+        final byte[] board = cards("2C 7D 9C");
+
+        final EquityResult result = EquityCalculator.enumerate(POOL, hands, board);
+
+        assertEquals(990, result.deals());
+        assertEquals(result.equity(0), result.equity(1), 1e-12);
+        assertEquals(1, result.equity(0) + result.equity(1), 1e-12);
+        assertTrue(result.tie(0) > 0.9);
+    }
+
+    @Test
+    public void testUnknownHoleCardsAreDealt() {
+        final byte[][] hands = {cards("AS AH"), new byte[0]};
+        final byte[] board = cards("2C 7D 9C JH 3S");
+
+        final EquityResult result = EquityCalculator.enumerate(POOL, hands, board);
+
+        assertEquals(990, EquityCalculator.deals(hands, board));
+        assertEquals(990, result.deals());
+        assertEquals(1, result.equity(0) + result.equity(1), 1e-12);
+        assertEquals(6.0281548e34, EquityCalculator.deals(new byte[10][0], new byte[0]), 1e27);
+    }
+
+    @Test
+    public void testSamplingAgreesWithEnumeration() {
+        final byte[][] hands = {cards("AH KH"), cards("QS QC")};
+        final byte[] board = new byte[0];
+
+        final EquityResult exact = EquityCalculator.enumerate(POOL, hands, board);
+        final EquityResult sampled = EquityCalculator.sample(POOL, hands, board, 1 << 18, new SplittableRandom(42));
+
+        assertEquals(1_712_304, exact.deals());
+        assertEquals(1 << 18, sampled.deals());
+        assertEquals(exact.equity(0), sampled.equity(0), 5 * sampled.standardError(0));
+        assertEquals(exact.tie(1), sampled.tie(1), 0.01);
+        assertTrue(sampled.standardError() < 0.001);
+    }
+
+    @Test
+    public void testInvalidSpotsAreRejected() {
+        final byte[] board = cards("2C 7D 9C");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> EquityCalculator.deals(new byte[][] {cards("AS KS")}, board));
+        assertThrows(IllegalArgumentException.class,
+                () -> EquityCalculator.deals(new byte[][] {cards("AS KS"), cards("AH 2C")}, board));
+        assertThrows(IllegalArgumentException.class,
+                () -> EquityCalculator.deals(new byte[][] {cards("AS KS QS"), cards("AH KH")}, board));
+        assertThrows(IllegalArgumentException.class,
+                () -> EquityCalculator.deals(new byte[][] {cards("AS KS"), cards("AH KH")}, cards("2C 3C 4C 5C 6C 7C")));
+    }
+
+    /**
+     * Card ordinals written as rank then suit letters, such as {@code TS} for the ten of spades.
+     */
+    private static byte[] cards(String cards) {
+        final String[] names = cards.split(" ");
+        final byte[] ordinals = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            ordinals[i] = (byte) Card.of(
+                    Card.Suit.values()["SHCD".indexOf(names[i].charAt(1))],
+                    Card.Rank.values()["23456789TJQKA".indexOf(names[i].charAt(0))]).ordinal();
+        }
+        return ordinals;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FairnessSuite} and the tests of {@link FairnessResult}.
+ */
+public class FairnessSuiteTest {
+
+    private static final long SHUFFLES = 10 * FairnessSuite.LEAF_SHUFFLES + 7;
+
+    @Test
+    public void testCurrentShuffleIsFair() {
+        final FairnessResult result = FairnessSuite.run(ForkJoinPool.commonPool(), ShuffleAlgorithm.CURRENT,
+                ShuffleRandom.SPLITTABLE, SHUFFLES);
+
+        long pairs = 0;
+        for (long count : result.pairs()) {
+            pairs += count;
+        }
+        assertEquals(SHUFFLES * (Card.DECK_SIZE - 1), pairs);
+        // far below the 0.001 significance level, so that the test does not fail by chance
+        assertTrue(Statistics.chiSquarePValue(result.matrixChiSquare(),
+                FairnessResult.MATRIX_DEGREES_OF_FREEDOM) > 1e-6);
+        assertTrue(Statistics.chiSquarePValue(result.adjacencyChiSquare(),
+                FairnessResult.ADJACENCY_DEGREES_OF_FREEDOM) > 1e-6);
+        final double[] pValues = result.positionPValues();
+        assertTrue(Statistics.kolmogorovSmirnovPValue(Statistics.kolmogorovSmirnov(pValues), pValues.length) > 1e-6);
+        assertEquals(result.expectedNeighboursKept(), result.neighboursKept(),
+                6 * Math.sqrt(result.expectedNeighboursKept()));
+    }
+
+    @Test
+    public void testDeckLeftInOrderFailsEveryTest() {
+        final long shuffles = 10_000;
+        final long[] positions = new long[FairnessSuite.MATRIX_SIZE];
+        final long[] pairs = new long[FairnessSuite.MATRIX_SIZE];
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            positions[card * Card.DECK_SIZE + card] = shuffles;
+            if (card + 1 < Card.DECK_SIZE) {
+                pairs[card * Card.DECK_SIZE + card + 1] = shuffles;
+            }
+        }
+        final FairnessResult result = new FairnessResult(ShuffleAlgorithm.CURRENT, ShuffleRandom.SPLITTABLE,
+                shuffles, positions, pairs);
+
+        assertTrue(Statistics.chiSquarePValue(result.matrixChiSquare(), FairnessResult.MATRIX_DEGREES_OF_FREEDOM) < 1e-12);
+        assertTrue(Statistics.chiSquarePValue(result.adjacencyChiSquare(),
+                FairnessResult.ADJACENCY_DEGREES_OF_FREEDOM) < 1e-12);
+        assertEquals(shuffles * (Card.DECK_SIZE - 1), result.neighboursKept());
+    }
+}
@@ -0,0 +1,133 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.HandCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link HandEvaluator}, against the known number of hands of each category.
+ */
+public class HandEvaluatorTest {
+
+    @Test
+    public void testEveryFiveCardHandIsClassified() {
+        final long[] categories = new long[HandCategory.values().length];
+        final BitSet strengths = new BitSet();
+        final byte[] hand = new byte[5];
+        for (int a = 0; a < Card.DECK_SIZE; a++) {
+            hand[0] = (byte) a;
+            for (int b = a + 1; b < Card.DECK_SIZE; b++) {
+                hand[1] = (byte) b;
+                for (int c = b + 1; c < Card.DECK_SIZE; c++) {
+                    hand[2] = (byte) c;
+                    for (int d = c + 1; d < Card.DECK_SIZE; d++) {
+                        hand[3] = (byte) d;
+                        for (int e = d + 1; e < Card.DECK_SIZE; e++) {
+                            hand[4] = (byte) e;
+                            final int strength = HandEvaluator.evaluate(hand, 0, 5);
+                            strengths.set(strength);
+                            categories[HandEvaluator.category(strength).ordinal()]++;
+                        }
+                    }
+                }
+            }
+        }
+
+        assertEquals(HandEvaluator.HAND_CLASSES, strengths.cardinality());
+        assertEquals(1, strengths.nextSetBit(0));
+        assertArrayEquals(new long[] {1302540, 1098240, 123552, 54912, 10200, 5108, 3744, 624, 40}, categories);
+    }
+
+    @Test
+    public void testEverySevenCardHandIsClassified() {
+        final long[] categories = new long[HandCategory.values().length];
+        final byte[] hand = new byte[7];
+        for (int a = 0; a < Card.DECK_SIZE; a++) {
+            hand[0] = (byte) a;
+            for (int b = a + 1; b < Card.DECK_SIZE; b++) {
+                hand[1] = (byte) b;
+                for (int c = b + 1; c < Card.DECK_SIZE; c++) {
+                    hand[2] = (byte) c;
+                    for (int d = c + 1; d < Card.DECK_SIZE; d++) {
+                        hand[3] = (byte) d;
+                        for (int e = d + 1; e < Card.DECK_SIZE; e++) {
+                            hand[4] = (byte) e;
+                            for (int f = e + 1; f < Card.DECK_SIZE; f++) {
+                                hand[5] = (byte) f;
+                                for (int g = f + 1; g < Card.DECK_SIZE; g++) {
+                                    hand[6] = (byte) g;
+                                    categories[HandEvaluator.category(HandEvaluator.evaluate(hand, 0, 7)).ordinal()]++;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        assertArrayEquals(new long[] {
+                23294460, 58627800, 31433400, 6461620, 6180020, 4047644, 3473184, 224848, 41584
+        }, categories);
+    }
+
+    @Test
+    public void testHandsAreRankedWithinCategories() {
+        final int royalFlush = evaluate("AS KS QS JS TS");
+        final int wheel = evaluate("AH 2S 3C 4D 5H");
+        final int sixHighStraight = evaluate("2S 3C 4D 5H 6H");
+        final int acesUpKingKicker = evaluate("AS AH 7C 7D KH");
+        final int acesUpQueenKicker = evaluate("AS AH 7C 7D QH");
+
+        assertEquals(HandEvaluator.HAND_CLASSES, royalFlush);
+        assertEquals(1, evaluate("7S 5H 4C 3D 2H"));
+        assertEquals(HandCategory.STRAIGHT, HandEvaluator.category(wheel));
+        assertTrue(wheel < sixHighStraight);
+        assertTrue(acesUpQueenKicker < acesUpKingKicker);
+        assertEquals(evaluate("AC AD 7S 7H KC"), acesUpKingKicker);
+        assertEquals(HandCategory.STRAIGHT_FLUSH, HandEvaluator.category(evaluate("AD 2D 3D 4D 5D")));
+    }
+
+    @Test
+    public void testBestFiveOfSevenCards() {
+        // a flush beats the straight on the same seven cards, and the straight plays once a heart is swapped out
+        final List<Card> cards = cards("9H 8H 7S 6H 5D 2H KH 9C");
+
+        assertEquals(evaluate("9H 8H 6H 2H KH"), HandEvaluator.evaluate(cards.subList(0, 7)));
+        assertEquals(cards("9H 8H 6H 2H KH"), HandEvaluator.bestHand(cards.subList(0, 7)));
+        assertEquals(evaluate("8H 7S 6H 5D 9C"), HandEvaluator.evaluate(cards.subList(1, 8)));
+        assertEquals(HandCategory.STRAIGHT, HandEvaluator.category(HandEvaluator.evaluate(cards.subList(1, 8))));
+        assertEquals(HandCategory.FULL_HOUSE, HandEvaluator.category(evaluate("QS QH QC 4D 4H 4S 2C")));
+        assertEquals(evaluate("QS QH QC 4D 4H"), evaluate("QS QH QC 4D 4H 4S 2C"));
+    }
+
+    @Test
+    public void testInvalidHandsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> HandEvaluator.evaluate(cards("AS KS QS JS")));
+        assertThrows(IllegalArgumentException.class, () -> HandEvaluator.evaluate(new byte[8], 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> HandEvaluator.category(HandEvaluator.HAND_CLASSES + 1));
+    }
+
+    private static int evaluate(String hand) {
+        return HandEvaluator.evaluate(cards(hand));
+    }
+
+    /**
+     * Cards written as rank then suit letters, such as {@code TS} for the ten of spades.
+     */
+    private static List<Card> cards(String hand) {
+        return Arrays.stream(hand.split(" "))
+                .map(card -> Card.of(
+                        Card.Suit.values()["SHCD".indexOf(card.charAt(1))],
+                        Card.Rank.values()["23456789TJQKA".indexOf(card.charAt(0))]))
+                .toList();
+    }
+}
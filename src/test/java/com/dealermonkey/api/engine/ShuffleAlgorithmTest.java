@@ -0,0 +1,58 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ShuffleAlgorithmTest {
+
+    private static byte[] ordered() {
+        byte[] cards = new byte[Card.DECK_SIZE];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) i;
+        }
+        return cards;
+    }
+
+    @Test
+    public void testV1PermutationIsPinned() {
+        // recorded seeds must replay to the same order forever; a change here needs a new algorithm version
+        byte[] cards = ordered();
+
+        ShuffleAlgorithm.V1.shuffle(cards, 42L);
+
+        assertArrayEquals(new byte[]{
+                49, 4, 18, 41, 42, 0, 9, 5, 51, 27, 24, 48, 23, 45, 33, 47, 6, 11, 43, 12, 21, 28, 15, 32, 37, 19,
+                44, 31, 29, 34, 2, 30, 22, 35, 17, 3, 7, 25, 39, 46, 20, 50, 26, 14, 36, 10, 40, 1, 16, 13, 8, 38
+        }, cards);
+    }
+
+    @Test
+    public void testSameSeedGivesSamePermutation() {
+        byte[] first = ordered();
+        byte[] second = ordered();
+        byte[] other = ordered();
+
+        ShuffleAlgorithm.CURRENT.shuffle(first, -7L);
+        ShuffleAlgorithm.CURRENT.shuffle(second, -7L);
+        ShuffleAlgorithm.CURRENT.shuffle(other, -8L);
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, other), "Different seeds should give different permutations");
+        byte[] sorted = first.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(ordered(), sorted, "Shuffle must neither lose nor duplicate cards");
+    }
+
+    @Test
+    public void testVersionLookup() {
+        assertEquals(ShuffleAlgorithm.V1, ShuffleAlgorithm.of(1));
+        assertThrows(IllegalArgumentException.class, () -> ShuffleAlgorithm.of(0));
+    }
+}
@@ -0,0 +1,49 @@
+package com.dealermonkey.api.engine;
+
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ShuffleEngineTest {
+
+    @ParameterizedTest
+    @EnumSource(ShuffleRandom.class)
+    public void testShuffleProducesPermutation(ShuffleRandom random) {
+        ShuffleEngine engine = new ShuffleEngine(random);
+        byte[] ordered = new byte[Card.DECK_SIZE];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = (byte) i;
+        }
+
+        byte[] shuffled = ordered.clone();
+        engine.shuffle(shuffled);
+
+        assertFalse(Arrays.equals(ordered, shuffled), "Deck should be in a different order after shuffling");
+        byte[] sorted = shuffled.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(ordered, sorted, "Shuffle must neither lose nor duplicate cards");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ShuffleRandom.class)
+    public void testShuffleOnlyTouchesRange(ShuffleRandom random) {
+        ShuffleEngine engine = new ShuffleEngine(random);
+        byte[] cards = new byte[Card.DECK_SIZE];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) i;
+        }
+
+        engine.shuffle(cards, 10, 20);
+
+        for (int i = 0; i < cards.length; i++) {
+            if (i < 10 || i >= 20) {
+                assertArrayEquals(new byte[]{(byte) i}, new byte[]{cards[i]}, "Card outside range moved at " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.dealermonkey.api.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link Statistics} against tabulated values.
+ */
+public class StatisticsTest {
+
+    @Test
+    public void testChiSquarePValuesMatchTables() {
+        assertEquals(0.05, Statistics.chiSquarePValue(3.841459, 1), 1e-6);
+        assertEquals(0.05, Statistics.chiSquarePValue(18.307038, 10), 1e-6);
+        assertEquals(0.001, Statistics.chiSquarePValue(86.661, 50), 1e-7);
+        assertEquals(0.0013535098, Statistics.chiSquarePValue(86.661, 51), 1e-9);
+        assertEquals(0.5, Statistics.chiSquarePValue(50.335, 51), 1e-5);
+        assertEquals(1.0, Statistics.chiSquarePValue(0, 51));
+        assertEquals(Math.exp(-2.5), Statistics.regularizedGammaQ(1, 2.5), 1e-12);
+    }
+
+    @Test
+    public void testLogGamma() {
+        assertEquals(Math.log(24), Statistics.logGamma(5), 1e-12);
+        assertEquals(Math.log(Math.sqrt(Math.PI)), Statistics.logGamma(0.5), 1e-12);
+        assertEquals(857.9336698258574, Statistics.logGamma(200), 1e-9);
+    }
+
+    @Test
+    public void testKolmogorovSmirnov() {
+        final double[] even = new double[100];
+        for (int i = 0; i < even.length; i++) {
+            even[i] = (i + 0.5) / even.length;
+        }
+        assertEquals(0.005, Statistics.kolmogorovSmirnov(even), 1e-12);
+        assertEquals(1.0, Statistics.kolmogorovSmirnovPValue(0.005, 100));
+
+        final double[] skewed = new double[100];
+        for (int i = 0; i < skewed.length; i++) {
+            skewed[i] = even[i] * even[i];
+        }
+        final double distance = Statistics.kolmogorovSmirnov(skewed);
+        assertEquals(0.25, distance, 0.01);
+        assertTrue(Statistics.kolmogorovSmirnovPValue(distance, 100) < 1e-4);
+        // the 5% critical value of the asymptotic distribution
+        assertEquals(0.05, Statistics.kolmogorovSmirnovPValue(1.358 / (10 + 0.12 + 0.011), 100), 1e-3);
+    }
+}
@@ -0,0 +1,161 @@
+package com.dealermonkey.api.event;
+
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.service.DeckService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link DeckEventSubscription}, with delivery run step by step on a queued executor.
+ */
+public class DeckEventSubscriptionTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final RecordingSink sink = new RecordingSink();
+    private final DeckService deckService = new DeckService();
+
+    private DeckEventSubscription subscribe(int capacity, OverflowPolicy policy, long demand) {
+        final DeckEventSubscription subscription =
+                new DeckEventSubscription(deckService, sink, tasks::add, capacity, policy, demand);
+        deckService.addListener(subscription);
+        return subscription;
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    @Test
+    public void testEventsAreDeliveredInOrder() {
+        subscribe(16, OverflowPolicy.DROP_OLDEST, Long.MAX_VALUE);
+
+        deckService.dealCard();
+        deckService.dealCards(2);
+        deckService.shuffleDeck();
+        runTasks();
+
+        assertEquals(List.of(DeckEventType.DEAL, DeckEventType.DEAL, DeckEventType.SHUFFLE), sink.types());
+        assertEquals(List.of(Card.of(0)), sink.events.get(0).cards());
+        assertEquals(51, sink.events.get(0).cardsLeft());
+        assertEquals(List.of(Card.of(1), Card.of(2)), sink.events.get(1).cards());
+        assertEquals(49, sink.events.get(2).cardsLeft());
+    }
+
+    @Test
+    public void testDropOldestKeepsNewestEventsWhenSubscriberFallsBehind() {
+        final DeckEventSubscription subscription = subscribe(3, OverflowPolicy.DROP_OLDEST, Long.MAX_VALUE);
+
+        for (int i = 0; i < 5; i++) {
+            deckService.dealCard();
+        }
+        runTasks();
+
+        assertEquals(2, subscription.dropped());
+        assertEquals(List.of(49, 48, 47), sink.events.stream().map(DeckEvent::cardsLeft).toList());
+    }
+
+    @Test
+    public void testCoalesceMergesDealsWhenSubscriberFallsBehind() {
+        final DeckEventSubscription subscription = subscribe(2, OverflowPolicy.COALESCE, Long.MAX_VALUE);
+
+        deckService.shuffleDeck();
+        final List<Card> dealt = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            dealt.add(deckService.dealCard().card());
+        }
+        runTasks();
+
+        assertEquals(0, subscription.dropped());
+        assertEquals(List.of(DeckEventType.SHUFFLE, DeckEventType.DEAL), sink.types());
+        assertEquals(dealt, sink.events.get(1).cards());
+        assertEquals(48, sink.events.get(1).cardsLeft());
+    }
+
+    @Test
+    public void testDeliveryFollowsDemand() {
+        final DeckEventSubscription subscription = subscribe(16, OverflowPolicy.DROP_OLDEST, 1);
+
+        deckService.dealCard();
+        deckService.dealCard();
+        runTasks();
+        assertEquals(1, sink.events.size());
+
+        subscription.request(5);
+        runTasks();
+        assertEquals(2, sink.events.size());
+    }
+
+    @Test
+    public void testLongBacklogIsDrainedInBatches() {
+        subscribe(256, OverflowPolicy.DROP_OLDEST, Long.MAX_VALUE);
+
+        for (int i = 0; i < DeckEventSubscription.DRAIN_BATCH + 10; i++) {
+            deckService.shuffleDeck();
+        }
+        tasks.poll().run();
+
+        assertEquals(DeckEventSubscription.DRAIN_BATCH, sink.events.size());
+        assertEquals(1, tasks.size(), "A drain should hand its thread back and reschedule itself");
+        runTasks();
+        assertEquals(DeckEventSubscription.DRAIN_BATCH + 10, sink.events.size());
+    }
+
+    @Test
+    public void testFailedSendClosesSubscription() {
+        subscribe(16, OverflowPolicy.DROP_OLDEST, Long.MAX_VALUE);
+        sink.failing = true;
+
+        deckService.dealCard();
+        runTasks();
+        deckService.dealCard();
+
+        assertTrue(sink.completed);
+        assertTrue(tasks.isEmpty(), "A closed subscription should no longer be scheduled");
+    }
+
+    @Test
+    public void testClosingDeckEventsEndsTheStream() {
+        subscribe(16, OverflowPolicy.DROP_OLDEST, Long.MAX_VALUE);
+
+        deckService.closeEvents();
+        runTasks();
+        deckService.dealCard();
+
+        assertEquals(List.of(DeckEventType.CLOSED), sink.types());
+        assertTrue(sink.completed);
+        assertTrue(tasks.isEmpty());
+    }
+
+    private static final class RecordingSink implements DeckEventSink {
+        private final List<DeckEvent> events = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(DeckEvent event) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<DeckEventType> types() {
+            return events.stream().map(DeckEvent::type).toList();
+        }
+    }
+}
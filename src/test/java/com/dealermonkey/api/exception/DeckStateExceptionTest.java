@@ -0,0 +1,58 @@
+package com.dealermonkey.api.exception;
+
+import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for the preallocated {@link DeckStateException}s and their preserialized bodies.
+ */
+public class DeckStateExceptionTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final Instant TIMESTAMP = Instant.parse("2025-05-22T01:35:41.649123Z");
+
+    @Test
+    public void testBodyMatchesSerializedDeckException() throws Exception {
+        final Card aceOfSpades = Card.of(Card.Suit.SPADES, Card.Rank.ACE);
+
+        assertBody(DeckEmptyException.INSTANCE, "/v1/deck/deal");
+        assertBody(CardNotDealtException.of(aceOfSpades), "/v1/deck/discard");
+        assertBody(CardAlreadyDiscardedException.of(aceOfSpades), null);
+        assertBody(DeckEmptyException.INSTANCE, "/v1/deck/\"quoted\\pathé/deal");
+    }
+
+    @Test
+    public void testExceptionsArePreallocatedAndStackless() {
+        final Card twoOfHearts = Card.of(Card.Suit.HEARTS, Card.Rank.TWO);
+
+        assertSame(CardNotDealtException.of(twoOfHearts), CardNotDealtException.of(twoOfHearts));
+        assertSame(CardAlreadyDiscardedException.of(twoOfHearts), CardAlreadyDiscardedException.of(twoOfHearts));
+        assertEquals(0, DeckEmptyException.INSTANCE.getStackTrace().length);
+        assertEquals(0, CardNotDealtException.of(twoOfHearts).getStackTrace().length);
+        assertEquals(HttpStatus.BAD_REQUEST, CardAlreadyDiscardedException.of(twoOfHearts).status());
+        assertEquals("Card has already been discarded: " + twoOfHearts,
+                CardAlreadyDiscardedException.of(twoOfHearts).getMessage());
+    }
+
+    private static void assertBody(DeckStateException ex, String path) throws Exception {
+        final byte[] expected = MAPPER.writeValueAsBytes(DeckException.builder()
+                .timestamp(TIMESTAMP)
+                .status(ex.status().value())
+                .error(ex.status().getReasonPhrase())
+                .message(ex.getMessage())
+                .path(path)
+                .build());
+        final byte[] body = ex.body(TIMESTAMP, path);
+        assertArrayEquals(expected, body, () -> new String(body, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,144 @@
+package com.dealermonkey.api.integration;
+
+import com.dealermonkey.api.DeckOfCardsApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test comparing request handling on Tomcat's platform thread pool with virtual threads.
+ *
+ * <p>For each mode the application is started on a random port and hit by an increasing number of concurrent
+ * connections, each creating its own deck and playing rounds on it. The p99 latency and throughput per
+ * concurrency level are logged side by side. Opt-in, and only on Java 21+:
+ * {@code mvn -Pjava21 test -Dtest=DeckLoadTest -DloadTest=true}.
+ */
+@Slf4j
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+public class DeckLoadTest {
+
+    private static final int[] CONCURRENCY = {50, 400};
+    private static final int ROUNDS_PER_CONNECTION = 10;
+
+    @Test
+    public void testVirtualThreadsServeMoreConnectionsAtSameLatency() throws Exception {
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                for (int connections : CONCURRENCY) {
+                    final Result result = run(port, connections);
+                    log.info("{} threads, {} connections: p50={}ms p99={}ms throughput={} req/s errors={}",
+                            virtual ? "virtual" : "platform", connections, result.p50Millis(), result.p99Millis(),
+                            String.format("%,.0f", result.throughput()), result.errors());
+                    assertEquals(0, result.errors(), "No request should fail at " + connections + " connections");
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(DeckOfCardsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "logging.level.root=WARN",
+                        "logging.level.com.dealermonkey.api.integration=INFO")
+                .run();
+    }
+
+    private static Result run(int port, int connections) throws Exception {
+        final ExecutorService clients = Executors.newFixedThreadPool(connections);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                futures.add(clients.submit(() -> playRounds(port, start)));
+            }
+            final long begin = System.nanoTime();
+            start.countDown();
+            final List<Long> latencies = new ArrayList<>();
+            int errors = 0;
+            for (Future<long[]> future : futures) {
+                for (long latency : future.get(5, TimeUnit.MINUTES)) {
+                    if (latency < 0) {
+                        errors++;
+                    } else {
+                        latencies.add(latency);
+                    }
+                }
+            }
+            final double seconds = (System.nanoTime() - begin) / 1e9;
+            final long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.length / seconds, errors);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * One connection: create a deck, then play rebuild, shuffle and deal rounds on it. Failed requests are
+     * reported as a negative latency.
+     */
+    private static long[] playRounds(int port, CountDownLatch start) throws Exception {
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        final String base = "http://localhost:" + port + "/v1/deck";
+        start.await();
+        final long[] latencies = new long[1 + ROUNDS_PER_CONNECTION * 3];
+        final HttpResponse<String> created = send(client, post(base), latencies, 0);
+        final String deckId = created.body().replaceAll(".*\"deckId\":\"([^\"]+)\".*", "$1");
+        int i = 1;
+        for (int round = 0; round < ROUNDS_PER_CONNECTION; round++) {
+            send(client, post(base + "/" + deckId + "/rebuild"), latencies, i++);
+            send(client, post(base + "/" + deckId + "/shuffle"), latencies, i++);
+            send(client, HttpRequest.newBuilder(URI.create(base + "/" + deckId + "/deal")).GET().build(), latencies, i++);
+        }
+        return latencies;
+    }
+
+    private static HttpRequest post(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request, long[] latencies, int index)
+            throws Exception {
+        final long begin = System.nanoTime();
+        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        latencies[index] = response.statusCode() < 300 ? System.nanoTime() - begin : -1;
+        return response;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Math.round(sorted[Math.max(0, index)] / 10_000.0) / 100.0;
+    }
+
+    private record Result(double p50Millis, double p99Millis, double throughput, int errors) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.dealermonkey.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DeckRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testDiscardWithoutSuitReturnsBadRequest() throws Exception {
+        final String deckId = createDeck();
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/v1/deck/{deckId}/discard", deckId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rank\":\"king\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("must not be null"));
+        mockMvc.perform(post("/v1/deck/{deckId}/discard", deckId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"suit\":\"spades\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/deck/{deckId}/discard", deckId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cards.length()").value(0));
+    }
+
+    @Test
+    public void testOutOfRangeParametersReturnBadRequest() throws Exception {
+        final String deckId = createDeck();
+
+        mockMvc.perform(post("/v1/deck/{deckId}/cut/{index}", deckId, -1))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.path").value("/v1/deck/" + deckId + "/cut/-1"));
+        mockMvc.perform(post("/v1/deck/{deckId}/deal", deckId).param("count", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/v1/deck/{deckId}/deal", deckId).param("players", "0").param("cardsPerPlayer", "2"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/deck/{deckId}", deckId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cards.length()").value(52));
+    }
+
+    @Test
+    public void testDealingMoreCardsThanLeftReturnsNotFound() throws Exception {
+        final String deckId = createDeck();
+
+        mockMvc.perform(post("/v1/deck/{deckId}/deal", deckId).param("count", "53"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Not enough cards left in the deck"))
+                .andExpect(jsonPath("$.path").value("/v1/deck/" + deckId + "/deal"));
+        mockMvc.perform(get("/v1/deck/{deckId}", deckId))
+                .andExpect(jsonPath("$.data.cards.length()").value(52));
+    }
+
+    @Test
+    public void testBatchWithInvalidOperationReturnsBadRequest() throws Exception {
+        final String deckId = createDeck();
+
+        mockMvc.perform(post("/v1/deck/{deckId}/batch", deckId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"deal\",\"count\":1},{\"type\":\"cut\",\"index\":-1}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/v1/deck/{deckId}/batch", deckId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"deal\",\"count\":1},"
+                                + "{\"type\":\"discard\",\"card\":{\"rank\":\"two\"}}]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.card.suit").value("spades"))
+                .andExpect(jsonPath("$.data.card.rank").value("two"));
+    }
+
+    @Test
+    public void testEventStreamPushesDealsAndEndsOnEviction() throws Exception {
+        final String deckId = createDeck();
+
+        final MvcResult stream = mockMvc.perform(get("/v1/deck/{deckId}/events", deckId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId)).andExpect(status().isOk());
+        mockMvc.perform(delete("/v1/deck/{deckId}", deckId)).andExpect(status().isNoContent());
+        stream.getAsyncResult(10_000);
+
+        final String events = stream.getResponse().getContentAsString();
+        assertTrue(events.startsWith(":subscribed"), events);
+        assertTrue(events.contains("event:deal\ndata:{\"type\":\"deal\""), events);
+        assertTrue(events.contains("\"cardsLeft\":51"), events);
+        assertTrue(events.contains("event:closed"), events);
+    }
+
+    private String createDeck() throws Exception {
+        return mockMvc.perform(post("/v1/deck"))
+                .andReturn().getResponse().getContentAsString().replaceAll(".*\"deckId\":\"([^\"]+)\".*", "$1");
+    }
+}
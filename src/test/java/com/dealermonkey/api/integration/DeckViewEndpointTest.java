@@ -0,0 +1,72 @@
+package com.dealermonkey.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DeckViewEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testDeckIsServedWithETagAndNotModified() throws Exception {
+        final String deckId = mockMvc.perform(post("/v1/deck"))
+                .andReturn().getResponse().getContentAsString().replaceAll(".*\"deckId\":\"([^\"]+)\".*", "$1");
+
+        final String etag = mockMvc.perform(get("/v1/deck/{deckId}", deckId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cards.length()").value(52))
+                .andExpect(jsonPath("$.data.cards[0].rank").value("two"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v1/deck/{deckId}", deckId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/deck/{deckId}", deckId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.data.cards.length()").value(51));
+    }
+
+    @Test
+    public void testDiscardPileIsServedWithETagAndNotModified() throws Exception {
+        final String deckId = mockMvc.perform(post("/v1/deck"))
+                .andReturn().getResponse().getContentAsString().replaceAll(".*\"deckId\":\"([^\"]+)\".*", "$1");
+
+        final String etag = mockMvc.perform(get("/v1/deck/{deckId}/discard", deckId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cards.length()").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/deck/{deckId}/discard", deckId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId)).andExpect(status().isOk());
+        mockMvc.perform(post("/v1/deck/{deckId}/discard", deckId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"suit\":\"spades\",\"rank\":\"two\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/deck/{deckId}/discard", deckId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cards[0].suit").value("spades"))
+                .andExpect(jsonPath("$.data.cards[0].rank").value("two"));
+    }
+}
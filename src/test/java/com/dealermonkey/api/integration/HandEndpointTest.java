@@ -0,0 +1,74 @@
+package com.dealermonkey.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class HandEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testBestHandIsEvaluated() throws Exception {
+        mockMvc.perform(post("/v1/hand/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"cards":[
+                                  {"suit":"spades","rank":"queen"},{"suit":"hearts","rank":"queen"},
+                                  {"suit":"clubs","rank":"four"},{"suit":"diamonds","rank":"four"},
+                                  {"suit":"hearts","rank":"four"},{"suit":"spades","rank":"ace"},
+                                  {"suit":"clubs","rank":"two"}
+                                ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.category").value("full_house"))
+                .andExpect(jsonPath("$.data.strength").value(7174))
+                .andExpect(jsonPath("$.data.cards.length()").value(5))
+                .andExpect(jsonPath("$.data.cards[4].rank").value("four"));
+    }
+
+    @Test
+    public void testRepeatedCardsAreRejected() throws Exception {
+        mockMvc.perform(post("/v1/hand/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"cards":[
+                                  {"suit":"spades","rank":"queen"},{"suit":"spades","rank":"queen"},
+                                  {"suit":"clubs","rank":"four"},{"suit":"diamonds","rank":"four"},
+                                  {"suit":"hearts","rank":"four"}
+                                ]}"""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testCardsWithoutSuitOrRankAreRejected() throws Exception {
+        mockMvc.perform(post("/v1/hand/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"cards":[
+                                  {"suit":"spades","rank":"queen"},{"rank":"king"},
+                                  {"suit":"clubs","rank":"four"},{"suit":"diamonds","rank":"four"},
+                                  {"suit":"hearts","rank":"four"}
+                                ]}"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(post("/v1/hand/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"cards":[
+                                  {"suit":"spades","rank":"queen"},{"suit":"hearts"},
+                                  {"suit":"clubs","rank":"four"},{"suit":"diamonds","rank":"four"},
+                                  {"suit":"hearts","rank":"four"}
+                                ]}"""))
+                .andExpect(status().isBadRequest());
+    }
+}
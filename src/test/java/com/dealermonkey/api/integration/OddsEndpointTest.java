@@ -0,0 +1,58 @@
+package com.dealermonkey.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OddsEndpointTest {
+
+    private static final String TURN = """
+            {"hands":[
+              [{"suit":"hearts","rank":"ace"},{"suit":"hearts","rank":"king"}],
+              [{"suit":"spades","rank":"queen"},{"suit":"clubs","rank":"queen"}]
+            ],"board":[
+              {"suit":"hearts","rank":"two"},{"suit":"hearts","rank":"seven"},
+              {"suit":"spades","rank":"nine"},{"suit":"clubs","rank":"ten"}
+            ]}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testEveryRiverIsCounted() throws Exception {
+        final MvcResult started = mockMvc.perform(post("/v1/odds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TURN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.exhaustive").value(true))
+                .andExpect(jsonPath("$.data.deals").value(44))
+                .andExpect(jsonPath("$.data.equities[0]").value(closeTo(15.0 / 44, 1e-9)))
+                .andExpect(jsonPath("$.data.equities[1]").value(closeTo(29.0 / 44, 1e-9)))
+                .andExpect(jsonPath("$.data.standardError").value(0.0));
+    }
+
+    @Test
+    public void testRepeatedCardsAreRejected() throws Exception {
+        mockMvc.perform(post("/v1/odds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TURN.replace("\"spades\",\"rank\":\"nine\"", "\"hearts\",\"rank\":\"ace\"")))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,38 @@
+package com.dealermonkey.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testDeckMetricsAreScraped() throws Exception {
+        mockMvc.perform(get("/v1/deck/deal")).andExpect(status().isOk());
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", "missing")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("deck_operation_seconds_count{operation=\"deal\"")))
+                .andExpect(content().string(containsString("deck_operation_seconds_bucket{operation=\"deal\",le=\"1.0E-6\"")))
+                .andExpect(content().string(containsString("deck_lock_hold_seconds_count{operation=\"rebuild\"")))
+                .andExpect(content().string(containsString("deck_registry_decks ")))
+                .andExpect(content().string(containsString("deck_cards_left{deck=\"default\"")))
+                .andExpect(content().string(containsString(
+                        "deck_errors_total{exception=\"ResponseStatusException\",status=\"404\"")));
+    }
+}
@@ -0,0 +1,234 @@
+package com.dealermonkey.api.integration;
+
+import com.dealermonkey.api.codec.CardBytes;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class ReactiveDeckRestControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void testDealFromCreatedDeck() {
+        String deckId = webTestClient.post().uri("/v1/deck")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody()
+                .get("data").toString().replaceAll(".*deckId=([^,}]+).*", "$1");
+
+        webTestClient.post().uri("/v1/deck/{deckId}/order", deckId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/v1/deck/{deckId}/deal", deckId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.card.suit").isEqualTo("spades")
+                .jsonPath("$.data.card.rank").isEqualTo("two");
+
+        webTestClient.post().uri("/v1/deck/{deckId}/deal?players=2&cardsPerPlayer=2", deckId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.hands.length()").isEqualTo(2);
+    }
+
+    @Test
+    public void testCardsAreNegotiatedAsBytesOrCbor() throws Exception {
+        webTestClient.post().uri("/v1/deck/rebuild")
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.post().uri("/v1/deck/order")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.post().uri("/v1/deck/deal?count=3")
+                .accept(CardBytes.MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CardBytes.MEDIA_TYPE)
+                .expectBody(byte[].class).isEqualTo(new byte[]{0, 1, 2});
+
+        webTestClient.post().uri("/v1/deck/discard")
+                .contentType(CardBytes.MEDIA_TYPE)
+                .bodyValue(new byte[]{1})
+                .accept(CardBytes.MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).isEqualTo(new byte[]{1});
+
+        final byte[] body = webTestClient.get().uri("/v1/deck/deal")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+        final JsonNode card = new ObjectMapper(new CBORFactory()).readTree(body).get("data").get("card");
+        assertEquals("spades", card.get("suit").asText());
+        assertEquals("five", card.get("rank").asText());
+    }
+
+    @Test
+    public void testBatchIsAppliedAtomically() {
+        webTestClient.post().uri("/v1/deck/rebuild")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.post().uri("/v1/deck/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("operations", List.of(
+                        Map.of("type", "deal", "count", 2),
+                        Map.of("type", "discard", "card", Map.of("suit", "spades", "rank", "two")),
+                        Map.of("type", "cut", "index", 10))))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.results.length()").isEqualTo(3)
+                .jsonPath("$.data.results[0][1].rank").isEqualTo("three")
+                .jsonPath("$.data.results[1].length()").isEqualTo(0);
+
+        webTestClient.post().uri("/v1/deck/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("operations", List.of(
+                        Map.of("type", "deal", "count", 1),
+                        Map.of("type", "discard", "card", Map.of("suit", "spades", "rank", "two")))))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo("/v1/deck/batch");
+
+        webTestClient.get().uri("/v1/deck/cheat")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.card.suit").isEqualTo("spades")
+                .jsonPath("$.data.card.rank").isEqualTo("ace");
+    }
+
+    @Test
+    public void testDiscardUndealtCardReturnsBadRequest() {
+        webTestClient.post().uri("/v1/deck/rebuild")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.post().uri("/v1/deck/discard")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"suit\":\"hearts\",\"rank\":\"king\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Cannot discard card that was not dealt: Card[suit=HEARTS, rank=KING]")
+                .jsonPath("$.path").isEqualTo("/v1/deck/discard");
+    }
+
+    @Test
+    public void testInvalidArgumentsReturnBadRequest() {
+        String deckId = webTestClient.post().uri("/v1/deck")
+                .exchange()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody()
+                .get("data").toString().replaceAll(".*deckId=([^,}]+).*", "$1");
+
+        webTestClient.post().uri("/v1/deck/{deckId}/cut/{index}", deckId, -1)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.path").isEqualTo("/v1/deck/" + deckId + "/cut/-1");
+        webTestClient.post().uri("/v1/deck/{deckId}/deal?count=0", deckId)
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.post().uri("/v1/deck/{deckId}/deal?players=2&cardsPerPlayer=0", deckId)
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/v1/deck/{deckId}/deal", deckId)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/v1/deck/{deckId}/discard", deckId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"rank\":\"two\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("must not be null");
+
+        webTestClient.get().uri("/v1/deck/{deckId}", deckId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.cards.length()").isEqualTo(51);
+    }
+
+    @Test
+    public void testUnknownDeckReturnsNotFoundWithPath() {
+        webTestClient.get().uri("/v1/deck/missing/deal")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Deck not found: missing")
+                .jsonPath("$.path").isEqualTo("/v1/deck/missing/deal");
+    }
+
+    @Test
+    public void testEventStreamOfUnknownDeckReturnsNotFound() {
+        webTestClient.get().uri("/v1/deck/missing/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testEventStreamPushesDealsAndEndsOnEviction() {
+        String deckId = webTestClient.post().uri("/v1/deck")
+                .exchange()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody()
+                .get("data").toString().replaceAll(".*deckId=([^,}]+).*", "$1");
+
+        Flux<ServerSentEvent<Map>> events = webTestClient.get().uri("/v1/deck/{deckId}/events", deckId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Map>>() { })
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .assertNext(event -> assertEquals("subscribed", event.comment()))
+                .then(() -> {
+                    webTestClient.get().uri("/v1/deck/{deckId}/deal", deckId).exchange().expectStatus().isOk();
+                    webTestClient.delete().uri("/v1/deck/{deckId}", deckId).exchange().expectStatus().isNoContent();
+                })
+                .assertNext(event -> {
+                    assertEquals("deal", event.event());
+                    assertEquals(51, event.data().get("cardsLeft"));
+                })
+                .assertNext(event -> assertEquals("closed", event.event()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+}
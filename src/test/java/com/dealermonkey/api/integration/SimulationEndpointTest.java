@@ -0,0 +1,73 @@
+package com.dealermonkey.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SimulationEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testSimulationReturnsFrequenciesPerPosition() throws Exception {
+        final MvcResult started = mockMvc.perform(post("/v1/simulation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"decks\":6,\"cards\":2,\"trials\":10000,\"seed\":42}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.seed").value(42))
+                .andExpect(jsonPath("$.data.trials").value(10000))
+                .andExpect(jsonPath("$.data.frequencies.length()").value(2))
+                .andExpect(jsonPath("$.data.frequencies[0].length()").value(52))
+                .andExpect(jsonPath("$.data.chiSquares.length()").value(2))
+                .andExpect(jsonPath("$.data.degreesOfFreedom").value(51));
+    }
+
+    @Test
+    public void testTooManyCardsIsRejected() throws Exception {
+        mockMvc.perform(post("/v1/simulation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"decks\":1,\"cards\":53,\"trials\":10}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/v1/simulation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"decks\":8,\"cards\":416,\"trials\":100000000}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testFairnessValidationReportsEveryTest() throws Exception {
+        final MvcResult started = mockMvc.perform(post("/v1/admin/fairness")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shuffles\":20000,\"random\":\"SPLITTABLE\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.algorithm").value(1))
+                .andExpect(jsonPath("$.data.random").value("SPLITTABLE"))
+                .andExpect(jsonPath("$.data.positionFrequencies.length()").value(52))
+                .andExpect(jsonPath("$.data.positionPValues.length()").value(52))
+                .andExpect(jsonPath("$.data.positionDegreesOfFreedom").value(2601))
+                .andExpect(jsonPath("$.data.adjacencyDegreesOfFreedom").value(2651))
+                .andExpect(jsonPath("$.data.ksPValue").isNumber())
+                .andExpect(jsonPath("$.data.passed").isBoolean());
+    }
+}
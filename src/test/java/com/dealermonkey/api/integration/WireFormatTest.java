@@ -0,0 +1,111 @@
+package com.dealermonkey.api.integration;
+
+import com.dealermonkey.api.codec.CardBytes;
+import com.dealermonkey.api.model.Card;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class WireFormatTest {
+
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testJsonIsTheDefault() throws Exception {
+        final String deckId = createOrderedDeck();
+
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"data\":{\"card\":{\"suit\":\"spades\",\"rank\":\"two\"}}}"));
+    }
+
+    @Test
+    public void testCardsAreDealtAsOneBytePerCard() throws Exception {
+        final String deckId = createOrderedDeck();
+
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", deckId).accept(CardBytes.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CardBytes.MEDIA_TYPE))
+                .andExpect(content().bytes(new byte[]{0}));
+        mockMvc.perform(post("/v1/deck/{deckId}/deal", deckId).param("count", "3").accept(CardBytes.MEDIA_TYPE))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+        mockMvc.perform(post("/v1/deck/{deckId}/deal", deckId).param("players", "2").param("cardsPerPlayer", "2")
+                        .accept(CardBytes.MEDIA_TYPE))
+                .andExpect(content().bytes(new byte[]{0, 2, 4, 6, 0, 2, 5, 7}));
+
+        mockMvc.perform(post("/v1/deck/{deckId}/discard", deckId)
+                        .contentType(CardBytes.MEDIA_TYPE).content(new byte[]{2})
+                        .accept(CardBytes.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[]{2}));
+        mockMvc.perform(post("/v1/deck/{deckId}/discard", deckId)
+                        .contentType(CardBytes.MEDIA_TYPE).content(new byte[]{(byte) Card.DECK_SIZE}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testResponsesAreNegotiatedAsCbor() throws Exception {
+        final String deckId = createOrderedDeck();
+
+        final byte[] body = mockMvc.perform(post("/v1/deck/{deckId}/deal", deckId).param("count", "52")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final JsonNode cards = CBOR.readTree(body).get("data").get("cards");
+        assertEquals(52, cards.size());
+        assertEquals("spades", cards.get(0).get("suit").asText());
+        assertEquals("ace", cards.get(51).get("rank").asText());
+
+        final byte[] discarded = mockMvc.perform(post("/v1/deck/{deckId}/discard", deckId)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(CBOR.writeValueAsBytes(Card.of(Card.Suit.DIAMONDS, Card.Rank.ACE)))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("diamonds", CBOR.readTree(discarded).get("data").get("card").get("suit").asText());
+    }
+
+    @Test
+    public void testErrorsAreJsonWhateverTheNegotiatedFormat() throws Exception {
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", "missing").accept(CardBytes.MEDIA_TYPE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Deck not found: missing"));
+        mockMvc.perform(get("/v1/deck/{deckId}/deal", "missing").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(post("/v1/deck").accept(CardBytes.MEDIA_TYPE))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private String createOrderedDeck() throws Exception {
+        final String body = mockMvc.perform(post("/v1/deck"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        final String deckId = new ObjectMapper().readTree(body).get("data").get("deckId").asText();
+        mockMvc.perform(post("/v1/deck/{deckId}/order", deckId)).andExpect(status().isNoContent());
+        return deckId;
+    }
+}
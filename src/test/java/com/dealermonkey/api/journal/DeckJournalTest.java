@@ -0,0 +1,355 @@
+package com.dealermonkey.api.journal;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.config.JournalProperties;
+import com.dealermonkey.api.config.RegistryProperties;
+import com.dealermonkey.api.engine.ShuffleRandom;
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckOperation;
+import com.dealermonkey.api.service.DeckRegistry;
+import com.dealermonkey.api.service.DeckService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recovery tests for {@link DeckJournal}: decks are changed through one registry, the journal is stopped and
+ * a second registry recovers them from the same directory.
+ */
+@Slf4j
+public class DeckJournalTest {
+
+    private static final ObjectFactory<DeckService> SHOES =
+            () -> new DeckService(new DeckProperties(ShuffleRandom.L64X128_MIX, 2, 0.5));
+
+    @TempDir
+    Path directory;
+
+    private DeckJournal journal() {
+        return journal(JournalDurability.GROUP, Duration.ofMillis(10));
+    }
+
+    private DeckJournal journal(JournalDurability durability, Duration syncInterval) {
+        return new DeckJournal(new JournalProperties(true, directory, DataSize.ofKilobytes(64), durability,
+                syncInterval, Duration.ofHours(1)));
+    }
+
+    private static DeckRegistry registry(DeckJournal journal, ObjectFactory<DeckService> factory) {
+        return new DeckRegistry(factory, 16,
+                new StaticListableBeanFactory(Map.of("deckJournal", journal)).getBeanProvider(DeckJournal.class));
+    }
+
+    private static void play(DeckService deck) {
+        deck.shuffleDeck();
+        final Card first = deck.dealCard().card();
+        final List<Card> dealt = deck.dealCards(3);
+        deck.discardCard(first);
+        deck.discardCard(dealt.get(1));
+        deck.cutDeck(10);
+        deck.dealHands(2, 2);
+        deck.shuffleDeck();
+        deck.dealCards(5);
+    }
+
+    private static void assertSameDeck(DeckService expected, DeckService actual) {
+        assertEquals(expected.getDeck(), actual.getDeck(), "Cards left should be recovered in order");
+        assertEquals(expected.getDiscardPile(), actual.getDiscardPile(), "Discard pile should be recovered");
+        assertEquals(expected.history(), actual.history(), "History should be recovered");
+    }
+
+    @Test
+    public void testDecksAreRecoveredFromJournalAlone() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        final String deckId = registry.createDeck();
+        play(registry.getDeck(deckId));
+        play(registry.getDefaultDeck());
+        final String evictedId = registry.createDeck();
+        registry.getDeck(evictedId).dealCard();
+        registry.evictDeck(evictedId);
+        journal.halt();
+
+        final DeckRegistry recovered = registry(journal(), DeckService::new);
+
+        assertEquals(2, recovered.size());
+        assertSameDeck(registry.getDeck(deckId), recovered.getDeck(deckId));
+        assertSameDeck(registry.getDefaultDeck(), recovered.getDefaultDeck());
+        assertThrows(RuntimeException.class, () -> recovered.getDeck(evictedId));
+    }
+
+    @Test
+    public void testJournalAfterSnapshotIsReplayedOnTopOfIt() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = registry(journal, SHOES);
+        final String deckId = registry.createDeck();
+        final DeckService deck = registry.getDeck(deckId);
+        play(deck);
+        journal.snapshot();
+        play(deck);
+        final String lateId = registry.createDeck();
+        play(registry.getDeck(lateId));
+        journal.halt();
+
+        final DeckRegistry recovered = registry(journal(), SHOES);
+
+        assertSameDeck(deck, recovered.getDeck(deckId));
+        assertSameDeck(registry.getDeck(lateId), recovered.getDeck(lateId));
+        assertEquals(deck.dealCards(10), recovered.getDeck(deckId).dealCards(10),
+                "Recovered deck should keep dealing the same cards");
+    }
+
+    @Test
+    public void testSpilledDecksAreSnapshotAndJournaledAfterRehydration() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = new DeckRegistry(DeckService::new,
+                new RegistryProperties(16, 2, Duration.ofHours(1), DataSize.ofKilobytes(64)),
+                new StaticListableBeanFactory(Map.of("deckJournal", journal)).getBeanProvider(DeckJournal.class));
+        final List<String> deckIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final String deckId = registry.createDeck();
+            play(registry.getDeck(deckId));
+            deckIds.add(deckId);
+        }
+        assertTrue(registry.spilledSize() > 0, "Decks beyond the maximum should be spilled");
+        journal.snapshot();
+        // rehydrates the first deck and journals its change after the snapshot
+        registry.getDeck(deckIds.get(0)).dealCards(2);
+        final List<List<Card>> expected = deckIds.stream().map(deckId -> registry.getDeck(deckId).getDeck()).toList();
+        journal.halt();
+
+        final DeckRegistry recovered = registry(journal(), DeckService::new);
+
+        assertEquals(21, recovered.size());
+        assertEquals(expected, deckIds.stream().map(deckId -> recovered.getDeck(deckId).getDeck()).toList());
+    }
+
+    @Test
+    public void testCutCardReshuffleIsReplayed() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = registry(journal, SHOES);
+        final DeckService shoe = registry.getDefaultDeck();
+        final List<Card> dealt = new ArrayList<>(shoe.dealCards(40));
+        for (Card card : dealt.subList(0, 20)) {
+            shoe.discardCard(card);
+        }
+        dealt.addAll(shoe.dealCards(20));
+        assertEquals(64 + 20 - 20, shoe.size(), "Cut card should have shuffled the discards back in");
+        journal.halt();
+
+        final DeckRegistry recovered = registry(journal(), SHOES);
+
+        assertSameDeck(shoe, recovered.getDefaultDeck());
+    }
+
+    @Test
+    public void testBatchIsReplayed() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = registry(journal, SHOES);
+        final DeckService shoe = registry.getDefaultDeck();
+        final List<Card> dealt = shoe.batch(List.of(
+                DeckOperation.of(DeckEventType.SHUFFLE),
+                DeckOperation.deal(40))).get(1);
+        final List<DeckOperation> discards = dealt.subList(0, 20).stream().map(DeckOperation::discard).toList();
+        shoe.batch(discards);
+        shoe.batch(List.of(DeckOperation.deal(20), DeckOperation.cut(5), DeckOperation.deal(2)));
+        assertEquals(64 + 20 - 20 - 2, shoe.size(), "Cut card should have shuffled the discards back in");
+        journal.halt();
+
+        final DeckRegistry recovered = registry(journal(), SHOES);
+
+        assertSameDeck(shoe, recovered.getDefaultDeck());
+    }
+
+    @Test
+    public void testJournalRollsOverSegmentsAndSnapshotDropsOldOnes() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        final DeckService deck = registry.getDefaultDeck();
+        for (int round = 0; round < 200; round++) {
+            deck.shuffleDeck();
+            for (int i = 0; i < 40; i++) {
+                deck.dealCard();
+            }
+            deck.rebuildDeck();
+        }
+        deck.shuffleDeck();
+        deck.dealCards(7);
+        assertTrue(segmentCount() > 1, "Journal should span several 64KB segments");
+
+        journal.snapshot();
+        assertEquals(1, segmentCount(), "Snapshot should drop the segments it covers");
+        deck.dealCards(3);
+        journal.halt();
+
+        final DeckRegistry recovered = registry(journal(), DeckService::new);
+
+        assertSameDeck(deck, recovered.getDefaultDeck());
+    }
+
+    @Test
+    public void testFullSegmentSettlesOnceEveryClaimIsCommitted() throws IOException {
+        final JournalSegment segment = JournalSegment.create(directory, 0, (int) DataSize.ofKilobytes(64).toBytes());
+
+        assertTrue(segment.deal(DeckJournal.DEFAULT_DECK_HANDLE, 0, 1));
+        assertTrue(segment.force(), "No claim was in flight, so the force should cover every record");
+        assertFalse(segment.settled(), "A segment with room left may still be written to");
+
+        int top = 1;
+        while (segment.deal(DeckJournal.DEFAULT_DECK_HANDLE, 0, ++top)) {
+            assertFalse(segment.settled());
+        }
+        assertTrue(segment.settled(), "A full segment with no claims in flight can be closed");
+        segment.close();
+    }
+
+    @Test
+    public void testReplayingRecordsTwiceHasNoEffect() throws IOException {
+        final DeckJournal journal = journal();
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        play(registry.getDefaultDeck());
+        journal.halt();
+
+        final List<JournalRecord> records = new ArrayList<>();
+        JournalReader.replay(directory, 0, 64 * 1024, JournalDurability.TIMED, records::add).close();
+        final DeckService replayed = new DeckService();
+        records.forEach(replayed::replay);
+        records.forEach(replayed::replay);
+
+        assertSameDeck(registry.getDefaultDeck(), replayed);
+    }
+
+    @Test
+    public void testRecoveryOfManyDecks() throws IOException {
+        final int deckCount = 100_000;
+        final DeckJournal journal = journal(JournalDurability.TIMED, Duration.ofMillis(10));
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        final List<String> deckIds = new ArrayList<>(deckCount);
+        for (int i = 0; i < deckCount; i++) {
+            final String deckId = registry.createDeck();
+            final DeckService deck = registry.getDeck(deckId);
+            deck.shuffleDeck();
+            deck.dealCards(5);
+            deckIds.add(deckId);
+        }
+        journal.snapshot();
+        for (String deckId : deckIds.subList(0, 1_000)) {
+            registry.getDeck(deckId).dealCard();
+        }
+        journal.halt();
+
+        final long started = System.nanoTime();
+        final DeckRegistry recovered = registry(journal(), DeckService::new);
+        final long millis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        log.info("Recovered {} decks in {} ms", recovered.size(), millis);
+        assertEquals(deckCount + 1, recovered.size());
+        assertSameDeck(registry.getDeck(deckIds.get(0)), recovered.getDeck(deckIds.get(0)));
+        assertSameDeck(registry.getDeck(deckIds.get(deckCount - 1)), recovered.getDeck(deckIds.get(deckCount - 1)));
+    }
+
+    @Test
+    public void testGroupCommitReturnsOnlyOnceTheRecordIsSynced() throws IOException {
+        // no timed syncs, so every sync counted here was run for an operation
+        final DeckJournal journal = journal(JournalDurability.GROUP, Duration.ofHours(1));
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        final DeckService deck = registry.getDeck(registry.createDeck());
+        long syncs = journal.syncs();
+        assertTrue(syncs > 0, "Creating a deck should wait for a sync");
+
+        deck.shuffleDeck();
+        assertTrue(journal.syncs() > syncs, "A shuffle should wait for a sync");
+        syncs = journal.syncs();
+        final Card dealt = deck.dealCard().card();
+        assertTrue(journal.syncs() > syncs, "A deal should wait for a sync");
+        syncs = journal.syncs();
+        deck.discardCard(dealt);
+        assertTrue(journal.syncs() > syncs, "A discard should wait for a sync");
+        syncs = journal.syncs();
+        deck.batch(List.of(DeckOperation.deal(2), DeckOperation.cut(5)));
+        assertEquals(syncs + 1, journal.syncs(), "A batch should wait for a single sync");
+        journal.halt();
+    }
+
+    @Test
+    public void testTimedFlushDoesNotWaitForSync() throws IOException {
+        final DeckJournal journal = journal(JournalDurability.TIMED, Duration.ofHours(1));
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        final DeckService deck = registry.getDeck(registry.createDeck());
+        play(deck);
+
+        assertEquals(0, journal.syncs(), "Operations should not wait for the sync thread");
+        journal.halt();
+    }
+
+    @Test
+    public void testConcurrentOperationsShareGroupCommits() throws Exception {
+        final int threads = 16;
+        final int dealsPerThread = 50;
+        final DeckJournal journal = journal(JournalDurability.GROUP, Duration.ofHours(1));
+        final DeckRegistry registry = registry(journal, DeckService::new);
+        final List<String> deckIds = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            deckIds.add(registry.createDeck());
+        }
+        final long before = journal.syncs();
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> dealers = new ArrayList<>(threads);
+            for (String deckId : deckIds) {
+                dealers.add(pool.submit(() -> {
+                    start.await();
+                    final DeckService deck = registry.getDeck(deckId);
+                    for (int i = 0; i < dealsPerThread; i++) {
+                        deck.dealCard();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> dealer : dealers) {
+                dealer.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        final long syncs = journal.syncs() - before;
+        journal.halt();
+
+        log.info("{} concurrent deals were made durable with {} syncs", threads * dealsPerThread, syncs);
+        assertTrue(syncs < threads * dealsPerThread, "Concurrent deals should share syncs");
+        final DeckRegistry recovered = registry(journal(), DeckService::new);
+        for (String deckId : deckIds) {
+            assertSameDeck(registry.getDeck(deckId), recovered.getDeck(deckId));
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("journal-")).count();
+        }
+    }
+}
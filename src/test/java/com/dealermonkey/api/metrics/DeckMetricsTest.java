@@ -0,0 +1,72 @@
+package com.dealermonkey.api.metrics;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.service.DeckService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Unit tests for the meters recorded by {@link DeckService} through {@link DeckMetrics}.
+ */
+public class DeckMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DeckService deckService = new DeckService(DeckProperties.DEFAULTS, new DeckMetrics(registry));
+
+    @Test
+    public void testOperationsAreTimed() {
+        deckService.dealCard();
+        deckService.dealCards(3);
+        deckService.shuffleDeck();
+        deckService.cutDeck(10);
+        deckService.cheat();
+
+        assertEquals(2, timer("deck.operation", "deal").count());
+        assertEquals(1, timer("deck.operation", "shuffle").count());
+        assertEquals(1, timer("deck.operation", "cut").count());
+        assertEquals(1, timer("deck.operation", "cheat").count());
+        assertEquals(0, timer("deck.operation", "order").count());
+    }
+
+    @Test
+    public void testLockWaitAndHoldAreTimedOncePerLockedOperation() {
+        final long rebuilds = timer("deck.lock.hold", "rebuild").count();
+
+        deckService.discardCard(deckService.dealCard().card());
+        deckService.shuffleDeck();
+        deckService.rebuildDeck();
+
+        assertEquals(0, timer("deck.lock.wait", "deal").count(), "Deals never take the lock");
+        assertEquals(1, timer("deck.lock.wait", "discard").count());
+        assertEquals(1, timer("deck.lock.hold", "discard").count());
+        assertEquals(1, timer("deck.lock.wait", "shuffle").count());
+        assertEquals(1, timer("deck.lock.hold", "shuffle").count());
+        assertEquals(rebuilds + 1, timer("deck.lock.hold", "rebuild").count());
+    }
+
+    @Test
+    public void testErrorsAreCountedByStatusAndException() {
+        final DeckMetrics metrics = new DeckMetrics(registry);
+
+        metrics.recordError(HttpStatus.NOT_FOUND, new ResponseStatusException(HttpStatus.NOT_FOUND));
+        metrics.recordError(HttpStatus.NOT_FOUND, new ResponseStatusException(HttpStatus.NOT_FOUND));
+        metrics.recordError(HttpStatus.BAD_REQUEST, new IllegalArgumentException());
+
+        assertEquals(2, registry.get("deck.errors").tag("status", "404")
+                .tag("exception", "ResponseStatusException").counter().count());
+        assertEquals(1, registry.get("deck.errors").tag("status", "400")
+                .tag("exception", "IllegalArgumentException").counter().count());
+    }
+
+    private Timer timer(String name, String operation) {
+        final Timer timer = registry.get(name).tag("operation", operation).timer();
+        assertNotNull(timer);
+        return timer;
+    }
+}
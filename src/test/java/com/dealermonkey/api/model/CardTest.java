@@ -0,0 +1,26 @@
+package com.dealermonkey.api.model;
+
+import com.dealermonkey.api.model.Card.Rank;
+import com.dealermonkey.api.model.Card.Suit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CardTest {
+
+    @Test
+    public void testFlyweightTableMatchesDefaultDeckOrder() {
+        int ordinal = 0;
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = Card.of(suit, rank);
+                assertEquals(new Card(suit, rank), card);
+                assertEquals(ordinal, card.ordinal());
+                assertSame(card, Card.of(ordinal), "Cards should be shared flyweights");
+                ordinal++;
+            }
+        }
+        assertEquals(Card.DECK_SIZE, ordinal);
+    }
+}
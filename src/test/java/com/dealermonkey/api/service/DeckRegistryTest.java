@@ -0,0 +1,175 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.DeckEventProperties;
+import com.dealermonkey.api.config.RegistryProperties;
+import com.dealermonkey.api.event.DeckEvent;
+import com.dealermonkey.api.event.DeckEventDispatcher;
+import com.dealermonkey.api.event.DeckEventSink;
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeckRegistryTest {
+
+    private DeckRegistry deckRegistry;
+
+    @BeforeEach
+    void setUp() {
+        deckRegistry = new DeckRegistry(DeckService::new, 16);
+    }
+
+    @Test
+    public void testCreatedDecksAreIndependent() {
+        String firstId = deckRegistry.createDeck();
+        String secondId = deckRegistry.createDeck();
+        assertNotEquals(firstId, secondId);
+
+        DeckService first = deckRegistry.getDeck(firstId);
+        DeckService second = deckRegistry.getDeck(secondId);
+        assertNotSame(first, second);
+
+        Card dealt = first.dealCard().card();
+        assertEquals(dealt, second.cheat(), "Dealing from one deck should not affect another");
+        assertEquals(51, first.getDeck().size());
+        assertEquals(52, second.getDeck().size());
+        assertEquals(52, deckRegistry.getDefaultDeck().getDeck().size());
+    }
+
+    @Test
+    public void testResolveFallsBackToDefaultDeck() {
+        assertSame(deckRegistry.getDefaultDeck(), deckRegistry.resolve(null));
+        assertSame(deckRegistry.getDefaultDeck(), deckRegistry.resolve(DeckRegistry.DEFAULT_DECK_ID));
+    }
+
+    @Test
+    public void testEvictedDeckIsNoLongerFound() {
+        String deckId = deckRegistry.createDeck();
+        assertEquals(2, deckRegistry.size());
+
+        deckRegistry.evictDeck(deckId);
+
+        assertEquals(1, deckRegistry.size());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> deckRegistry.getDeck(deckId));
+        assertEquals(404, exception.getStatusCode().value());
+        assertThrows(ResponseStatusException.class, () -> deckRegistry.evictDeck(deckId));
+    }
+
+    @Test
+    public void testDefaultDeckCannotBeEvicted() {
+        assertThrows(IllegalArgumentException.class, () -> deckRegistry.evictDeck(DeckRegistry.DEFAULT_DECK_ID));
+    }
+
+    private static DeckRegistry boundedRegistry(int maximumResident) {
+        return new DeckRegistry(DeckService::new,
+                new RegistryProperties(16, maximumResident, Duration.ofMinutes(30), DataSize.ofKilobytes(4)), null);
+    }
+
+    @Test
+    public void testSpilledDecksAreRehydratedWithTheirState() {
+        DeckRegistry registry = boundedRegistry(4);
+        Map<String, List<Card>> cardsLeft = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            String deckId = registry.createDeck();
+            DeckService deck = registry.getDeck(deckId);
+            deck.shuffleDeck();
+            deck.discardCard(deck.dealCards(i % 10 + 1).get(0));
+            cardsLeft.put(deckId, deck.getDeck());
+        }
+        registry.cleanUp();
+
+        assertTrue(registry.spilledSize() >= 46, "Decks beyond the maximum should be spilled");
+        assertEquals(51, registry.size());
+        cardsLeft.forEach((deckId, cards) -> {
+            DeckService deck = registry.getDeck(deckId);
+            assertEquals(cards, deck.getDeck());
+            assertEquals(1, deck.getDiscardPile().size());
+        });
+        assertEquals(51, registry.size());
+    }
+
+    @Test
+    public void testRetiredDeckForwardsToRehydratedDeck() {
+        DeckRegistry registry = boundedRegistry(1);
+        String deckId = registry.createDeck();
+        DeckService held = registry.getDeck(deckId);
+        List<DeckEvent> events = new ArrayList<>();
+        held.addListener(events::add);
+
+        for (int i = 0; i < 10; i++) {
+            registry.createDeck();
+        }
+        registry.cleanUp();
+        Card dealt = held.dealCard().card();
+
+        DeckService current = registry.getDeck(deckId);
+        assertNotSame(held, current);
+        assertEquals(51, current.size());
+        assertEquals(Card.of(0), dealt);
+        assertEquals(DeckEventType.DEAL, events.get(events.size() - 1).type(),
+                "Listeners should follow the deck when it is spilled");
+    }
+
+    @Test
+    public void testSubscriptionOnRetiredDeckCompletesWhenDeckIsEvicted() throws Exception {
+        DeckRegistry registry = boundedRegistry(1);
+        String deckId = registry.createDeck();
+        DeckService held = registry.getDeck(deckId);
+        DeckEventDispatcher dispatcher = new DeckEventDispatcher(DeckEventProperties.DEFAULTS);
+        CountDownLatch completed = new CountDownLatch(1);
+        try {
+            dispatcher.subscribe(held, new DeckEventSink() {
+                @Override
+                public void send(DeckEvent event) {
+                }
+
+                @Override
+                public void complete() {
+                    completed.countDown();
+                }
+            }, Long.MAX_VALUE);
+            registry.createDeck();
+            registry.createDeck();
+            registry.cleanUp();
+
+            registry.evictDeck(deckId);
+
+            assertTrue(completed.await(5, TimeUnit.SECONDS),
+                    "The subscription should complete although the deck it holds has no successor any more");
+            held.removeListener(event -> { });
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void testSpilledDeckCanBeEvicted() {
+        DeckRegistry registry = boundedRegistry(1);
+        String deckId = registry.createDeck();
+        registry.createDeck();
+        registry.createDeck();
+        registry.cleanUp();
+
+        registry.evictDeck(deckId);
+
+        assertEquals(3, registry.size());
+        assertThrows(ResponseStatusException.class, () -> registry.getDeck(deckId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.metrics.DeckMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Allocation profile of the deal hot path, measured with the per-thread allocation counter of
+ * {@link com.sun.management.ThreadMXBean}.
+ */
+public class DeckServiceAllocationTest {
+
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 2_000;
+
+    @Test
+    public void testDealAllocatesNothingAfterWarmup() {
+        assertDealAllocatesNothing(new DeckService());
+    }
+
+    @Test
+    public void testTimedDealAllocatesNothingAfterWarmup() {
+        assertDealAllocatesNothing(new DeckService(DeckProperties.DEFAULTS, new DeckMetrics(new SimpleMeterRegistry())));
+    }
+
+    private static void assertDealAllocatesNothing(DeckService deckService) {
+        final com.sun.management.ThreadMXBean threads = threadMXBean();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            dealAll(deckService);
+            deckService.rebuildDeck();
+        }
+
+        // the counter itself may allocate; measure its own cost and subtract it
+        final long probeStart = threads.getCurrentThreadAllocatedBytes();
+        final long probeCost = threads.getCurrentThreadAllocatedBytes() - probeStart;
+
+        // a deopt, JIT compile or safepoint may allocate in an odd round; the typical round must not allocate
+        final long[] allocated = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            dealAll(deckService);
+            allocated[i] = threads.getCurrentThreadAllocatedBytes() - before - probeCost;
+            deckService.rebuildDeck();
+        }
+
+        final long total = Arrays.stream(allocated).sum();
+        Arrays.sort(allocated);
+        assertEquals(0, allocated[MEASURED_ROUNDS / 2], "Expected the median round of 52 deals to allocate nothing, "
+                + total + " bytes over " + MEASURED_ROUNDS * 52 + " deals");
+    }
+
+    private static void dealAll(DeckService deckService) {
+        for (int i = 0; i < 52; i++) {
+            final CardResponse response = deckService.dealCard();
+            assertNotNull(response.card());
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Allocation counters not available");
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation counters not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
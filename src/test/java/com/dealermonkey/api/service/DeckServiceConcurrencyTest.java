@@ -0,0 +1,204 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.exception.DeckEmptyException;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contention stress tests for the lock-free deal/peek path of {@link DeckService}, and for batches racing it.
+ */
+@Slf4j
+public class DeckServiceConcurrencyTest {
+
+    private static final int ROUNDS = 200;
+    private static final long MEASUREMENT_MILLIS = 200;
+
+    /**
+     * Concurrent dealers race against shuffles and cuts; every card must be dealt exactly once per round
+     * and the cards left in the deck plus the cards dealt must always add up to the full deck.
+     */
+    @Test
+    public void testConcurrentDealsNeverLoseOrDuplicateCards() throws Exception {
+        final int dealers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final ExecutorService executor = Executors.newFixedThreadPool(dealers + 1);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final DeckService deck = new DeckService();
+                final ConcurrentLinkedQueue<Card> dealt = new ConcurrentLinkedQueue<>();
+                final CountDownLatch start = new CountDownLatch(1);
+                final AtomicBoolean dealing = new AtomicBoolean(true);
+
+                final List<Future<?>> futures = new ArrayList<>();
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    while (dealing.get()) {
+                        try {
+                            deck.shuffleDeck();
+                            deck.cutDeck(0);
+                        } catch (DeckEmptyException empty) {
+                            return;
+                        }
+                    }
+                }));
+                for (int i = 0; i < dealers; i++) {
+                    futures.add(executor.submit(() -> {
+                        await(start);
+                        while (true) {
+                            try {
+                                dealt.add(deck.dealCard().card());
+                            } catch (DeckEmptyException empty) {
+                                return;
+                            }
+                        }
+                    }));
+                }
+                start.countDown();
+                for (int i = 1; i < futures.size(); i++) {
+                    futures.get(i).get(10, TimeUnit.SECONDS);
+                }
+                dealing.set(false);
+                futures.get(0).get(10, TimeUnit.SECONDS);
+
+                final Set<Card> unique = new HashSet<>(dealt);
+                assertEquals(52, dealt.size(), "Every card should be dealt exactly once in round " + round);
+                assertEquals(52, unique.size(), "No card may be dealt twice in round " + round);
+                assertTrue(deck.getDeck().isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Concurrent dealers race against batches that shuffle, deal and cut; a batch that runs out of cards
+     * must deal none of them, so every card is still dealt exactly once per round.
+     */
+    @Test
+    public void testConcurrentBatchesNeverLoseOrDuplicateCards() throws Exception {
+        final int dealers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final List<DeckOperation> batch = List.of(
+                DeckOperation.of(DeckEventType.SHUFFLE), DeckOperation.deal(2), DeckOperation.cut(0));
+        final ExecutorService executor = Executors.newFixedThreadPool(dealers + 1);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final DeckService deck = new DeckService();
+                final ConcurrentLinkedQueue<Card> dealt = new ConcurrentLinkedQueue<>();
+                final CountDownLatch start = new CountDownLatch(1);
+
+                final List<Future<?>> futures = new ArrayList<>();
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    while (true) {
+                        try {
+                            dealt.addAll(deck.batch(batch).get(1));
+                        } catch (DeckEmptyException | ResponseStatusException exhausted) {
+                            return;
+                        }
+                    }
+                }));
+                for (int i = 0; i < dealers; i++) {
+                    futures.add(executor.submit(() -> {
+                        await(start);
+                        while (true) {
+                            try {
+                                dealt.add(deck.dealCard().card());
+                            } catch (DeckEmptyException empty) {
+                                return;
+                            }
+                        }
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+                deck.getDeck().forEach(dealt::add);
+
+                assertEquals(52, dealt.size(), "Every card should be dealt exactly once in round " + round);
+                assertEquals(52, new HashSet<>(dealt).size(), "No card may be dealt twice in round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Measures peek and deal throughput on one shared deck for 1..N threads. The numbers are logged rather
+     * than asserted, since absolute throughput depends on the machine running the build.
+     */
+    @Test
+    public void testThroughputScalesWithThreads() throws Exception {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            final double opsPerSecond = measureThroughput(threads);
+            log.info("{} thread(s): {} ops/s", threads, String.format("%,.0f", opsPerSecond));
+            assertTrue(opsPerSecond > 0);
+        }
+    }
+
+    private static double measureThroughput(int threads) throws Exception {
+        final DeckService deck = new DeckService();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    long operations = 0;
+                    while (running.get()) {
+                        try {
+                            // peek-heavy mix: a table renders the top card far more often than it deals
+                            for (int j = 0; j < 15; j++) {
+                                deck.cheat();
+                            }
+                            deck.dealCard();
+                        } catch (DeckEmptyException empty) {
+                            deck.rebuildDeck();
+                        }
+                        operations += 16;
+                    }
+                    return operations;
+                }));
+            }
+            start.countDown();
+            TimeUnit.MILLISECONDS.sleep(MEASUREMENT_MILLIS);
+            running.set(false);
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get(10, TimeUnit.SECONDS);
+            }
+            return total * 1000.0 / MEASUREMENT_MILLIS;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
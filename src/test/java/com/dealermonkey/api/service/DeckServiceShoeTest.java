@@ -0,0 +1,221 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.dto.request.ReplayRequest;
+import com.dealermonkey.api.dto.response.DeckHistoryResponse;
+import com.dealermonkey.api.dto.response.ReplayResponse;
+import com.dealermonkey.api.engine.ShuffleRandom;
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.exception.CardAlreadyDiscardedException;
+import com.dealermonkey.api.model.Card;
+import com.dealermonkey.api.model.DeckOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for multi-deck shoes in {@link DeckService}.
+ */
+public class DeckServiceShoeTest {
+
+    private static ReplayResponse replay(DeckHistoryResponse history) {
+        return new DeckReplayService().replay(ReplayRequest.builder()
+                .decks(history.decks())
+                .checkpoint(history.checkpoint())
+                .operations(history.operations())
+                .build());
+    }
+
+    private static DeckService shoe(int decks, double penetration) {
+        return new DeckService(new DeckProperties(ShuffleRandom.L64X128_MIX, decks, penetration));
+    }
+
+    @Test
+    public void testShoeHoldsEveryCardOncePerDeck() {
+        DeckService deckService = shoe(8, 1.0);
+        deckService.shuffleDeck();
+
+        List<Card> cards = deckService.getDeck();
+
+        assertEquals(416, cards.size());
+        Map<Card, Long> counts = cards.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertEquals(52, counts.size());
+        counts.forEach((card, count) -> assertEquals(8L, count, "Expected 8 copies of " + card));
+    }
+
+    @Test
+    public void testDiscardIsCountedPerCopy() {
+        DeckService deckService = shoe(2, 1.0);
+        Card twoOfSpades = Card.of(Card.Suit.SPADES, Card.Rank.TWO);
+
+        deckService.dealCards(53);
+
+        deckService.discardCard(twoOfSpades);
+        deckService.discardCard(twoOfSpades);
+        CardAlreadyDiscardedException exception = assertThrows(CardAlreadyDiscardedException.class,
+                () -> deckService.discardCard(twoOfSpades));
+        assertTrue(exception.getMessage().startsWith("Card has already been discarded"));
+
+        Card aceOfDiamonds = Card.of(Card.Suit.DIAMONDS, Card.Rank.ACE);
+        deckService.discardCard(aceOfDiamonds);
+        exception = assertThrows(CardAlreadyDiscardedException.class, () -> deckService.discardCard(aceOfDiamonds));
+        assertTrue(exception.getMessage().startsWith("Card has already been discarded"));
+        assertEquals(List.of(twoOfSpades, twoOfSpades, aceOfDiamonds), deckService.getDiscardPile());
+    }
+
+    @Test
+    public void testCutCardShufflesDiscardsBackIntoShoe() {
+        DeckService deckService = shoe(6, 0.75);
+        deckService.shuffleDeck();
+
+        List<Card> dealt = deckService.dealCards(100);
+        dealt.subList(0, 40).forEach(deckService::discardCard);
+        assertEquals(40, deckService.getDiscardPile().size());
+
+        // 312 cards with 75% penetration keep a reserve of 78 behind the cut card
+        deckService.dealCards(133);
+        assertEquals(79, deckService.size());
+        deckService.dealCard();
+
+        assertEquals(78 + 40, deckService.size(), "Discards should be shuffled back in once the cut card is reached");
+        assertTrue(deckService.getDiscardPile().isEmpty());
+        deckService.discardCard(dealt.get(99));
+    }
+
+    @Test
+    public void testRebuildRestoresFullShoe() {
+        DeckService deckService = shoe(6, 1.0);
+        deckService.shuffleDeck();
+        deckService.discardCard(deckService.dealCard().card());
+
+        deckService.rebuildDeck();
+
+        assertEquals(312, deckService.size());
+        assertTrue(deckService.getDiscardPile().isEmpty());
+        assertEquals(Card.of(0), deckService.cheat());
+    }
+
+    @Test
+    public void testHistoryReplaysShoeFromCutCardReshuffle() {
+        DeckService deckService = shoe(2, 0.5);
+        deckService.shuffleDeck();
+        List<Card> first = deckService.dealCards(30);
+        first.subList(0, 10).forEach(deckService::discardCard);
+        deckService.cutDeck(17);
+        // 104 cards with 50% penetration: the cut card comes out within this deal and starts a new history
+        List<Card> second = deckService.dealCards(40);
+        List<List<Card>> dealt = new ArrayList<>();
+        dealt.add(deckService.dealCards(5));
+        deckService.discardCard(second.get(0));
+        dealt.add(deckService.dealCards(3));
+
+        DeckHistoryResponse history = deckService.history();
+
+        assertEquals(List.of(DeckOperation.deal(5), DeckOperation.discard(second.get(0)), DeckOperation.deal(3)),
+                history.operations());
+        assertTrue(history.checkpoint().discardPile().isEmpty());
+        assertEquals(history.checkpoint().cards().stream().sorted(Comparator.comparingInt(Card::ordinal)).toList(),
+                history.checkpoint().cards());
+        ReplayResponse replay = replay(history);
+        assertEquals(dealt, replay.deals());
+        assertEquals(deckService.getDeck(), replay.cards());
+        assertEquals(deckService.getDiscardPile(), replay.discardPile());
+    }
+
+    @Test
+    public void testShuffleStartsNewHistoryKeepingDiscardPile() {
+        DeckService deckService = shoe(1, 1.0);
+        deckService.shuffleDeck();
+        List<Card> dealt = deckService.dealCards(5);
+        deckService.discardCard(dealt.get(2));
+        deckService.shuffleDeck();
+        deckService.discardCard(dealt.get(4));
+        List<Card> after = deckService.dealCards(2);
+
+        DeckHistoryResponse history = deckService.history();
+
+        assertEquals(List.of(dealt.get(2)), history.checkpoint().discardPile());
+        assertEquals(47, history.checkpoint().cards().size());
+        assertEquals(List.of(DeckOperation.discard(dealt.get(4)), DeckOperation.deal(2)), history.operations());
+        ReplayResponse replay = replay(history);
+        assertEquals(List.of(after), replay.deals());
+        assertEquals(deckService.getDeck(), replay.cards());
+        assertEquals(deckService.getDiscardPile(), replay.discardPile());
+    }
+
+    @Test
+    public void testHistoryStaysBoundedWithoutShuffles() {
+        DeckService deckService = shoe(1, 1.0);
+        deckService.shuffleDeck();
+        List<Card> dealt = deckService.dealCards(3);
+        deckService.discardCard(dealt.get(1));
+        for (int i = 0; i < 3 * DeckService.MAX_HISTORY_SIZE; i++) {
+            deckService.cutDeck(i % 10);
+            if (i % 200 == 0) {
+                deckService.dealCard();
+            }
+        }
+        deckService.discardCard(dealt.get(0));
+
+        DeckHistoryResponse history = deckService.history();
+
+        assertTrue(history.operations().size() <= DeckService.MAX_HISTORY_SIZE, "" + history.operations().size());
+        assertNull(history.checkpoint().seed());
+        ReplayResponse replay = replay(history);
+        assertEquals(deckService.getDeck(), replay.cards());
+        assertEquals(deckService.getDiscardPile(), replay.discardPile());
+    }
+
+    @Test
+    public void testRebuildClearsHistory() {
+        DeckService deckService = shoe(2, 1.0);
+        deckService.shuffleDeck();
+        deckService.dealCards(4);
+
+        deckService.rebuildDeck();
+        deckService.dealCard();
+
+        assertNull(deckService.history().checkpoint());
+        assertEquals(List.of(DeckOperation.deal(1)), deckService.history().operations());
+    }
+
+    @Test
+    public void testReplayRejectsIncompleteOperation() {
+        ReplayRequest request = ReplayRequest.builder()
+                .decks(1)
+                .operations(List.of(DeckOperation.of(DeckEventType.SHUFFLE)))
+                .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new DeckReplayService().replay(request));
+        assertEquals("Operation seed is required", exception.getMessage());
+    }
+
+    @Test
+    public void testReplayRejectsHistoryLongerThanAnyDeckKeeps() {
+        ReplayRequest request = ReplayRequest.builder()
+                .decks(1)
+                .operations(Collections.nCopies(DeckService.MAX_HISTORY_SIZE + 1, DeckOperation.cut(1)))
+                .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new DeckReplayService().replay(request));
+        assertEquals("A history holds at most " + DeckService.MAX_HISTORY_SIZE + " operations",
+                exception.getMessage());
+        assertEquals(52, new DeckReplayService().replay(ReplayRequest.builder()
+                .decks(1)
+                .operations(Collections.nCopies(DeckService.MAX_HISTORY_SIZE, DeckOperation.cut(1)))
+                .build()).cards().size());
+    }
+}
@@ -1,22 +1,31 @@
 package com.dealermonkey.api.service;
 
 import com.dealermonkey.api.dto.response.CardResponse;
+import com.dealermonkey.api.event.DeckEventType;
+import com.dealermonkey.api.exception.CardAlreadyDiscardedException;
+import com.dealermonkey.api.exception.CardNotDealtException;
+import com.dealermonkey.api.exception.DeckEmptyException;
+import com.dealermonkey.api.exception.NotEnoughCardsException;
 import com.dealermonkey.api.model.Card;
 import com.dealermonkey.api.model.Card.Rank;
 import com.dealermonkey.api.model.Card.Suit;
+import com.dealermonkey.api.model.DeckOperation;
+import com.dealermonkey.api.model.DeckView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -79,11 +88,11 @@ public class DeckServiceTest {
         deckService.discardCard(dealtCard);
         assertTrue(deckService.getDiscardPile().contains(dealtCard), "Discard pile should contain the discarded card");
 
-        assertThrows(IllegalArgumentException.class, () -> deckService.discardCard(dealtCard), "Should not discard the same card twice");
+        assertThrows(CardAlreadyDiscardedException.class, () -> deckService.discardCard(dealtCard), "Should not discard the same card twice");
 
         Card undealtCard = new Card(Card.Suit.HEARTS, Card.Rank.KING);
         if (!undealtCard.equals(dealtCard)) {
-            assertThrows(IllegalArgumentException.class, () -> deckService.discardCard(undealtCard), "Cannot discard a card that wasn't dealt");
+            assertThrows(CardNotDealtException.class, () -> deckService.discardCard(undealtCard), "Cannot discard a card that wasn't dealt");
         }
     }
 
@@ -96,10 +105,47 @@ public class DeckServiceTest {
             assertNotNull(response.card(), "Expected a valid card at deal " + (i + 1));
         });
 
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class, deckService::dealCard);
+        DeckEmptyException exception = assertThrows(DeckEmptyException.class, deckService::dealCard);
 
-        assertEquals(404, exception.getStatusCode().value());
-        assertEquals("No cards left in the deck", exception.getReason());
+        assertEquals(404, exception.status().value());
+        assertEquals("No cards left in the deck", exception.getMessage());
+    }
+
+    @Test
+    public void testDealCardsRemovesCardsFromTopInOrder() {
+        List<Card> expected = deckService.getDeck().subList(0, 5);
+
+        List<Card> dealt = deckService.dealCards(5);
+
+        assertEquals(expected, dealt);
+        assertEquals(47, deckService.getDeck().size());
+        dealt.forEach(deckService::discardCard);
+        assertEquals(dealt, deckService.getDiscardPile());
+    }
+
+    @Test
+    public void testDealHandsDealsRoundRobin() {
+        List<Card> top = deckService.getDeck().subList(0, 18);
+
+        List<List<Card>> hands = deckService.dealHands(9, 2);
+
+        assertEquals(9, hands.size());
+        IntStream.range(0, 9).forEach(player -> assertEquals(
+                List.of(top.get(player), top.get(9 + player)), hands.get(player),
+                "Player " + player + " should receive every ninth card"));
+        assertEquals(34, deckService.getDeck().size());
+    }
+
+    @Test
+    public void testDealCardsThrowsWhenNotEnoughCardsLeft() {
+        deckService.dealCards(50);
+
+        NotEnoughCardsException exception = assertThrows(NotEnoughCardsException.class, () -> deckService.dealCards(3));
+
+        assertSame(NotEnoughCardsException.INSTANCE, exception);
+        assertEquals(404, exception.status().value());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(2, deckService.getDeck().size(), "A failed bulk deal should not remove any cards");
     }
 
     @Test
@@ -134,6 +180,45 @@ public class DeckServiceTest {
         assertEquals(expectedOrder, deckService.getDeck(), "Deck was not reordered correctly after cut");
     }
 
+    @Test
+    public void testRepeatedCutsRotateTheDeck() {
+        List<Card> original = deckService.getDeck();
+
+        deckService.cutDeck(30);
+        deckService.cutDeck(40);
+
+        List<Card> expected = new ArrayList<>(original);
+        Collections.rotate(expected, -((30 + 40) % 52));
+        assertEquals(expected, deckService.getDeck(), "Two cuts should rotate the deck by the sum of the indexes");
+        assertEquals(expected.get(0), deckService.dealCard().card());
+    }
+
+    @Test
+    public void testCutAfterDealingOnlyCutsRemainingCards() {
+        deckService.cutDeck(50);
+        deckService.dealCards(5);
+        List<Card> remaining = deckService.getDeck();
+
+        deckService.cutDeck(10);
+
+        List<Card> expected = new ArrayList<>(remaining.subList(10, remaining.size()));
+        expected.addAll(remaining.subList(0, 10));
+        assertEquals(expected, deckService.getDeck());
+    }
+
+    @Test
+    public void testCutOutsideTheDeckIsRejectedWithoutChangingIt() {
+        List<Card> original = deckService.getDeck();
+
+        assertThrows(IllegalArgumentException.class, () -> deckService.cutDeck(-1));
+        assertThrows(IllegalArgumentException.class, () -> deckService.cutDeck(53));
+        deckService.dealCard();
+        assertThrows(IllegalArgumentException.class, () -> deckService.cutDeck(-1));
+
+        assertEquals(original.subList(1, 52), deckService.getDeck(), "A rejected cut should leave the deck as it was");
+        assertEquals(original.get(1), deckService.dealCard().card());
+    }
+
     @Test
     public void testOrderDeckSortsInDefaultSequence() {
         deckService.shuffleDeck();
@@ -183,9 +268,100 @@ public class DeckServiceTest {
     public void testCheatThrowsWhenDeckIsEmpty() {
         deckService.setDeck(List.of());
 
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> deckService.cheat());
-        assertEquals(404, exception.getStatusCode().value());
-        assertEquals("No cards left in the deck", exception.getReason());
+        DeckEmptyException exception = assertThrows(DeckEmptyException.class, () -> deckService.cheat());
+        assertEquals(404, exception.status().value());
+        assertEquals("No cards left in the deck", exception.getMessage());
+    }
+
+    @Test
+    public void testBatchAppliesOperationsInOrder() {
+        final Card twoOfSpades = new Card(Suit.SPADES, Rank.TWO);
+        final List<DeckOperation> operations = List.of(
+                DeckOperation.deal(2),
+                DeckOperation.discard(twoOfSpades),
+                DeckOperation.cut(1),
+                DeckOperation.deal(1));
+
+        final List<List<Card>> results = deckService.batch(operations);
+
+        assertEquals(List.of(
+                List.of(twoOfSpades, new Card(Suit.SPADES, Rank.THREE)),
+                List.of(),
+                List.of(),
+                List.of(new Card(Suit.SPADES, Rank.FIVE))), results);
+        assertEquals(List.of(twoOfSpades), deckService.getDiscardPile());
+        assertEquals(new Card(Suit.SPADES, Rank.SIX), deckService.cheat());
+        assertEquals(49, deckService.size());
+        assertEquals(List.of(DeckOperation.deal(2), DeckOperation.discard(twoOfSpades), DeckOperation.cut(1),
+                DeckOperation.deal(1)), deckService.history().operations());
+    }
+
+    @Test
+    public void testFailedBatchChangesNothing() {
+        deckService.dealCards(2);
+        final List<Card> deck = deckService.getDeck();
+        final List<DeckOperation> history = deckService.history().operations();
+
+        final CardNotDealtException exception = assertThrows(CardNotDealtException.class,
+                () -> deckService.batch(List.of(
+                        DeckOperation.deal(3),
+                        DeckOperation.of(DeckEventType.SHUFFLE),
+                        DeckOperation.discard(new Card(Suit.DIAMONDS, Rank.ACE)))));
+        assertSame(CardNotDealtException.of(new Card(Suit.DIAMONDS, Rank.ACE)), exception);
+        assertThrows(NotEnoughCardsException.class, () -> deckService.batch(List.of(DeckOperation.deal(53))));
+        assertThrows(IllegalArgumentException.class, () -> deckService.batch(List.of()));
+
+        assertEquals(deck, deckService.getDeck());
+        assertEquals(history, deckService.history().operations());
+        assertTrue(deckService.getDiscardPile().isEmpty());
+    }
+
+    @Test
+    public void testBatchWithInvalidArgumentsChangesNothing() {
+        deckService.dealCards(2);
+        final List<Card> deck = deckService.getDeck();
+        final List<DeckOperation> history = deckService.history().operations();
+        final DeckOperation discard = DeckOperation.discard(new Card(Suit.SPADES, Rank.TWO));
+
+        for (DeckOperation invalid : List.of(
+                DeckOperation.cut(-1),
+                DeckOperation.deal(0),
+                DeckOperation.deal(-3),
+                DeckOperation.builder().type(DeckEventType.DISCARD).build(),
+                DeckOperation.discard(new Card(null, Rank.KING)),
+                DeckOperation.builder().type(DeckEventType.SHUFFLE).seed(1L).algorithm(99).build())) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> deckService.batch(List.of(discard, DeckOperation.cut(1), invalid)), invalid.toString());
+        }
+
+        assertEquals(deck, deckService.getDeck());
+        assertEquals(history, deckService.history().operations());
+        assertTrue(deckService.getDiscardPile().isEmpty());
+        assertEquals(deck.get(0), deckService.dealCard().card(), "The deck should still deal after rejected batches");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testViewsAreSharedUntilTheCardsChange() {
+        final DeckView deck = deckService.deckView();
+        final DeckView discards = deckService.discardView();
+        assertSame(deck, deckService.deckView());
+        assertSame(discards, deckService.discardView());
+        assertEquals(deckService.getDeck(), deck.cards());
+
+        final Card dealt = deckService.dealCard().card();
+        final DeckView afterDeal = deckService.deckView();
+        assertNotEquals(deck.etag(), afterDeal.etag());
+        assertEquals(deckService.getDeck(), afterDeal.cards());
+        assertSame(discards, deckService.discardView(), "A deal leaves the discard pile as it was");
+
+        deckService.discardCard(dealt);
+        final DeckView afterDiscard = deckService.discardView();
+        assertNotEquals(discards.etag(), afterDiscard.etag());
+        assertEquals(List.of(dealt), afterDiscard.cards());
+        assertSame(afterDeal, deckService.deckView(), "A discard leaves the cards left as they were");
+
+        deckService.rebuildDeck();
+        assertTrue(deckService.discardView().cards().isEmpty());
+        assertEquals(52, deckService.deckView().cards().size());
+    }
+}
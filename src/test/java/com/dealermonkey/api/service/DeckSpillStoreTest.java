@@ -0,0 +1,61 @@
+package com.dealermonkey.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeckSpillStoreTest {
+
+    private static byte[] image(int length, int fill) {
+        byte[] image = new byte[length];
+        Arrays.fill(image, (byte) fill);
+        return image;
+    }
+
+    @Test
+    public void testImagesRoundTrip() throws IOException {
+        DeckSpillStore store = new DeckSpillStore(4096);
+        store.put("small", 3, image(100, 1), null);
+        store.put("medium", 4, image(1000, 2), null);
+        store.put("large", 5, image(10_000, 3), null);
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        assertTrue(store.copyTo("medium", new DataOutputStream(copy)));
+        assertArrayEquals(image(1000, 2), copy.toByteArray());
+        assertFalse(store.copyTo("missing", new DataOutputStream(copy)));
+
+        DeckSpillStore.SpilledDeck large = store.take("large");
+        assertEquals(5, large.handle());
+        assertArrayEquals(image(10_000, 3), large.image());
+        assertArrayEquals(image(100, 1), store.take("small").image());
+        assertNull(store.take("small"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testFreedSlotsAreReused() {
+        DeckSpillStore store = new DeckSpillStore(4096);
+        for (int i = 0; i < 100; i++) {
+            store.put("deck-" + i, i, image(200, i), null);
+        }
+        long reserved = store.reservedBytes();
+        for (int i = 0; i < 100; i++) {
+            assertArrayEquals(image(200, i), store.take("deck-" + i).image());
+        }
+        for (int i = 0; i < 100; i++) {
+            store.put("other-" + i, i, image(150, i), null);
+        }
+
+        assertEquals(reserved, store.reservedBytes(), "Slots of the same size should be reused");
+        assertEquals(100 * 150, store.usedBytes());
+    }
+}
@@ -0,0 +1,132 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.OddsProperties;
+import com.dealermonkey.api.dto.request.OddsRequest;
+import com.dealermonkey.api.dto.response.OddsResponse;
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OddsServiceTest {
+
+    private final List<OddsService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(OddsService::destroy);
+    }
+
+    @Test
+    public void testSpotsAlikeButForSuitsShareTheCache() {
+        final OddsService oddsService = oddsService(OddsProperties.DEFAULTS);
+
+        final OddsResponse first = oddsService.odds(request("2H 7H 9S TC", 0.001, "AH KH", "QS QC")).join();
+        // hearts and spades swapped, clubs renamed diamonds, cards in another order
+        final OddsResponse second = oddsService.odds(request("TD 9H 7S 2S", 0.001, "KS AS", "QD QH")).join();
+
+        assertTrue(first.exhaustive());
+        assertEquals(44, first.deals());
+        assertEquals(15.0 / 44, first.equities()[0], 1e-12);
+        assertSame(first, second);
+        assertNotSame(first, oddsService.odds(request("2H 7H 9S TC", 0.001, "QS QC", "AH KH")).join());
+    }
+
+    @Test
+    public void testLargeSpotsAreSampledToThePrecision() {
+        final OddsService oddsService = oddsService(
+                new OddsProperties(100, 0.001, Duration.ofSeconds(5), Duration.ofSeconds(10), 100, 0));
+
+        final OddsResponse sampled = oddsService.odds(request("2H 7H 9S", 0.005, "AH KH", "QS QC")).join();
+
+        assertFalse(sampled.exhaustive());
+        assertTrue(sampled.standardError() <= 0.005);
+        assertEquals(1, sampled.equities()[0] + sampled.equities()[1], 1e-9);
+        assertSame(sampled, oddsService.odds(request("2H 7H 9S", 0.01, "AH KH", "QS QC")).join());
+        assertNotSame(sampled, oddsService.odds(request("2H 7H 9S", 0.001, "AH KH", "QS QC")).join());
+    }
+
+    @Test
+    public void testSamplingStopsAtTheTimeBudget() {
+        final OddsService oddsService = oddsService(OddsProperties.DEFAULTS);
+        final OddsRequest request = OddsRequest.builder()
+                .hands(List.of(cards("AH KH"), List.of(), List.of()))
+                .precision(1e-6)
+                .timeBudgetMillis(200L)
+                .build();
+
+        final long started = System.nanoTime();
+        final OddsResponse response = oddsService.odds(request).join();
+
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(2).toNanos());
+        assertFalse(response.exhaustive());
+        assertTrue(response.standardError() > 1e-6);
+        assertTrue(response.deals() >= OddsService.FIRST_ROUND);
+    }
+
+    @Test
+    public void testInvalidRequestsAreRejected() {
+        final OddsService oddsService = oddsService(OddsProperties.DEFAULTS);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> oddsService.odds(request("2H 7H 9S", null, "AH KH", "AH QC")));
+        assertThrows(IllegalArgumentException.class,
+                () -> oddsService.odds(request("2H 7H 9S", null, "AH KH")));
+        assertThrows(IllegalArgumentException.class,
+                () -> oddsService.odds(request("2H 7H 9S", 0.0, "AH KH", "QS QC")));
+        assertThrows(IllegalArgumentException.class, () -> oddsService.odds(OddsRequest.builder()
+                .hands(List.of(cards("AH KH"), cards("QS QC")))
+                .timeBudgetMillis(60_000L)
+                .build()));
+    }
+
+    @Test
+    public void testCardsWithoutSuitOrRankAreRejected() {
+        final OddsService oddsService = oddsService(OddsProperties.DEFAULTS);
+
+        assertThrows(IllegalArgumentException.class, () -> oddsService.odds(OddsRequest.builder()
+                .hands(List.of(List.of(new Card(null, Card.Rank.ACE), new Card(Card.Suit.HEARTS, Card.Rank.KING)),
+                        cards("QS QC")))
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> oddsService.odds(OddsRequest.builder()
+                .hands(List.of(cards("AH KH"), cards("QS QC")))
+                .board(List.of(new Card(Card.Suit.SPADES, null)))
+                .build()));
+    }
+
+    private OddsService oddsService(OddsProperties properties) {
+        final OddsService oddsService = new OddsService(properties);
+        services.add(oddsService);
+        return oddsService;
+    }
+
+    private static OddsRequest request(String board, Double precision, String... hands) {
+        return OddsRequest.builder()
+                .hands(Arrays.stream(hands).map(OddsServiceTest::cards).toList())
+                .board(cards(board))
+                .precision(precision)
+                .build();
+    }
+
+    /**
+     * Cards written as rank then suit letters, such as {@code TS} for the ten of spades.
+     */
+    private static List<Card> cards(String cards) {
+        return Arrays.stream(cards.split(" "))
+                .map(card -> Card.of(
+                        Card.Suit.values()["SHCD".indexOf(card.charAt(1))],
+                        Card.Rank.values()["23456789TJQKA".indexOf(card.charAt(0))]))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dealermonkey.api.service;
+
+import com.dealermonkey.api.config.DeckProperties;
+import com.dealermonkey.api.config.SimulationProperties;
+import com.dealermonkey.api.dto.request.SimulationRequest;
+import com.dealermonkey.api.dto.response.SimulationResponse;
+import com.dealermonkey.api.model.Card;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SimulationServiceTest {
+
+    private static final SimulationRequest LONG_SIMULATION = SimulationRequest.builder()
+            .decks(DeckProperties.MAX_DECKS)
+            .cards(DeckProperties.MAX_DECKS * Card.DECK_SIZE)
+            .trials(1_000_000_000L)
+            .build();
+    private static final SimulationRequest SHORT_SIMULATION = SimulationRequest.builder()
+            .decks(1)
+            .cards(2)
+            .trials(1000)
+            .build();
+
+    private final SimulationService simulationService = new SimulationService(
+            new SimulationProperties(2, 1_000_000_000L, Duration.ofSeconds(1)), DeckProperties.DEFAULTS);
+
+    @AfterEach
+    void tearDown() {
+        simulationService.destroy();
+    }
+
+    @Test
+    public void testSimulationPastTheTimeoutFailsAndStops() throws Exception {
+        final CompletableFuture<SimulationResponse> simulation = simulationService.simulate(LONG_SIMULATION);
+
+        final CompletionException thrown = assertThrows(CompletionException.class, simulation::join);
+        final ResponseStatusException cause = assertInstanceOf(ResponseStatusException.class, thrown.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getStatusCode());
+        // the pool would still be busy for minutes had the simulation gone on
+        assertEquals(1000, simulationService.simulate(SHORT_SIMULATION).get(5, TimeUnit.SECONDS).trials());
+    }
+
+    @Test
+    public void testCancelledSimulationStops() throws Exception {
+        final CompletableFuture<SimulationResponse> simulation = simulationService.simulate(LONG_SIMULATION);
+        Thread.sleep(50);
+
+        simulation.cancel(false);
+
+        assertEquals(1000, simulationService.simulate(SHORT_SIMULATION).get(5, TimeUnit.SECONDS).trials());
+    }
+}